@@ -34,7 +34,7 @@ export default function ArtistCard({ artist, onPress }) {
       >
         <View style={styles.coverContainer}>
           <Image 
-            source={{ uri: streamService.getCoverArtUrl(artist) }}
+            source={{ uri: streamService.getCoverArtUrl(artist, 64) }}
             style={styles.cover}
             contentFit="cover"
             transition={200}
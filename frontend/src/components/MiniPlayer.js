@@ -54,7 +54,7 @@ const MiniPlayer = ({
   const bottomPosition = TAB_BAR_HEIGHT + (insets.bottom > 0 ? insets.bottom : 0) + EXTRA_PADDING;
 
   // Generate cover art URL just like SongCard
-  const coverArtUrl = streamService.getCoverArtUrl(currentSong);
+  const coverArtUrl = streamService.getCoverArtUrl(currentSong, 64);
 
   return (
     <TouchableOpacity 
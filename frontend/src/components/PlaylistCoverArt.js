@@ -4,19 +4,20 @@ import { streamService } from '../services/api';
 
 const { width } = Dimensions.get('window');
 
-const PlaylistCoverArt = ({ songs, size = 180, circular = true }) => {
+const PlaylistCoverArt = ({ songs, playlistId, size = 180, circular = true }) => {
   const [coverArtUrls, setCoverArtUrls] = useState([]);
 
   useEffect(() => {
-    if (songs && songs.length > 0) {
+    // With a playlist id the server renders the mosaic, so there is nothing to compose here
+    if (!playlistId && songs && songs.length > 0) {
       // Get up to 4 songs for the cover art
       const songsToUse = songs.slice(0, 4);
       const urls = songsToUse.map(song => {
-        return streamService.getCoverArtUrl(song);
+        return streamService.getCoverArtUrl(song, 128);
       });
       setCoverArtUrls(urls);
     }
-  }, [songs]);
+  }, [songs, playlistId]);
 
   const borderRadius = circular ? size / 2 : 8;
 
@@ -31,6 +32,17 @@ const PlaylistCoverArt = ({ songs, size = 180, circular = true }) => {
     );
   }
 
+  if (playlistId) {
+    return (
+      <View style={styles.centered}>
+        <Image
+          source={{ uri: streamService.getPlaylistCoverUrl(playlistId, songs) }}
+          style={{ width: size, height: size, borderRadius, overflow: 'hidden' }}
+        />
+      </View>
+    );
+  }
+
   const renderGrid = () => {
     switch (coverArtUrls.length) {
       case 1:
@@ -20,7 +20,7 @@ const CARD_WIDTH = (width - (HORIZONTAL_PADDING * 2) - CARD_SPACING) / 2;
 
 const SongCard = ({ song, onPress, onOptionsPress }) => {
   const [isLoading, setIsLoading] = useState(true);
-  const coverArtUrl = streamService.getCoverArtUrl(song);
+  const coverArtUrl = streamService.getCoverArtUrl(song, 300);
 
   const handleLoadStart = useCallback(() => {
     setIsLoading(true);
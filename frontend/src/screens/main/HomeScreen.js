@@ -16,7 +16,7 @@ import {
 import { LinearGradient } from 'expo-linear-gradient';
 import { Ionicons } from '@expo/vector-icons';
 import Colors from '../../constants/colors';
-import { songService, playlistService, streamService, recommendationService, playbackHistoryService, authService, interactionService } from '../../services/api';
+import { SONG_LIST_FIELDS, songService, playlistService, streamService, recommendationService, playbackHistoryService, authService, interactionService } from '../../services/api';
 import AsyncStorage from '@react-native-async-storage/async-storage';
 import SongOptionsModal from '../../components/SongOptionsModal';
 import SongCard from '../../components/SongCard';
@@ -26,11 +26,16 @@ import { useAuth } from '../../context/AuthContext';
 
 const { width } = Dimensions.get('window');
 
+// Songs per request for the horizontal song row; more pages load as it scrolls
+const HOME_PAGE_SIZE = 20;
+
 export default function HomeScreen({ navigation }) {
   const { user } = useAuth();
   const [isLoading, setIsLoading] = useState(true);
   const [error, setError] = useState(null);
   const [songs, setSongs] = useState([]);
+  const [hasMoreSongs, setHasMoreSongs] = useState(false);
+  const [isLoadingMoreSongs, setIsLoadingMoreSongs] = useState(false);
   const [playlists, setPlaylists] = useState([]);
   const [recommendations, setRecommendations] = useState([]);
   const [genreRecommendations, setGenreRecommendations] = useState([]);
@@ -56,7 +61,7 @@ export default function HomeScreen({ navigation }) {
     try {
       // Fetch songs and playlists in parallel
       const [songsResponse, playlistsData] = await Promise.all([
-        songService.getAllSongs(),
+        songService.getSongsPage({ limit: HOME_PAGE_SIZE, fields: SONG_LIST_FIELDS }),
         playlistService.getAllPlaylists()
       ]);
       
@@ -67,8 +72,10 @@ export default function HomeScreen({ navigation }) {
         console.error('Error fetching songs:', songsResponse.error);
         setError(songsResponse.error);
         setSongs([]);
+        setHasMoreSongs(false);
       } else {
         setSongs(songsResponse || []);
+        setHasMoreSongs((songsResponse || []).length === HOME_PAGE_SIZE);
       }
       
       // Handle error case for playlists
@@ -226,6 +233,27 @@ export default function HomeScreen({ navigation }) {
     getUserId();
   }, []);
 
+  // Fetch the next page of the song row, keyed by the last id already shown
+  const loadMoreSongs = async () => {
+    if (!hasMoreSongs || isLoadingMoreSongs || songs.length === 0) return;
+    setIsLoadingMoreSongs(true);
+    try {
+      const after = songs[songs.length - 1].id;
+      const page = await songService.getSongsPage({ after, limit: HOME_PAGE_SIZE, fields: SONG_LIST_FIELDS });
+      if (page && page.error) {
+        console.error('Error fetching more songs:', page.error);
+        return;
+      }
+      const nextSongs = Array.isArray(page) ? page : [];
+      setSongs(prev => [...prev, ...nextSongs]);
+      setHasMoreSongs(nextSongs.length === HOME_PAGE_SIZE);
+    } catch (err) {
+      console.error('Error fetching more songs:', err);
+    } finally {
+      setIsLoadingMoreSongs(false);
+    }
+  };
+
   // Helper function to get random items from an array
   const getRandomItems = (array, count) => {
     const shuffled = [...array].sort(() => 0.5 - Math.random());
@@ -246,7 +274,7 @@ export default function HomeScreen({ navigation }) {
       try {
         // Fetch songs and playlists in parallel
         const [songsResponse, playlistsData] = await Promise.all([
-          songService.getAllSongs(),
+          songService.getSongsPage({ limit: HOME_PAGE_SIZE, fields: SONG_LIST_FIELDS }),
           playlistService.getAllPlaylists()
         ]);
         
@@ -257,8 +285,10 @@ export default function HomeScreen({ navigation }) {
           console.error('Error fetching songs:', songsResponse.error);
           setError(songsResponse.error);
           setSongs([]);
+          setHasMoreSongs(false);
         } else {
           setSongs(songsResponse || []);
+          setHasMoreSongs((songsResponse || []).length === HOME_PAGE_SIZE);
         }
         
         // Fetch songs for each playlist (full song objects)
@@ -591,6 +621,9 @@ export default function HomeScreen({ navigation }) {
               showsHorizontalScrollIndicator={false}
               style={styles.horizontalList}
               contentContainerStyle={styles.horizontalListContent}
+              onEndReached={loadMoreSongs}
+              onEndReachedThreshold={0.5}
+              ListFooterComponent={isLoadingMoreSongs ? <ActivityIndicator color={Colors.primary} /> : null}
             />
           </View>
         )}
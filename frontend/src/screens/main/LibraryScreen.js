@@ -196,6 +196,7 @@ export default function LibraryScreen({ navigation }) {
         <View style={styles.playlistCoverContainer}>
           <PlaylistCoverArt 
             songs={item.songs || []}
+            playlistId={item.id}
             size={60}
           />
         </View>
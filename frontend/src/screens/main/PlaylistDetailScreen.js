@@ -239,6 +239,7 @@ export default function PlaylistDetailScreen({ navigation, route }) {
           
           <PlaylistCoverArt 
             songs={songs}
+            playlistId={playlistId}
             size={180}
           />
           
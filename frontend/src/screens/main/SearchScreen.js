@@ -30,6 +30,7 @@ export default function SearchScreen({ navigation }) {
   const [searching, setSearching] = useState(false);
   const [isLoading, setIsLoading] = useState(false);
   const [searchResults, setSearchResults] = useState([]);
+  const [suggestions, setSuggestions] = useState([]);
   const [categories, setCategories] = useState([]);
   const [error, setError] = useState(null);
 
@@ -77,8 +78,11 @@ export default function SearchScreen({ navigation }) {
       }
       
       try {
-        // Try server-side search first
-        const results = await searchService.search(query);
+        // Try server-side search first, then a typo-tolerant search if nothing matched exactly
+        let results = await searchService.search(query);
+        if (!results || results.length === 0) {
+          results = await searchService.search(query, true);
+        }
         
         // If results come back but don't seem to be filtered correctly
         // or if the results are empty, fall back to client-side filtering
@@ -111,6 +115,19 @@ export default function SearchScreen({ navigation }) {
     []
   );
   
+  // Suggestions are cheap on the server, so they can follow the input much more closely than search
+  const debouncedSuggest = useCallback(
+    debounce(async (prefix) => {
+      try {
+        const results = await searchService.suggest(prefix);
+        setSuggestions(Array.isArray(results) ? results : []);
+      } catch (err) {
+        setSuggestions([]);
+      }
+    }, 100),
+    []
+  );
+  
   // Helper function to check if search results are relevant to the query
   const isResultsRelevant = (results, query) => {
     if (!results || results.length === 0) return false;
@@ -207,17 +224,26 @@ export default function SearchScreen({ navigation }) {
     if (text.length > 0) {
       setIsLoading(true);
       setError(null);
+      debouncedSuggest(text);
       debouncedSearch(text);
     } else {
       setSearchResults([]);
+      setSuggestions([]);
     }
   };
 
+  // Run a search for a picked suggestion
+  const handleSuggestionSelect = (suggestion) => {
+    handleSearch(suggestion.text);
+    setSuggestions([]);
+  };
+
   // Clear search
   const clearSearch = () => {
     setSearchQuery('');
     setSearching(false);
     setSearchResults([]);
+    setSuggestions([]);
   };
 
   // Handle category selection
@@ -327,6 +353,29 @@ export default function SearchScreen({ navigation }) {
             </TouchableOpacity>
           )}
         </View>
+        {suggestions.length > 0 && (
+          <ScrollView
+            horizontal
+            showsHorizontalScrollIndicator={false}
+            keyboardShouldPersistTaps="handled"
+            contentContainerStyle={styles.suggestionList}
+          >
+            {suggestions.map(suggestion => (
+              <TouchableOpacity
+                key={`${suggestion.type}-${suggestion.text}`}
+                style={styles.suggestionChip}
+                onPress={() => handleSuggestionSelect(suggestion)}
+              >
+                <Ionicons
+                  name={suggestion.type === 'artist' ? 'person' : suggestion.type === 'album' ? 'disc' : 'musical-note'}
+                  size={14}
+                  color={Colors.textSecondary}
+                />
+                <Text style={styles.suggestionText} numberOfLines={1}>{suggestion.text}</Text>
+              </TouchableOpacity>
+            ))}
+          </ScrollView>
+        )}
       </View>
 
       <ScrollView showsVerticalScrollIndicator={false}>
@@ -424,6 +473,24 @@ const styles = StyleSheet.create({
   clearButton: {
     padding: 8,
   },
+  suggestionList: {
+    paddingTop: 12,
+  },
+  suggestionChip: {
+    flexDirection: 'row',
+    alignItems: 'center',
+    backgroundColor: Colors.cardBackground,
+    borderRadius: 16,
+    paddingHorizontal: 12,
+    paddingVertical: 6,
+    marginRight: 8,
+    maxWidth: 220,
+  },
+  suggestionText: {
+    color: Colors.textPrimary,
+    fontSize: 14,
+    marginLeft: 6,
+  },
   searchResultsContainer: {
     paddingHorizontal: 16,
   },
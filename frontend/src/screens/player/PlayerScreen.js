@@ -1,12 +1,12 @@
 // src/screens/player/PlayerScreen.js
 import React, { useEffect, useRef, useState } from 'react';
-import { View, Text, StyleSheet, TouchableOpacity, ActivityIndicator, Dimensions, Image } from 'react-native';
+import { View, Text, StyleSheet, TouchableOpacity, ActivityIndicator, Dimensions, Image, FlatList } from 'react-native';
 import { Audio } from 'expo-av';
 import Slider from '@react-native-community/slider';
 import { LinearGradient } from 'expo-linear-gradient';
 import Svg, { Circle, Path, Rect } from 'react-native-svg';
 import Colors from '../../constants/colors';
-import { songService, streamService, interactionService } from '../../services/api';
+import { songService, streamService, interactionService, recommendationService } from '../../services/api';
 import { usePlayer } from '../../context/PlayerContext';
 
 const { width } = Dimensions.get('window');
@@ -131,6 +131,7 @@ const PlayerScreen = ({ navigation, route }) => {
   const [position, setPosition] = useState(0);
   const [isSeeking, setIsSeeking] = useState(false);
   const [seekValue, setSeekValue] = useState(0);
+  const [similarSongs, setSimilarSongs] = useState([]);
   const statusUpdateInterval = useRef(null);
   const lastPositionRef = useRef(0);
   const lastSongIdRef = useRef(null);
@@ -212,6 +213,23 @@ const PlayerScreen = ({ navigation, route }) => {
     fetchSongs();
   }, [route.params?.songId]);
 
+  // Load "More like this" for the song that is playing
+  useEffect(() => {
+    if (!currentSong?.id) return;
+    let cancelled = false;
+    recommendationService.getSimilarSongs(currentSong.id, 10)
+      .then(result => {
+        if (!cancelled) setSimilarSongs(Array.isArray(result) ? result : []);
+      })
+      .catch(err => {
+        console.warn('Failed to load similar songs:', err);
+        if (!cancelled) setSimilarSongs([]);
+      });
+    return () => {
+      cancelled = true;
+    };
+  }, [currentSong?.id]);
+
   // Helper to record skip interaction
   const recordSkipInteraction = async (skipPosition, songObj, songDuration) => {
     if (!songObj) return;
@@ -371,6 +389,31 @@ const PlayerScreen = ({ navigation, route }) => {
           <LoopIcon active={isLooping} />
         </TouchableOpacity>
       </View>
+
+      {similarSongs.length > 0 && (
+        <View style={styles.similarSection}>
+          <Text style={styles.similarHeading}>More like this</Text>
+          <FlatList
+            horizontal
+            data={similarSongs}
+            keyExtractor={item => item.id.toString()}
+            showsHorizontalScrollIndicator={false}
+            renderItem={({ item, index }) => (
+              <TouchableOpacity
+                style={styles.similarItem}
+                onPress={() => playSong(item, similarSongs, index)}
+              >
+                <Image
+                  source={{ uri: streamService.getCoverArtUrl(item) }}
+                  style={styles.similarCover}
+                />
+                <Text style={styles.similarTitle} numberOfLines={1}>{item.title}</Text>
+                <Text style={styles.similarArtist} numberOfLines={1}>{item.artist}</Text>
+              </TouchableOpacity>
+            )}
+          />
+        </View>
+      )}
     </LinearGradient>
   );
 };
@@ -449,6 +492,34 @@ const styles = StyleSheet.create({
     width: 280,
     marginTop: 16,
   },
+  similarSection: {
+    width: width - 40,
+    marginTop: 32,
+  },
+  similarHeading: {
+    fontSize: 16,
+    fontWeight: 'bold',
+    color: Colors.textPrimary,
+    marginBottom: 12,
+  },
+  similarItem: {
+    width: 96,
+    marginRight: 12,
+  },
+  similarCover: {
+    width: 96,
+    height: 96,
+    borderRadius: 8,
+    marginBottom: 6,
+  },
+  similarTitle: {
+    fontSize: 13,
+    color: Colors.textPrimary,
+  },
+  similarArtist: {
+    fontSize: 12,
+    color: Colors.textSecondary,
+  },
   skipButton: {
     flexDirection: 'row',
     alignItems: 'center',
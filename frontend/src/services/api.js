@@ -414,14 +414,35 @@ export const authService = {
   },
 };
 
+// Fields the song list screens read (genre for categories, album for details)
+export const SONG_LIST_FIELDS = 'title,artist,album,genre,duration,fileName';
+const SONG_PAGE_SIZE = 200;
+
 export const songService = {
+  // One page of lightweight song rows; pass the last id of the previous page as "after"
+  getSongsPage: ({ after, limit = 50, fields } = {}) => {
+    const queryParams = new URLSearchParams();
+    if (after) queryParams.append('after', after);
+    queryParams.append('limit', limit);
+    if (fields) queryParams.append('fields', fields);
+    return apiRequest(`api/songs?${queryParams.toString()}`);
+  },
+  // Walks every page; screens that only show a few songs should use getSongsPage instead
   getAllSongs: async () => {
-    const response = await apiRequest('api/songs');
-    if (response && response.error) {
-      console.error('Error in getAllSongs:', response.error);
-      return { error: response.error };
+    const songs = [];
+    let after = null;
+    while (true) {
+      const page = await songService.getSongsPage({ after, limit: SONG_PAGE_SIZE, fields: SONG_LIST_FIELDS });
+      if (page && page.error) {
+        console.error('Error in getAllSongs:', page.error);
+        return { error: page.error };
+      }
+      if (!Array.isArray(page) || page.length === 0) break;
+      songs.push(...page);
+      if (page.length < SONG_PAGE_SIZE) break;
+      after = page[page.length - 1].id;
     }
-    return response || [];
+    return songs;
   },
   getSongById: async (id) => {
     const response = await apiRequest(`api/songs/${id}`);
@@ -453,6 +474,9 @@ export const songService = {
     if (params.artist) queryParams.append('artist', params.artist);
     if (params.genre) queryParams.append('genre', params.genre);
     if (params.album) queryParams.append('album', params.album);
+    // Keyset paging: pass the last song id of the previous page as "after"
+    if (params.after) queryParams.append('after', params.after);
+    if (params.limit) queryParams.append('limit', params.limit);
     
     const response = await apiRequest(`api/songs/search?${queryParams.toString()}`);
     if (response && response.error) {
@@ -492,11 +516,13 @@ export const streamService = {
     // Legacy support for filename-based URLs
     return getLegacyStreamUrl(song.fileName || song.file_name);
   },
-  getCoverArtUrl: (song) => {
+  // Optional size (64, 128 or 300) requests a server-side thumbnail instead of the full image
+  getCoverArtUrl: (song, size) => {
     if (!song) return DEFAULT_PLACEHOLDER;
     // Use song ID if available, otherwise fall back to filename-based URL
     if (song.id) {
-      return `${API_URL}/v1/api/songs/${song.id}/cover`;
+      const sizeQuery = size ? `?size=${size}` : '';
+      return `${API_URL}/v1/api/songs/${song.id}/cover${sizeQuery}`;
     }
     // Legacy support for filename-based URLs
     const filename = song.fileName || song.file_name;
@@ -504,6 +530,13 @@ export const streamService = {
     let coverFilename = filename.replace(/\.mp3$/i, '') + '.png';
     return `${API_URL}/v1/api/streaming/cover/${encodeURIComponent(coverFilename)}`;
   },
+
+  // Server-rendered mosaic of the playlist's first four covers. The head song ids are added to the
+  // URL so the image cache picks up a new mosaic when those songs change.
+  getPlaylistCoverUrl: (playlistId, songs = []) => {
+    const head = songs.slice(0, 4).map(song => song.id).join('-');
+    return `${API_URL}/v1/api/playlists/${playlistId}/cover${head ? `?h=${head}` : ''}`;
+  },
   getDefaultCoverArt: () => {
     return DEFAULT_PLACEHOLDER;
   },
@@ -517,7 +550,12 @@ export const streamService = {
 // Search services
 export const searchService = {
   // Search with fuzzy matching
-  search: (query) => apiRequest(`api/search?query=${encodeURIComponent(query)}`),
+  search: (query, fuzzy = false) =>
+    apiRequest(`api/search?query=${encodeURIComponent(query)}${fuzzy ? '&fuzzy=true' : ''}`),
+
+  // Autocomplete titles, artists and albums, most played first
+  suggest: (prefix, limit = 8) =>
+    apiRequest(`api/search/suggest?prefix=${encodeURIComponent(prefix)}&limit=${limit}`),
 };
 
 // Recommendation services
@@ -532,7 +570,15 @@ export const recommendationService = {
     
   // Get recommendations using matrix factorization
   getMatrixRecommendations: (userId, limit = 10) =>
-    apiRequest(`api/recommendations/matrix/${userId}?limit=${limit}`)
+    apiRequest(`api/recommendations/matrix/${userId}?limit=${limit}`),
+
+  // Songs similar to the given one ("More like this")
+  getSimilarSongs: (songId, k = 10) =>
+    apiRequest(`api/recommendations/similar/${songId}?k=${k}`),
+
+  // Songs to queue after the given one ("Because you played")
+  getNextSongs: (songId, limit = 10) =>
+    apiRequest(`api/recommendations/next/${songId}?limit=${limit}`)
 };
 
 // New health service
@@ -0,0 +1,10 @@
+package com.musicApp.restAPI.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Enables @Scheduled background jobs such as recommendation model retraining
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -57,6 +57,7 @@ public class SecurityConfig {
                 .requestMatchers("/v1/api/songs/*/stream").permitAll()
                 .requestMatchers("/v1/api/songs/*/cover").permitAll()
                 .requestMatchers("/v1/api/playlists").permitAll()
+                .requestMatchers("/v1/api/playlists/*/cover").permitAll()
                 
                 // Require authentication for playback history endpoints
                 .requestMatchers("/v1/api/playback-history/**").authenticated()
@@ -74,8 +75,8 @@ public class SecurityConfig {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOriginPatterns(Arrays.asList("*"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
-        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "Accept", "Range"));
-        configuration.setExposedHeaders(Arrays.asList("Authorization", "Content-Range", "Content-Length", "Content-Type", "Content-Disposition"));
+        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "Accept", "Range", "If-Range", "If-None-Match", "If-Modified-Since"));
+        configuration.setExposedHeaders(Arrays.asList("Authorization", "Content-Range", "Content-Length", "Content-Type", "Content-Disposition", "ETag", "Last-Modified", "Accept-Ranges", "X-Next-After"));
         configuration.setAllowCredentials(true);
         
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -28,7 +28,7 @@ public class StaticResourceConfig implements WebMvcConfigurer {
                 .allowedOriginPatterns("*")
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
                 .allowedHeaders("*")
-                .exposedHeaders("Content-Disposition", "Content-Range", "Content-Length", "Content-Type")
+                .exposedHeaders("Content-Disposition", "Content-Range", "Content-Length", "Content-Type", "ETag", "Last-Modified", "Accept-Ranges", "X-Next-After")
                 .allowCredentials(true);
     }
 } 
\ No newline at end of file
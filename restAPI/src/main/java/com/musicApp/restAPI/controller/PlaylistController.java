@@ -3,28 +3,48 @@ package com.musicApp.restAPI.controller;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.logging.Logger;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import com.musicApp.restAPI.service.NdjsonExportService;
+import com.musicApp.restAPI.service.PlaylistCoverService;
+import com.musicApp.restAPI.service.PlaylistCoverService.PlaylistCover;
 import com.musicApp.restAPI.sql.persistance.Playlist.PlaylistEntity;
 import com.musicApp.restAPI.sql.persistance.Song.SongEntity;
 import com.musicApp.restAPI.sql.service.PlaylistService;
 import com.musicApp.restAPI.sql.service.UserService;
+import com.musicApp.restAPI.stream.ContentFingerprintService;
 
 @RestController
 @RequestMapping("/api/playlists")
 public class PlaylistController {
+    private static final Logger LOGGER = Logger.getLogger(PlaylistController.class.getName());
     
     private final PlaylistService playlistService;
     private final UserService userService;
+    private final PlaylistCoverService playlistCoverService;
+    private final ContentFingerprintService fingerprintService;
+    private final NdjsonExportService ndjsonExportService;
     
     @Autowired
-    public PlaylistController(PlaylistService playlistService, UserService userService) {
+    public PlaylistController(PlaylistService playlistService, UserService userService,
+                              PlaylistCoverService playlistCoverService,
+                              ContentFingerprintService fingerprintService,
+                              NdjsonExportService ndjsonExportService) {
         this.playlistService = playlistService;
         this.userService = userService;
+        this.playlistCoverService = playlistCoverService;
+        this.fingerprintService = fingerprintService;
+        this.ndjsonExportService = ndjsonExportService;
     }
     
     // Get all playlists
@@ -45,6 +65,12 @@ public class PlaylistController {
         }
     }
     
+    // Export all playlists as NDJSON (Accept: application/x-ndjson), streamed row by row
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportPlaylists(@RequestParam(required = false) Long userId) {
+        return ndjsonExportService.export(() -> playlistService.streamPlaylists(userId));
+    }
+    
     // Get playlist by ID
     @GetMapping("/{id}")
     public ResponseEntity<?> getPlaylistById(@PathVariable Long id) {
@@ -128,6 +154,33 @@ public class PlaylistController {
         }
     }
     
+    // Get playlist cover - 2x2 mosaic of the first four songs' cover art
+    @GetMapping("/{id}/cover")
+    public ResponseEntity<byte[]> getPlaylistCover(@PathVariable Long id,
+                                                   @RequestHeader HttpHeaders requestHeaders) {
+        try {
+            PlaylistCover cover = playlistCoverService.getCover(id);
+            if (cover == null) {
+                return ResponseEntity.notFound().build();
+            }
+            
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.IMAGE_JPEG);
+            headers.setETag(cover.getFingerprint().getETag());
+            headers.setLastModified(cover.getFingerprint().getLastModified());
+            // The URL is not versioned, so clients must revalidate; a matching ETag costs a 304
+            headers.setCacheControl(CacheControl.noCache());
+            if (fingerprintService.isNotModified(cover.getFingerprint(), requestHeaders)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers).build();
+            }
+            headers.setContentLength(cover.getJpeg().length);
+            return new ResponseEntity<>(cover.getJpeg(), headers, HttpStatus.OK);
+        } catch (Exception e) {
+            LOGGER.severe("Error rendering cover for playlist " + id + ": " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
     // Add song to playlist - Single song (legacy support)
     @PostMapping("/{id}/songs/{songId}")
     public ResponseEntity<?> addSongToPlaylist(@PathVariable Long id, @PathVariable Long songId) {
@@ -1,14 +1,18 @@
 package com.musicApp.restAPI.controller;
 
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.musicApp.restAPI.service.RecommendationCacheService;
+import com.musicApp.restAPI.service.RecommendationCacheService.Algorithm;
 import com.musicApp.restAPI.service.RecommendationService;
 import com.musicApp.restAPI.sql.persistance.Song.SongEntity;
 
@@ -16,31 +20,58 @@ import com.musicApp.restAPI.sql.persistance.Song.SongEntity;
 @RequestMapping("/api/recommendations")
 public class RecommendationController {
     
+    private static final int MAX_RESULTS = 100;
+    
     private final RecommendationService recommendationService;
+    private final RecommendationCacheService recommendationCache;
     
     @Autowired
-    public RecommendationController(RecommendationService recommendationService) {
+    public RecommendationController(RecommendationService recommendationService,
+                                    RecommendationCacheService recommendationCache) {
         this.recommendationService = recommendationService;
+        this.recommendationCache = recommendationCache;
     }
     
     @GetMapping("/user/{userId}")
     public List<SongEntity> getUserRecommendations(
             @PathVariable Long userId,
             @RequestParam(defaultValue = "10") int limit) {
-        return recommendationService.getRecommendedSongs(userId, limit);
+        return recommendationCache.getRecommendations(userId, Algorithm.COLLABORATIVE, limit);
     }
     
     @GetMapping("/genre/{genre}")
     public List<SongEntity> getGenreRecommendations(
             @PathVariable String genre,
             @RequestParam(defaultValue = "5") int clusters) {
-        return recommendationService.getGenreBasedRecommendations(genre, clusters);
+        return recommendationService.getGenreBasedRecommendations(genre, Math.max(1, Math.min(clusters, MAX_RESULTS)));
+    }
+    
+    // "More like this" for the player screen
+    @GetMapping("/similar/{songId}")
+    public List<SongEntity> getSimilarSongs(
+            @PathVariable Long songId,
+            @RequestParam(defaultValue = "10") int k) {
+        return recommendationService.getSimilarSongs(songId, Math.max(1, Math.min(k, MAX_RESULTS)));
+    }
+    
+    // "Because you played" candidates for the play queue
+    @GetMapping("/next/{songId}")
+    public List<SongEntity> getNextSongs(
+            @PathVariable Long songId,
+            @RequestParam(defaultValue = "10") int limit) {
+        return recommendationService.getNextSongs(songId, Math.max(1, Math.min(limit, MAX_RESULTS)));
     }
     
     @GetMapping("/matrix/{userId}")
     public List<SongEntity> getMatrixRecommendations(
             @PathVariable Long userId,
             @RequestParam(defaultValue = "10") int limit) {
-        return recommendationService.getMatrixFactorizationRecommendations(userId, limit);
+        return recommendationCache.getRecommendations(userId, Algorithm.MATRIX, limit);
+    }
+    
+    // Per-algorithm hit rate and compute time of the recommendation cache
+    @GetMapping("/cache/stats")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        return ResponseEntity.ok(recommendationCache.getStats());
     }
 } 
\ No newline at end of file
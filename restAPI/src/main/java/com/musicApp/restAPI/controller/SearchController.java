@@ -9,6 +9,8 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.musicApp.restAPI.service.SearchService;
+import com.musicApp.restAPI.service.SuggestionService;
+import com.musicApp.restAPI.service.SuggestionService.Suggestion;
 import com.musicApp.restAPI.sql.persistance.Song.SongEntity;
 
 @RestController
@@ -16,14 +18,24 @@ import com.musicApp.restAPI.sql.persistance.Song.SongEntity;
 public class SearchController {
     
     private final SearchService searchService;
+    private final SuggestionService suggestionService;
     
     @Autowired
-    public SearchController(SearchService searchService) {
+    public SearchController(SearchService searchService, SuggestionService suggestionService) {
         this.searchService = searchService;
+        this.suggestionService = suggestionService;
     }
     
     @GetMapping
-    public List<SongEntity> searchSongs(@RequestParam String query) {
-        return searchService.searchSongs(query);
+    public List<SongEntity> searchSongs(@RequestParam String query,
+                                        @RequestParam(defaultValue = "false") boolean fuzzy) {
+        return searchService.searchSongs(query, fuzzy);
+    }
+    
+    // Autocomplete for titles, artists and albums, most played first
+    @GetMapping("/suggest")
+    public List<Suggestion> suggest(@RequestParam String prefix,
+                                    @RequestParam(defaultValue = "10") int limit) {
+        return suggestionService.suggest(prefix, limit);
     }
 } 
\ No newline at end of file
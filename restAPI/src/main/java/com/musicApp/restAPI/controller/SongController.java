@@ -1,44 +1,111 @@
 package com.musicApp.restAPI.controller;
 
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
-import java.util.stream.Collectors;
+import java.util.concurrent.TimeUnit;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.musicApp.restAPI.sql.persistance.Song.SongEntity;
+import com.musicApp.restAPI.sql.persistance.Song.SongProjection;
 import com.musicApp.restAPI.sql.service.SongService;
+import com.musicApp.restAPI.stream.ByteRangeService;
+import com.musicApp.restAPI.stream.ByteSource;
+import com.musicApp.restAPI.stream.ContentFingerprintService;
+import com.musicApp.restAPI.stream.ContentFingerprintService.Fingerprint;
+import com.musicApp.restAPI.stream.CoverArtIndex;
+import com.musicApp.restAPI.stream.CoverArtIndex.CoverEntry;
+import com.musicApp.restAPI.stream.CoverThumbnailService;
 import com.musicApp.restAPI.stream.SongStreamService;
 import java.util.logging.Logger;
 
+import jakarta.servlet.http.HttpServletRequest;
+
 @RestController
 @RequestMapping("/api/songs")
 public class SongController {
     
     private final SongService songService;
     private final SongStreamService songStreamService;
+    private final ByteRangeService byteRangeService;
+    private final ContentFingerprintService fingerprintService;
+    private final CoverArtIndex coverArtIndex;
+    private final CoverThumbnailService coverThumbnailService;
+    private final ObjectMapper objectMapper;
     private static final Logger LOGGER = Logger.getLogger(SongController.class.getName());
     
+    // Keyset pagination: the id to pass as "after" for the next page, absent on the last page
+    static final String NEXT_CURSOR_HEADER = "X-Next-After";
+    private static final int MAX_PAGE_SIZE = 200;
+    
     @Autowired
-    public SongController(SongService songService, SongStreamService songStreamService) {
+    public SongController(SongService songService, SongStreamService songStreamService,
+                          ByteRangeService byteRangeService, ContentFingerprintService fingerprintService,
+                          CoverArtIndex coverArtIndex, CoverThumbnailService coverThumbnailService,
+                          ObjectMapper objectMapper) {
         this.songService = songService;
         this.songStreamService = songStreamService;
+        this.byteRangeService = byteRangeService;
+        this.fingerprintService = fingerprintService;
+        this.coverArtIndex = coverArtIndex;
+        this.coverThumbnailService = coverThumbnailService;
+        this.objectMapper = objectMapper;
     }
     
-    // Get all songs
+    // List the catalog one keyset page at a time as lightweight rows (id, title, artist, duration,
+    // fileName by default; fields= picks others). Rows are written straight to the response.
     @GetMapping
-    public ResponseEntity<?> getAllSongs() {
+    public ResponseEntity<?> getAllSongs(@RequestParam(required = false) Long after,
+                                         @RequestParam(defaultValue = "50") int limit,
+                                         @RequestParam(required = false) String fields) {
         try {
-            List<SongEntity> songs = songService.getAllSongs();
-            return ResponseEntity.ok(songs);
+            if (limit < 1 || limit > MAX_PAGE_SIZE) {
+                Map<String, String> error = new HashMap<>();
+                error.put("error", "limit must be between 1 and " + MAX_PAGE_SIZE);
+                return ResponseEntity.badRequest().body(error);
+            }
+            List<String> selected = SongProjection.parseFields(fields);
+            List<Object[]> rows = songService.listSongFields(selected, after, limit);
+            
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            if (rows.size() == limit) {
+                headers.set(NEXT_CURSOR_HEADER, String.valueOf(rows.get(rows.size() - 1)[0]));
+            }
+            StreamingResponseBody body = out -> {
+                // The container owns the response stream, so the generator must not close it
+                try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)
+                        .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+                    generator.writeStartArray();
+                    for (Object[] row : rows) {
+                        generator.writeStartObject();
+                        for (int i = 0; i < selected.size(); i++) {
+                            generator.writeObjectField(selected.get(i), row[i]);
+                        }
+                        generator.writeEndObject();
+                    }
+                    generator.writeEndArray();
+                }
+            };
+            return ResponseEntity.ok().headers(headers).body(body);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", "Failed to get songs: " + e.getMessage());
@@ -97,9 +164,14 @@ public class SongController {
         }
     }
     
-    // Stream song file
+    // Stream song file, honouring Range requests so the player can seek without re-downloading.
+    // With ?t=<ms> the response starts at the MP3 frame playing at that time.
     @GetMapping("/{id}/stream")
-    public ResponseEntity<Resource> streamSong(@PathVariable Long id) {
+    public ResponseEntity<StreamingResponseBody> streamSong(@PathVariable Long id,
+                                                            @RequestParam(required = false) Long t,
+                                                            @RequestParam(required = false) String v,
+                                                            @RequestHeader HttpHeaders requestHeaders,
+                                                            HttpServletRequest request) {
         try {
             SongEntity song = songService.getSongById(id);
             if (song == null) {
@@ -109,93 +181,133 @@ public class SongController {
             
             String filename = song.getFileName();
             LOGGER.info("Attempting to stream song: " + filename + " (ID: " + id + ")");
-            Resource songResource = songStreamService.getSongFile(filename);
             
             HttpHeaders headers = new HttpHeaders();
             // Set appropriate content type for audio
             headers.setContentType(MediaType.parseMediaType("audio/mpeg"));
             headers.setContentDisposition(ContentDisposition.inline().filename(filename).build());
-            headers.setCacheControl("no-cache");
             headers.set("Access-Control-Allow-Origin", "*");
             headers.set("Access-Control-Allow-Methods", "GET, OPTIONS");
             headers.set("Access-Control-Allow-Headers", "*");
             
-            return new ResponseEntity<>(songResource, headers, HttpStatus.OK);
+            Fingerprint fingerprint = songStreamService.getSongFingerprint(filename);
+            applyValidators(headers, fingerprint, v);
+            if (fingerprintService.isNotModified(fingerprint, requestHeaders)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers).build();
+            }
+            
+            ByteSource songSource = songStreamService.openSong(filename, request);
+            
+            HttpHeaders rangeHeaders = requestHeaders;
+            if (t != null) {
+                long offset = songStreamService.seekOffset(filename, t);
+                rangeHeaders = new HttpHeaders();
+                rangeHeaders.set(HttpHeaders.RANGE, "bytes=" + offset + "-");
+            }
+            
+            return byteRangeService.buildResponse(songSource, headers, rangeHeaders);
         } catch (Exception e) {
             LOGGER.severe("Error streaming song " + id + ": " + e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
     
-    // Get song cover art
+    // Get song cover art, optionally as a downscaled rendition (?size=64|128|300)
     @GetMapping("/{id}/cover")
-    public ResponseEntity<Resource> getSongCover(@PathVariable Long id) {
+    public ResponseEntity<StreamingResponseBody> getSongCover(@PathVariable Long id,
+                                                              @RequestParam(required = false) Integer size,
+                                                              @RequestParam(required = false) String v,
+                                                              @RequestHeader HttpHeaders requestHeaders,
+                                                              HttpServletRequest request) {
         try {
+            if (size != null && !CoverThumbnailService.SIZES.contains(size)) {
+                return ResponseEntity.badRequest().build();
+            }
+            
             SongEntity song = songService.getSongById(id);
             if (song == null) {
                 return ResponseEntity.notFound().build();
             }
             
-            // Try different possible image formats
-            String baseFilename = song.getFileName().replace(".mp3", "");
-            Resource coverResource = null;
-            Exception lastException = null;
-            
-            // Try common image extensions
-            for (String ext : new String[]{".png", ".jpg", ".jpeg"}) {
-                try {
-                    coverResource = songStreamService.getCoverFile(baseFilename + ext);
-                    if (coverResource != null && coverResource.exists()) {
-                        // Found a valid cover image
-                        break;
-                    }
-                } catch (Exception e) {
-                    lastException = e;
-                    // Continue trying other extensions
-                }
+            CoverEntry cover = coverArtIndex.lookup(song.getFileName());
+            if (cover == null) {
+                LOGGER.fine("No cover art indexed for song " + id);
+                return ResponseEntity.notFound().build();
             }
+            Resource coverResource = cover.getResource();
+            MediaType coverType = cover.getMediaType();
             
-            // If we couldn't find any matching cover art
-            if (coverResource == null || !coverResource.exists()) {
-                if (lastException != null) {
-                    LOGGER.warning("Failed to load cover art for song " + id + ": " + lastException.getMessage());
+            if (size != null) {
+                String baseFilename = song.getFileName().replace(".mp3", "");
+                Path thumbnail = coverThumbnailService.getThumbnail(coverResource, baseFilename, size);
+                if (thumbnail != null) {
+                    coverResource = new FileSystemResource(thumbnail);
+                    coverType = MediaType.IMAGE_JPEG;
                 }
-                return ResponseEntity.notFound().build();
             }
             
             HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.IMAGE_JPEG);
-            headers.setContentDisposition(ContentDisposition.inline().filename(baseFilename).build());
-            headers.setCacheControl("no-cache");
+            headers.setContentType(coverType);
+            headers.setContentDisposition(ContentDisposition.inline().filename(coverResource.getFilename()).build());
             headers.set("Access-Control-Allow-Origin", "*");
             headers.set("Access-Control-Allow-Methods", "GET, OPTIONS");
             headers.set("Access-Control-Allow-Headers", "*");
             
-            return new ResponseEntity<>(coverResource, headers, HttpStatus.OK);
+            Fingerprint fingerprint = songStreamService.getCoverFingerprint(coverResource);
+            applyValidators(headers, fingerprint, v);
+            if (fingerprintService.isNotModified(fingerprint, requestHeaders)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers).build();
+            }
+            
+            return byteRangeService.buildResponse(songStreamService.openFile(coverResource, request),
+                    headers, requestHeaders);
+        } catch (IllegalArgumentException e) {
+            LOGGER.warning("Rejected cover request for song " + id + ": " + e.getMessage());
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             LOGGER.severe("Error retrieving cover art for song " + id + ": " + e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
     
+    // Attach ETag / Last-Modified. A request carrying the current content hash as ?v= is content-addressed
+    // and may be cached forever; anything else must revalidate, which costs a 304 when nothing changed.
+    private void applyValidators(HttpHeaders headers, Fingerprint fingerprint, String requestedVersion) {
+        headers.setETag(fingerprint.getETag());
+        if (fingerprint.getLastModified() > 0) {
+            headers.setLastModified(fingerprint.getLastModified());
+        }
+        if (fingerprint.getVersion().equals(requestedVersion)) {
+            headers.setCacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable());
+        } else {
+            headers.setCacheControl(CacheControl.noCache());
+        }
+    }
+    
     // Search songs
     @GetMapping("/search")
     public ResponseEntity<?> searchSongs(
             @RequestParam(required = false) String title,
             @RequestParam(required = false) String artist,
             @RequestParam(required = false) String genre,
-            @RequestParam(required = false) String album) {
+            @RequestParam(required = false) String album,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "50") int limit) {
         try {
-            // Get all songs and filter them based on the provided parameters
-            List<SongEntity> allSongs = songService.getAllSongs();
-            List<SongEntity> filteredSongs = allSongs.stream()
-                .filter(song -> title == null || song.getTitle().toLowerCase().contains(title.toLowerCase()))
-                .filter(song -> artist == null || song.getArtist().toLowerCase().contains(artist.toLowerCase()))
-                .filter(song -> genre == null || song.getGenre().toLowerCase().contains(genre.toLowerCase()))
-                .filter(song -> album == null || song.getAlbum().toLowerCase().contains(album.toLowerCase()))
-                .collect(Collectors.toList());
+            if (limit < 1 || limit > MAX_PAGE_SIZE) {
+                Map<String, String> error = new HashMap<>();
+                error.put("error", "limit must be between 1 and " + MAX_PAGE_SIZE);
+                return ResponseEntity.badRequest().body(error);
+            }
+            
+            // Filtering and paging run in the database; pass the last id back as "after" for the next page
+            List<SongEntity> page = songService.searchSongs(title, artist, genre, album, after, limit);
             
-            return ResponseEntity.ok(filteredSongs);
+            HttpHeaders headers = new HttpHeaders();
+            if (page.size() == limit) {
+                headers.set(NEXT_CURSOR_HEADER, String.valueOf(page.get(page.size() - 1).getId()));
+            }
+            return ResponseEntity.ok().headers(headers).body(page);
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", "Search failed: " + e.getMessage());
@@ -1,5 +1,7 @@
 package com.musicApp.restAPI.controller;
 
+import java.util.Map;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
@@ -8,42 +10,70 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.ContentDisposition;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import com.musicApp.restAPI.stream.ByteRangeService;
+import com.musicApp.restAPI.stream.ByteSource;
+import com.musicApp.restAPI.stream.CoverArtIndex;
+import com.musicApp.restAPI.stream.CoverArtIndex.CoverEntry;
+import com.musicApp.restAPI.stream.HotSongCache;
 import com.musicApp.restAPI.stream.SongStreamService;
 
+import jakarta.servlet.http.HttpServletRequest;
+
 @RestController
 @RequestMapping("/v1/api/streaming")
 public class StreamingController {
     
     @Autowired
     private SongStreamService songStreamService;
+    
+    @Autowired
+    private ByteRangeService byteRangeService;
+    
+    @Autowired
+    private HotSongCache hotSongCache;
+    
+    @Autowired
+    private CoverArtIndex coverArtIndex;
 
     // Direct stream endpoint
     @GetMapping("/stream/{filename:.+}")
-    public ResponseEntity<Resource> streamFile(@PathVariable String filename) {
+    public ResponseEntity<StreamingResponseBody> streamFile(@PathVariable String filename,
+                                                            @RequestHeader HttpHeaders requestHeaders,
+                                                            HttpServletRequest request) {
         try {
-            Resource song = songStreamService.getSongFile(filename);
+            ByteSource song = songStreamService.openSong(filename, request);
             
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
             headers.setContentDisposition(ContentDisposition.inline().filename(filename).build());
             
-            return new ResponseEntity<>(song, headers, HttpStatus.OK);
+            return byteRangeService.buildResponse(song, headers, requestHeaders);
         } catch (Exception e) {
             return ResponseEntity.notFound().build();
         }
     }
 
+    // Hot song cache statistics
+    @GetMapping("/cache/stats")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        return ResponseEntity.ok(hotSongCache.getStats());
+    }
+
     // Direct cover art endpoint
     @GetMapping("/cover/{filename:.+}")
     public ResponseEntity<Resource> getFileCoverArt(@PathVariable String filename) {
         try {
-            Resource cover = songStreamService.getCoverFile(filename);
+            CoverEntry cover = coverArtIndex.lookup(filename);
+            if (cover == null) {
+                return ResponseEntity.notFound().build();
+            }
             
             HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.IMAGE_JPEG);
+            headers.setContentType(cover.getMediaType());
             headers.setContentDisposition(ContentDisposition.inline().filename(filename).build());
             
-            return new ResponseEntity<>(cover, headers, HttpStatus.OK);
+            return new ResponseEntity<>(cover.getResource(), headers, HttpStatus.OK);
         } catch (Exception e) {
             return ResponseEntity.notFound().build();
         }
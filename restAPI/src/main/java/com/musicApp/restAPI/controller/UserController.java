@@ -5,9 +5,12 @@ import java.util.Map;
 import java.util.HashMap;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.musicApp.restAPI.service.NdjsonExportService;
 import com.musicApp.restAPI.sql.persistance.User.UserEntity;
 import com.musicApp.restAPI.sql.persistance.Playlist.PlaylistEntity;
 import com.musicApp.restAPI.sql.persistance.Song.SongEntity;
@@ -18,10 +21,12 @@ import com.musicApp.restAPI.sql.service.UserService;
 public class UserController {
     
     private final UserService userService;
+    private final NdjsonExportService ndjsonExportService;
     
     @Autowired
-    public UserController(UserService userService) {
+    public UserController(UserService userService, NdjsonExportService ndjsonExportService) {
         this.userService = userService;
+        this.ndjsonExportService = ndjsonExportService;
     }
     
     // Get all users
@@ -37,6 +42,12 @@ public class UserController {
         }
     }
     
+    // Export all users as NDJSON (Accept: application/x-ndjson), streamed row by row
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportUsers() {
+        return ndjsonExportService.export(userService::streamAllUsers);
+    }
+    
     // Get user by ID
     @GetMapping("/{id}")
     public ResponseEntity<?> getUserById(@PathVariable Long id) {
@@ -1,12 +1,17 @@
 package com.musicApp.restAPI.controller;
 
+import com.musicApp.restAPI.event.InteractionRecordedEvent;
 import com.musicApp.restAPI.model.UserSongInteraction;
 import com.musicApp.restAPI.repository.UserSongInteractionRepository;
+import com.musicApp.restAPI.service.NdjsonExportService;
 import com.musicApp.restAPI.sql.persistance.User.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -22,6 +27,12 @@ public class UserInteractionController {
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private NdjsonExportService ndjsonExportService;
+    
     @PostMapping
     public ResponseEntity<?> recordInteraction(@RequestBody Map<String, Object> interactionData) {
         try {
@@ -62,6 +73,7 @@ public class UserInteractionController {
             
             // Save and return
             UserSongInteraction saved = interactionRepository.save(interaction);
+            eventPublisher.publishEvent(new InteractionRecordedEvent(saved));
             return ResponseEntity.ok(saved);
         } catch (Exception e) {
             return ResponseEntity.status(500).body(Map.of(
@@ -76,6 +88,12 @@ public class UserInteractionController {
         return ResponseEntity.ok(interactionRepository.findByUserId(userId));
     }
     
+    // Export a user's interactions as NDJSON (Accept: application/x-ndjson), oldest first
+    @GetMapping(value = "/user/{userId}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportUserInteractions(@PathVariable Long userId) {
+        return ndjsonExportService.export(() -> interactionRepository.streamByUserIdOrderByTimestampAsc(userId));
+    }
+    
     @GetMapping("/user/{userId}/song/{songId}")
     public ResponseEntity<List<UserSongInteraction>> getUserSongInteractions(
             @PathVariable Long userId, 
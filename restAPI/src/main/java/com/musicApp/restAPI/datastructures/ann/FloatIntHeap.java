@@ -0,0 +1,79 @@
+package com.musicApp.restAPI.datastructures.ann;
+
+import java.util.Arrays;
+
+// Growable binary heap of (float key, int id) pairs on primitive arrays; a min-heap, or a max-heap
+// when maxFirst is set. Reused across searches through clear().
+class FloatIntHeap {
+
+    private final boolean maxFirst;
+    private float[] keys = new float[64];
+    private int[] ids = new int[64];
+    private int size;
+
+    FloatIntHeap(boolean maxFirst) {
+        this.maxFirst = maxFirst;
+    }
+
+    void push(int id, float key) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!before(key, keys[parent])) {
+                break;
+            }
+            keys[i] = keys[parent];
+            ids[i] = ids[parent];
+            i = parent;
+        }
+        keys[i] = key;
+        ids[i] = id;
+    }
+
+    void poll() {
+        float key = keys[--size];
+        int id = ids[size];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && before(keys[child + 1], keys[child])) {
+                child++;
+            }
+            if (!before(keys[child], key)) {
+                break;
+            }
+            keys[i] = keys[child];
+            ids[i] = ids[child];
+            i = child;
+        }
+        keys[i] = key;
+        ids[i] = id;
+    }
+
+    int peekId() {
+        return ids[0];
+    }
+
+    float peekKey() {
+        return keys[0];
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    private boolean before(float a, float b) {
+        return maxFirst ? a > b : a < b;
+    }
+}
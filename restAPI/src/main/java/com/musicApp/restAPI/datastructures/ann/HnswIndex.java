@@ -0,0 +1,353 @@
+package com.musicApp.restAPI.datastructures.ann;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Hierarchical navigable small world graph (Malkov and Yashunin) for approximate nearest neighbour
+// search by cosine similarity. Vectors are normalized on the way in, so distance is 1 - dot product.
+// Each node lives on level 0 and, with geometrically falling probability, on a few sparser levels
+// above; a query descends greedily through the upper levels and then runs a best-first search
+// with a candidate list of size ef on level 0. A larger ef trades speed for recall.
+// The graph is built completely in the constructor and never changes afterwards, so concurrent
+// searches are safe. Each search borrows its scratch (a visited array over all nodes) from a pool
+// owned by the index and holding at most one per core; further concurrent searches wait for one,
+// so scratch memory is bounded by core count rather than by request threads.
+public class HnswIndex {
+
+    private final int dimensions;
+    private final int count;
+    private final int maxNeighbors;
+    private final float[] vectors;
+    // links[node][level] = {neighbour count, neighbour ids...}
+    private final int[][][] links;
+    private int entryPoint = -1;
+    private int topLevel = -1;
+
+    private final int scratchLimit;
+    private final BlockingQueue<Scratch> scratchPool;
+    private final AtomicInteger scratchCreated = new AtomicInteger();
+
+    // vectors holds count rows of dimensions floats, row-major; it is copied, not kept
+    public HnswIndex(float[] vectors, int dimensions, int maxNeighbors, int efConstruction, long seed) {
+        this.dimensions = dimensions;
+        this.count = dimensions > 0 ? vectors.length / dimensions : 0;
+        this.maxNeighbors = maxNeighbors;
+        this.vectors = normalizedCopy(vectors, count, dimensions);
+        this.links = new int[count][][];
+        this.scratchLimit = Runtime.getRuntime().availableProcessors();
+        this.scratchPool = new ArrayBlockingQueue<>(scratchLimit);
+
+        Random random = new Random(seed);
+        double levelFactor = 1 / Math.log(maxNeighbors);
+        Scratch s = new Scratch(count);
+        for (int node = 0; node < count; node++) {
+            int level = (int) (-Math.log(1 - random.nextDouble()) * levelFactor);
+            insert(node, level, efConstruction, s);
+        }
+        // The build scratch becomes the first pooled one
+        scratchCreated.incrementAndGet();
+        scratchPool.offer(s);
+    }
+
+    public int size() {
+        return count;
+    }
+
+    // Up to k nodes nearest to node, closest first, excluding node itself
+    public int[] neighboursOf(int node, int k, int ef) {
+        int[] found = search(vectors, node * dimensions, k + 1, Math.max(ef, k + 1));
+        int[] result = new int[Math.min(k, found.length)];
+        int n = 0;
+        for (int candidate : found) {
+            if (candidate != node && n < result.length) {
+                result[n++] = candidate;
+            }
+        }
+        return n == result.length ? result : Arrays.copyOf(result, n);
+    }
+
+    // Up to k nodes nearest to query (any length-dimensions vector), closest first
+    public int[] nearest(float[] query, int k, int ef) {
+        float[] normalized = normalizedCopy(query, 1, dimensions);
+        return search(normalized, 0, k, Math.max(ef, k));
+    }
+
+    // Exact cosine distance between two indexed nodes
+    public float distance(int a, int b) {
+        return distance(vectors, a * dimensions, b);
+    }
+
+    private int[] search(float[] query, int queryOffset, int k, int ef) {
+        if (entryPoint < 0 || k <= 0) {
+            return new int[0];
+        }
+        Scratch s = acquireScratch();
+        try {
+            int current = entryPoint;
+            float currentDistance = distance(query, queryOffset, current);
+            for (int level = topLevel; level > 0; level--) {
+                current = greedyClosest(query, queryOffset, current, currentDistance, level);
+                currentDistance = distance(query, queryOffset, current);
+            }
+            searchLevel(query, queryOffset, current, currentDistance, ef, 0, s);
+            int n = Math.min(k, s.results.size());
+            // Results heap is farthest-first; drop the surplus, then drain back to front
+            while (s.results.size() > n) {
+                s.results.poll();
+            }
+            int[] result = new int[n];
+            for (int i = n - 1; i >= 0; i--) {
+                result[i] = s.results.peekId();
+                s.results.poll();
+            }
+            return result;
+        } finally {
+            scratchPool.offer(s);
+        }
+    }
+
+    // A pooled scratch, a new one while fewer than the pool capacity exist, or else the next one
+    // another search releases
+    private Scratch acquireScratch() {
+        Scratch s = scratchPool.poll();
+        if (s != null) {
+            return s;
+        }
+        if (scratchCreated.getAndIncrement() < scratchLimit) {
+            return new Scratch(count);
+        }
+        scratchCreated.decrementAndGet();
+        try {
+            return scratchPool.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for search scratch", e);
+        }
+    }
+
+    private void insert(int node, int level, int efConstruction, Scratch s) {
+        links[node] = new int[level + 1][];
+        for (int l = 0; l <= level; l++) {
+            links[node][l] = new int[1 + capacity(l)];
+        }
+        if (entryPoint < 0) {
+            entryPoint = node;
+            topLevel = level;
+            return;
+        }
+
+        int offset = node * dimensions;
+        int current = entryPoint;
+        float currentDistance = distance(vectors, offset, current);
+        for (int l = topLevel; l > level; l--) {
+            current = greedyClosest(vectors, offset, current, currentDistance, l);
+            currentDistance = distance(vectors, offset, current);
+        }
+        for (int l = Math.min(level, topLevel); l >= 0; l--) {
+            searchLevel(vectors, offset, current, currentDistance, efConstruction, l, s);
+            // Candidates closest first
+            int found = s.results.size();
+            int[] candidates = new int[found];
+            float[] distances = new float[found];
+            for (int i = found - 1; i >= 0; i--) {
+                candidates[i] = s.results.peekId();
+                distances[i] = s.results.peekKey();
+                s.results.poll();
+            }
+            int[] selected = selectNeighbours(candidates, distances, found, maxNeighbors);
+            int[] own = links[node][l];
+            for (int neighbour : selected) {
+                own[++own[0]] = neighbour;
+                connect(neighbour, node, l);
+            }
+            current = candidates[0];
+            currentDistance = distances[0];
+        }
+        if (level > topLevel) {
+            entryPoint = node;
+            topLevel = level;
+        }
+    }
+
+    // Adds a back link, re-selecting the neighbour list when it is full
+    private void connect(int from, int to, int level) {
+        int[] list = links[from][level];
+        if (list[0] < list.length - 1) {
+            list[++list[0]] = to;
+            return;
+        }
+        int n = list[0] + 1;
+        int[] candidates = new int[n];
+        float[] distances = new float[n];
+        for (int i = 0; i < n - 1; i++) {
+            candidates[i] = list[i + 1];
+        }
+        candidates[n - 1] = to;
+        for (int i = 0; i < n; i++) {
+            distances[i] = distance(vectors, from * dimensions, candidates[i]);
+        }
+        sortByDistance(candidates, distances, n);
+        int[] selected = selectNeighbours(candidates, distances, n, capacity(level));
+        list[0] = selected.length;
+        System.arraycopy(selected, 0, list, 1, selected.length);
+    }
+
+    // Neighbour selection heuristic: skip a candidate that is closer to an already chosen
+    // neighbour than to the base node, which keeps links spread across clusters. Candidates
+    // must be sorted closest first; leftover slots are filled with the skipped ones.
+    private int[] selectNeighbours(int[] candidates, float[] distances, int n, int limit) {
+        int[] selected = new int[Math.min(limit, n)];
+        boolean[] taken = new boolean[n];
+        int chosen = 0;
+        for (int i = 0; i < n && chosen < selected.length; i++) {
+            boolean keep = true;
+            for (int j = 0; j < chosen; j++) {
+                if (distance(vectors, candidates[i] * dimensions, selected[j]) < distances[i]) {
+                    keep = false;
+                    break;
+                }
+            }
+            if (keep) {
+                selected[chosen++] = candidates[i];
+                taken[i] = true;
+            }
+        }
+        for (int i = 0; i < n && chosen < selected.length; i++) {
+            if (!taken[i]) {
+                selected[chosen++] = candidates[i];
+            }
+        }
+        return selected;
+    }
+
+    private int greedyClosest(float[] query, int queryOffset, int start, float startDistance, int level) {
+        int current = start;
+        float best = startDistance;
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            int[] list = links[current][level];
+            for (int i = 1; i <= list[0]; i++) {
+                float d = distance(query, queryOffset, list[i]);
+                if (d < best) {
+                    best = d;
+                    current = list[i];
+                    improved = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    // Best-first search of one level; leaves the ef closest nodes found in s.results
+    private void searchLevel(float[] query, int queryOffset, int start, float startDistance, int ef, int level,
+                             Scratch s) {
+        s.nextVisit();
+        s.candidates.clear();
+        s.results.clear();
+        s.visit(start);
+        s.candidates.push(start, startDistance);
+        s.results.push(start, startDistance);
+        while (s.candidates.size() > 0) {
+            int current = s.candidates.peekId();
+            float currentDistance = s.candidates.peekKey();
+            if (currentDistance > s.results.peekKey() && s.results.size() >= ef) {
+                break;
+            }
+            s.candidates.poll();
+            int[] list = links[current][level];
+            for (int i = 1; i <= list[0]; i++) {
+                int neighbour = list[i];
+                if (!s.visit(neighbour)) {
+                    continue;
+                }
+                float d = distance(query, queryOffset, neighbour);
+                if (s.results.size() < ef || d < s.results.peekKey()) {
+                    s.candidates.push(neighbour, d);
+                    s.results.push(neighbour, d);
+                    if (s.results.size() > ef) {
+                        s.results.poll();
+                    }
+                }
+            }
+        }
+    }
+
+    private int capacity(int level) {
+        return level == 0 ? 2 * maxNeighbors : maxNeighbors;
+    }
+
+    private float distance(float[] query, int queryOffset, int node) {
+        int nodeOffset = node * dimensions;
+        float dot = 0;
+        for (int i = 0; i < dimensions; i++) {
+            dot += query[queryOffset + i] * vectors[nodeOffset + i];
+        }
+        return 1 - dot;
+    }
+
+    private static void sortByDistance(int[] ids, float[] distances, int n) {
+        // Insertion sort: lists hold at most 2 * maxNeighbors + 1 entries
+        for (int i = 1; i < n; i++) {
+            int id = ids[i];
+            float d = distances[i];
+            int j = i - 1;
+            while (j >= 0 && distances[j] > d) {
+                ids[j + 1] = ids[j];
+                distances[j + 1] = distances[j];
+                j--;
+            }
+            ids[j + 1] = id;
+            distances[j + 1] = d;
+        }
+    }
+
+    private static float[] normalizedCopy(float[] source, int rows, int dimensions) {
+        float[] result = Arrays.copyOf(source, rows * dimensions);
+        for (int r = 0; r < rows; r++) {
+            int offset = r * dimensions;
+            double norm = 0;
+            for (int i = 0; i < dimensions; i++) {
+                norm += result[offset + i] * result[offset + i];
+            }
+            if (norm > 0) {
+                float scale = (float) (1 / Math.sqrt(norm));
+                for (int i = 0; i < dimensions; i++) {
+                    result[offset + i] *= scale;
+                }
+            }
+        }
+        return result;
+    }
+
+    private static class Scratch {
+        // Closest first, and farthest first
+        private final FloatIntHeap candidates = new FloatIntHeap(false);
+        private final FloatIntHeap results = new FloatIntHeap(true);
+        private final int[] visited;
+        private int visitMark;
+
+        Scratch(int count) {
+            this.visited = new int[count];
+        }
+
+        void nextVisit() {
+            if (++visitMark == Integer.MAX_VALUE) {
+                Arrays.fill(visited, 0);
+                visitMark = 1;
+            }
+        }
+
+        // True the first time a node is seen in the current search
+        boolean visit(int node) {
+            if (visited[node] == visitMark) {
+                return false;
+            }
+            visited[node] = visitMark;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.musicApp.restAPI.datastructures.bitmap;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+// Compressed set of non-negative ints in the style of Roaring bitmaps. Values are split by their
+// high 16 bits into chunks; a chunk holding up to 4096 values is a sorted char array (2 bytes per
+// value), a denser one becomes a 1024-word bitmap (8 KB, under 2 bits per value when full).
+// Intersection cardinality works chunk by chunk with popcounts over bitmap words and allocates
+// nothing, so similarity between two sets costs time proportional to their compressed size.
+// Not thread-safe.
+public class CompressedBitmap {
+
+    private static final int ARRAY_LIMIT = 4096;
+    private static final int BITMAP_WORDS = 1024;
+
+    // Sorted high-16-bit keys, with the container of each; a container is a char[] in arrays or a
+    // long[] bitmap, and counts holds its cardinality
+    private char[] keys = new char[4];
+    private Object[] containers = new Object[4];
+    private int[] counts = new int[4];
+    private int chunks;
+    private int cardinality;
+
+    // Returns true if value was not present yet
+    public boolean add(int value) {
+        char high = (char) (value >>> 16);
+        char low = (char) value;
+        int i = chunkIndex(high);
+        if (i < 0) {
+            i = -i - 1;
+            insertChunk(i, high);
+        }
+        boolean added = containers[i] instanceof long[] ? addToBitmap(i, low) : addToArray(i, low);
+        if (added) {
+            cardinality++;
+        }
+        return added;
+    }
+
+    public boolean contains(int value) {
+        int i = chunkIndex((char) (value >>> 16));
+        if (i < 0) {
+            return false;
+        }
+        char low = (char) value;
+        if (containers[i] instanceof long[] words) {
+            return (words[low >>> 6] & (1L << low)) != 0;
+        }
+        return Arrays.binarySearch((char[]) containers[i], 0, counts[i], low) >= 0;
+    }
+
+    public int cardinality() {
+        return cardinality;
+    }
+
+    // |this n other|
+    public int andCardinality(CompressedBitmap other) {
+        int total = 0;
+        int i = 0;
+        int j = 0;
+        while (i < chunks && j < other.chunks) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                total += andCardinality(containers[i], counts[i], other.containers[j], other.counts[j]);
+                i++;
+                j++;
+            }
+        }
+        return total;
+    }
+
+    // |this u other|
+    public int orCardinality(CompressedBitmap other) {
+        return cardinality + other.cardinality - andCardinality(other);
+    }
+
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < chunks; i++) {
+            int base = keys[i] << 16;
+            if (containers[i] instanceof long[] words) {
+                for (int w = 0; w < BITMAP_WORDS; w++) {
+                    long word = words[w];
+                    while (word != 0) {
+                        action.accept(base | (w << 6) | Long.numberOfTrailingZeros(word));
+                        word &= word - 1;
+                    }
+                }
+            } else {
+                char[] values = (char[]) containers[i];
+                for (int v = 0; v < counts[i]; v++) {
+                    action.accept(base | values[v]);
+                }
+            }
+        }
+    }
+
+    // Approximate heap footprint of the containers in bytes
+    public long sizeInBytes() {
+        long bytes = keys.length * 2L + containers.length * 4L + counts.length * 4L;
+        for (int i = 0; i < chunks; i++) {
+            bytes += containers[i] instanceof long[] ? BITMAP_WORDS * 8L : ((char[]) containers[i]).length * 2L;
+        }
+        return bytes;
+    }
+
+    private static int andCardinality(Object a, int countA, Object b, int countB) {
+        if (a instanceof long[] wordsA) {
+            if (b instanceof long[] wordsB) {
+                int total = 0;
+                for (int w = 0; w < BITMAP_WORDS; w++) {
+                    total += Long.bitCount(wordsA[w] & wordsB[w]);
+                }
+                return total;
+            }
+            return arrayAndBitmap((char[]) b, countB, wordsA);
+        }
+        if (b instanceof long[] wordsB) {
+            return arrayAndBitmap((char[]) a, countA, wordsB);
+        }
+        // Both sorted arrays: merge
+        char[] valuesA = (char[]) a;
+        char[] valuesB = (char[]) b;
+        int total = 0;
+        int i = 0;
+        int j = 0;
+        while (i < countA && j < countB) {
+            if (valuesA[i] < valuesB[j]) {
+                i++;
+            } else if (valuesA[i] > valuesB[j]) {
+                j++;
+            } else {
+                total++;
+                i++;
+                j++;
+            }
+        }
+        return total;
+    }
+
+    private static int arrayAndBitmap(char[] values, int count, long[] words) {
+        int total = 0;
+        for (int v = 0; v < count; v++) {
+            char low = values[v];
+            if ((words[low >>> 6] & (1L << low)) != 0) {
+                total++;
+            }
+        }
+        return total;
+    }
+
+    private boolean addToBitmap(int i, char low) {
+        long[] words = (long[]) containers[i];
+        long bit = 1L << low;
+        if ((words[low >>> 6] & bit) != 0) {
+            return false;
+        }
+        words[low >>> 6] |= bit;
+        counts[i]++;
+        return true;
+    }
+
+    private boolean addToArray(int i, char low) {
+        char[] values = (char[]) containers[i];
+        int count = counts[i];
+        int at = Arrays.binarySearch(values, 0, count, low);
+        if (at >= 0) {
+            return false;
+        }
+        at = -at - 1;
+        if (count == ARRAY_LIMIT) {
+            // Too dense for an array: switch this chunk to a bitmap
+            long[] words = new long[BITMAP_WORDS];
+            for (int v = 0; v < count; v++) {
+                words[values[v] >>> 6] |= 1L << values[v];
+            }
+            containers[i] = words;
+            return addToBitmap(i, low);
+        }
+        if (count == values.length) {
+            values = Arrays.copyOf(values, Math.min(ARRAY_LIMIT, Math.max(4, count * 2)));
+            containers[i] = values;
+        }
+        System.arraycopy(values, at, values, at + 1, count - at);
+        values[at] = low;
+        counts[i]++;
+        return true;
+    }
+
+    private int chunkIndex(char high) {
+        return Arrays.binarySearch(keys, 0, chunks, high);
+    }
+
+    private void insertChunk(int at, char high) {
+        if (chunks == keys.length) {
+            keys = Arrays.copyOf(keys, chunks * 2);
+            containers = Arrays.copyOf(containers, chunks * 2);
+            counts = Arrays.copyOf(counts, chunks * 2);
+        }
+        System.arraycopy(keys, at, keys, at + 1, chunks - at);
+        System.arraycopy(containers, at, containers, at + 1, chunks - at);
+        System.arraycopy(counts, at, counts, at + 1, chunks - at);
+        keys[at] = high;
+        containers[at] = new char[4];
+        counts[at] = 0;
+        chunks++;
+    }
+}
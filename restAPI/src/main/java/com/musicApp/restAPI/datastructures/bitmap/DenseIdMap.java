@@ -0,0 +1,81 @@
+package com.musicApp.restAPI.datastructures.bitmap;
+
+import java.util.Arrays;
+
+// Assigns dense ints 0, 1, 2, ... to long ids in order of first appearance and maps them back,
+// using an open-addressing table on primitive arrays. Not thread-safe.
+public class DenseIdMap {
+
+    private long[] keys = new long[16];
+    private int[] values = new int[16];
+    private long[] ids = new long[16];
+    private int size;
+
+    public DenseIdMap() {
+        Arrays.fill(values, -1);
+    }
+
+    // Dense index of id, or -1 if it has not been assigned one
+    public int get(long id) {
+        int mask = keys.length - 1;
+        for (int slot = slot(id, mask); values[slot] >= 0; slot = (slot + 1) & mask) {
+            if (keys[slot] == id) {
+                return values[slot];
+            }
+        }
+        return -1;
+    }
+
+    // Dense index of id, assigning the next free one if needed
+    public int getOrAdd(long id) {
+        int existing = get(id);
+        if (existing >= 0) {
+            return existing;
+        }
+        if ((size + 1) * 2 > keys.length) {
+            grow();
+        }
+        insert(id, size);
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        ids[size] = id;
+        return size++;
+    }
+
+    public long idAt(int index) {
+        return ids[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void insert(long id, int value) {
+        int mask = keys.length - 1;
+        int slot = slot(id, mask);
+        while (values[slot] >= 0) {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = id;
+        values[slot] = value;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new int[oldValues.length * 2];
+        Arrays.fill(values, -1);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] >= 0) {
+                insert(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private static int slot(long id, int mask) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,222 @@
+package com.musicApp.restAPI.datastructures.cluster;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Lloyd's k-means with k-means++ seeding over points packed row-major in one float[] (dims floats
+// per point). The assignment step, which dominates at O(n k dims) per iteration, runs in parallel
+// blocks on a ForkJoinPool; the centroid update is a single sequential pass. All working arrays
+// are allocated once per run, so iterations allocate nothing. A cluster that loses all its points
+// is reseeded at the point farthest from its centroid.
+public class KMeans {
+
+    // Points per leaf task of the assignment step
+    private static final int BLOCK_SIZE = 256;
+
+    private final int dims;
+    private final int maxIterations;
+    private final ForkJoinPool pool;
+
+    public KMeans(int dims, int maxIterations, ForkJoinPool pool) {
+        this.dims = dims;
+        this.maxIterations = maxIterations;
+        this.pool = pool;
+    }
+
+    // k must not exceed the number of points
+    public Result cluster(float[] points, int k, Random random) {
+        int n = points.length / dims;
+        if (k <= 0 || k > n) {
+            throw new IllegalArgumentException("k must be between 1 and " + n + ", got " + k);
+        }
+        float[] centroids = seed(points, n, k, random);
+        int[] assignment = new int[n];
+        int[] previous = new int[n];
+        Arrays.fill(previous, -1);
+        float[] distances = new float[n];
+        double[] sums = new double[k * dims];
+        int[] counts = new int[k];
+
+        int iterations = 0;
+        boolean changed = true;
+        while (changed && iterations < maxIterations) {
+            pool.invoke(new AssignBlock(points, centroids, k, assignment, distances, 0, n));
+            changed = !Arrays.equals(assignment, previous);
+            System.arraycopy(assignment, 0, previous, 0, n);
+            update(points, n, k, centroids, assignment, distances, sums, counts);
+            iterations++;
+        }
+        return new Result(centroids, assignment, nearestPoints(points, n, k, centroids, assignment), iterations);
+    }
+
+    // k-means++: first centre uniform, each next one drawn with probability proportional to the
+    // squared distance to the nearest centre chosen so far
+    private float[] seed(float[] points, int n, int k, Random random) {
+        float[] centroids = new float[k * dims];
+        float[] nearest = new float[n];
+        Arrays.fill(nearest, Float.MAX_VALUE);
+        int chosen = random.nextInt(n);
+        for (int c = 0; c < k; c++) {
+            System.arraycopy(points, chosen * dims, centroids, c * dims, dims);
+            double total = 0;
+            for (int p = 0; p < n; p++) {
+                nearest[p] = Math.min(nearest[p], distance(points, p * dims, centroids, c * dims));
+                total += nearest[p];
+            }
+            if (c + 1 == k) {
+                break;
+            }
+            if (total == 0) {
+                // Every point sits on a centre already; duplicates are all that is left
+                chosen = random.nextInt(n);
+                continue;
+            }
+            double target = random.nextDouble() * total;
+            chosen = n - 1;
+            for (int p = 0; p < n; p++) {
+                target -= nearest[p];
+                if (target < 0) {
+                    chosen = p;
+                    break;
+                }
+            }
+        }
+        return centroids;
+    }
+
+    private void update(float[] points, int n, int k, float[] centroids, int[] assignment, float[] distances,
+                        double[] sums, int[] counts) {
+        Arrays.fill(sums, 0);
+        Arrays.fill(counts, 0);
+        for (int p = 0; p < n; p++) {
+            int c = assignment[p];
+            counts[c]++;
+            int offset = p * dims;
+            int centroid = c * dims;
+            for (int d = 0; d < dims; d++) {
+                sums[centroid + d] += points[offset + d];
+            }
+        }
+        for (int c = 0; c < k; c++) {
+            if (counts[c] == 0) {
+                int farthest = 0;
+                for (int p = 1; p < n; p++) {
+                    if (distances[p] > distances[farthest]) {
+                        farthest = p;
+                    }
+                }
+                System.arraycopy(points, farthest * dims, centroids, c * dims, dims);
+                distances[farthest] = 0;
+                continue;
+            }
+            for (int d = 0; d < dims; d++) {
+                centroids[c * dims + d] = (float) (sums[c * dims + d] / counts[c]);
+            }
+        }
+    }
+
+    // Index of the point closest to each centroid among the points assigned to it, or -1 for a
+    // centroid that was just reseeded and has none
+    private int[] nearestPoints(float[] points, int n, int k, float[] centroids, int[] assignment) {
+        int[] nearest = new int[k];
+        float[] best = new float[k];
+        Arrays.fill(nearest, -1);
+        Arrays.fill(best, Float.MAX_VALUE);
+        for (int p = 0; p < n; p++) {
+            int c = assignment[p];
+            float distance = distance(points, p * dims, centroids, c * dims);
+            if (distance < best[c]) {
+                best[c] = distance;
+                nearest[c] = p;
+            }
+        }
+        return nearest;
+    }
+
+    // Squared Euclidean distance
+    private float distance(float[] a, int offsetA, float[] b, int offsetB) {
+        float sum = 0;
+        for (int d = 0; d < dims; d++) {
+            float diff = a[offsetA + d] - b[offsetB + d];
+            sum += diff * diff;
+        }
+        return sum;
+    }
+
+    private class AssignBlock extends RecursiveAction {
+        private final float[] points;
+        private final float[] centroids;
+        private final int k;
+        private final int[] assignment;
+        private final float[] distances;
+        private final int from;
+        private final int to;
+
+        AssignBlock(float[] points, float[] centroids, int k, int[] assignment, float[] distances, int from, int to) {
+            this.points = points;
+            this.centroids = centroids;
+            this.k = k;
+            this.assignment = assignment;
+            this.distances = distances;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > BLOCK_SIZE) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new AssignBlock(points, centroids, k, assignment, distances, from, mid),
+                          new AssignBlock(points, centroids, k, assignment, distances, mid, to));
+                return;
+            }
+            for (int p = from; p < to; p++) {
+                int offset = p * dims;
+                int closest = 0;
+                float closestDistance = distance(points, offset, centroids, 0);
+                for (int c = 1; c < k; c++) {
+                    float distance = distance(points, offset, centroids, c * dims);
+                    if (distance < closestDistance) {
+                        closestDistance = distance;
+                        closest = c;
+                    }
+                }
+                assignment[p] = closest;
+                distances[p] = closestDistance;
+            }
+        }
+    }
+
+    public static class Result {
+        private final float[] centroids;
+        private final int[] assignment;
+        private final int[] nearestPoints;
+        private final int iterations;
+
+        Result(float[] centroids, int[] assignment, int[] nearestPoints, int iterations) {
+            this.centroids = centroids;
+            this.assignment = assignment;
+            this.nearestPoints = nearestPoints;
+            this.iterations = iterations;
+        }
+
+        public float[] centroids() {
+            return centroids;
+        }
+
+        public int[] assignment() {
+            return assignment;
+        }
+
+        // Index of the real point nearest to each centroid (-1 if the cluster ended empty)
+        public int[] nearestPoints() {
+            return nearestPoints;
+        }
+
+        public int iterations() {
+            return iterations;
+        }
+    }
+}
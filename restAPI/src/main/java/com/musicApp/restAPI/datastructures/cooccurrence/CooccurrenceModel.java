@@ -0,0 +1,177 @@
+package com.musicApp.restAPI.datastructures.cooccurrence;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.musicApp.restAPI.datastructures.matrix.TopK;
+
+// Item-item co-occurrence weights with a published top-N neighbour list per song. Every song keeps
+// a small table of candidate neighbours in parallel primitive arrays (4N slots); when it fills up
+// the weaker half is dropped, and decay() fades all weights and prunes what falls below
+// MIN_WEIGHT. Neighbours are ranked by weight / sqrt(occurrences of the neighbour) so that songs
+// that co-occur with everything do not dominate every list.
+//
+// Only a single writer thread may call addOccurrence/addPair/decay/publish. Readers only touch the
+// published immutable lists, so neighbours() never blocks and costs O(N).
+public class CooccurrenceModel {
+
+    static final float MIN_WEIGHT = 0.05f;
+
+    private final int neighbours;
+    private final int capacity;
+
+    // Writer-only state
+    private final Map<Long, Candidates> candidates = new HashMap<>();
+    private final Set<Long> dirty = new LinkedHashSet<>();
+
+    private final Map<Long, Neighbours> published = new ConcurrentHashMap<>();
+
+    public CooccurrenceModel(int neighbours) {
+        this.neighbours = Math.max(1, neighbours);
+        this.capacity = this.neighbours * 4;
+    }
+
+    // Up to limit neighbour ids of songId, strongest first
+    public long[] neighbours(long songId, int limit) {
+        Neighbours list = published.get(songId);
+        if (list == null) {
+            return new long[0];
+        }
+        return Arrays.copyOf(list.ids, Math.min(Math.max(0, limit), list.ids.length));
+    }
+
+    public int publishedSongs() {
+        return published.size();
+    }
+
+    // Counts one appearance of songId in a sequence
+    public void addOccurrence(long songId) {
+        candidates.computeIfAbsent(songId, id -> new Candidates(capacity)).total += 1f;
+    }
+
+    // Strengthens the link between two songs in both directions
+    public void addPair(long a, long b, float weight) {
+        if (a == b) {
+            return;
+        }
+        candidates.computeIfAbsent(a, id -> new Candidates(capacity)).add(b, weight);
+        candidates.computeIfAbsent(b, id -> new Candidates(capacity)).add(a, weight);
+        dirty.add(a);
+        dirty.add(b);
+    }
+
+    // Multiplies every weight by factor and prunes links and songs that became negligible
+    public void decay(float factor) {
+        Iterator<Map.Entry<Long, Candidates>> it = candidates.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Long, Candidates> entry = it.next();
+            Candidates table = entry.getValue();
+            table.decay(factor);
+            if (table.size == 0 && table.total < MIN_WEIGHT) {
+                it.remove();
+            }
+            dirty.add(entry.getKey());
+        }
+    }
+
+    // Rebuilds the published lists of songs changed since the last call
+    public void publish() {
+        for (Long songId : dirty) {
+            Candidates table = candidates.get(songId);
+            Neighbours list = table != null ? rank(table) : null;
+            if (list == null || list.ids.length == 0) {
+                published.remove(songId);
+            } else {
+                published.put(songId, list);
+            }
+        }
+        dirty.clear();
+    }
+
+    private Neighbours rank(Candidates table) {
+        TopK top = new TopK(neighbours);
+        for (int slot = 0; slot < table.size; slot++) {
+            Candidates other = candidates.get(table.ids[slot]);
+            float occurrences = other != null ? Math.max(1f, other.total) : 1f;
+            top.offer(slot, table.weights[slot] / (float) Math.sqrt(occurrences));
+        }
+        int[] slots = top.drainDescending();
+        long[] ids = new long[slots.length];
+        for (int i = 0; i < slots.length; i++) {
+            ids[i] = table.ids[slots[i]];
+        }
+        return new Neighbours(ids);
+    }
+
+    private static class Candidates {
+        private final long[] ids;
+        private final float[] weights;
+        private int size;
+        private float total;
+
+        Candidates(int capacity) {
+            this.ids = new long[capacity];
+            this.weights = new float[capacity];
+        }
+
+        void add(long id, float weight) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    weights[i] += weight;
+                    return;
+                }
+            }
+            if (size == ids.length) {
+                pruneWeakerHalf();
+            }
+            ids[size] = id;
+            weights[size] = weight;
+            size++;
+        }
+
+        void decay(float factor) {
+            total *= factor;
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                float weight = weights[i] * factor;
+                if (weight >= MIN_WEIGHT) {
+                    ids[kept] = ids[i];
+                    weights[kept] = weight;
+                    kept++;
+                }
+            }
+            size = kept;
+        }
+
+        // Sorts by weight, strongest first (insertion sort; tables hold a few dozen slots) and
+        // keeps the first half
+        private void pruneWeakerHalf() {
+            for (int i = 1; i < size; i++) {
+                long id = ids[i];
+                float weight = weights[i];
+                int j = i - 1;
+                while (j >= 0 && weights[j] < weight) {
+                    ids[j + 1] = ids[j];
+                    weights[j + 1] = weights[j];
+                    j--;
+                }
+                ids[j + 1] = id;
+                weights[j + 1] = weight;
+            }
+            size /= 2;
+        }
+    }
+
+    private static class Neighbours {
+        private final long[] ids;
+
+        Neighbours(long[] ids) {
+            this.ids = ids;
+        }
+    }
+}
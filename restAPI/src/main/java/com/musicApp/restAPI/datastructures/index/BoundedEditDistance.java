@@ -0,0 +1,70 @@
+package com.musicApp.restAPI.datastructures.index;
+
+// Optimal-string-alignment Damerau-Levenshtein distance (insert, delete, substitute, swap of two
+// adjacent characters) that gives up once the distance is known to exceed a bound. Only a diagonal
+// band of width 2 * max + 1 is computed, and the three rows are reused between calls, so scoring
+// allocates nothing. One instance per thread.
+public class BoundedEditDistance {
+
+    private int[] previous2 = new int[32];
+    private int[] previous = new int[32];
+    private int[] current = new int[32];
+
+    // Distance between a and b, or max + 1 if it is larger than max
+    public int distance(CharSequence a, CharSequence b, int max) {
+        int n = a.length();
+        int m = b.length();
+        if (Math.abs(n - m) > max) {
+            return max + 1;
+        }
+        if (n == 0 || m == 0) {
+            return Math.max(n, m);
+        }
+        ensureCapacity(m + 1);
+        int outside = max + 1;
+
+        for (int j = 0; j <= m; j++) {
+            previous[j] = j <= max ? j : outside;
+        }
+        for (int i = 1; i <= n; i++) {
+            int from = Math.max(1, i - max);
+            int to = Math.min(m, i + max);
+            current[0] = i <= max ? i : outside;
+            if (from > 1) {
+                current[from - 1] = outside;
+            }
+            int rowMin = current[0];
+            char ca = a.charAt(i - 1);
+            for (int j = from; j <= to; j++) {
+                char cb = b.charAt(j - 1);
+                int cost = ca == cb ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && ca == b.charAt(j - 2) && a.charAt(i - 2) == cb) {
+                    value = Math.min(value, previous2[j - 2] + 1);
+                }
+                current[j] = Math.min(value, outside);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (to < m) {
+                current[to + 1] = outside;
+            }
+            // Every path to the final cell passes through this row
+            if (rowMin > max) {
+                return outside;
+            }
+            int[] recycled = previous2;
+            previous2 = previous;
+            previous = current;
+            current = recycled;
+        }
+        return Math.min(previous[m], outside);
+    }
+
+    private void ensureCapacity(int size) {
+        if (previous.length < size) {
+            previous2 = new int[size * 2];
+            previous = new int[size * 2];
+            current = new int[size * 2];
+        }
+    }
+}
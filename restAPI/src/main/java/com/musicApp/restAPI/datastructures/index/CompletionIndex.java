@@ -0,0 +1,116 @@
+package com.musicApp.restAPI.datastructures.index;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.PriorityQueue;
+
+// Immutable prefix index for autocomplete. Keys are normalized strings kept in one sorted array;
+// a prefix maps to a contiguous range of it found by binary search. Each key points at a target
+// (the suggestion it completes to) with a weight, and a sparse table of range maxima lets the top
+// k targets of any range be pulled out in O(k log k), however many keys share the prefix.
+public class CompletionIndex {
+
+    private final String[] keys;
+    private final int[] targets;
+    private final double[] weights;
+    // sparse[level][i] = position of the heaviest key in [i, i + 2^level)
+    private final int[][] sparse;
+    private final int targetCount;
+
+    // keys[i] completes to targets[i]; weights are per target
+    public CompletionIndex(String[] keys, int[] targets, double[] targetWeights) {
+        Integer[] order = new Integer[keys.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> keys[a].compareTo(keys[b]));
+
+        this.keys = new String[keys.length];
+        this.targets = new int[keys.length];
+        this.weights = new double[keys.length];
+        for (int i = 0; i < order.length; i++) {
+            this.keys[i] = keys[order[i]];
+            this.targets[i] = targets[order[i]];
+            this.weights[i] = targetWeights[targets[order[i]]];
+        }
+        this.targetCount = targetWeights.length;
+        this.sparse = buildSparseTable(weights);
+    }
+
+    // Up to k distinct targets with a key starting with prefix, heaviest first
+    public int[] topK(String prefix, int k) {
+        int from = lowerBound(prefix);
+        int to = lowerBound(prefix + Character.MAX_VALUE) - 1;
+        if (from > to || k <= 0) {
+            return new int[0];
+        }
+
+        // Best-first search over sub-ranges: take a range's maximum, then split around it
+        PriorityQueue<int[]> ranges = new PriorityQueue<>((a, b) -> Double.compare(weights[b[2]], weights[a[2]]));
+        ranges.add(new int[]{from, to, argMax(from, to)});
+        int[] result = new int[k];
+        int found = 0;
+        BitSet seen = new BitSet(targetCount);
+        while (found < k && !ranges.isEmpty()) {
+            int[] range = ranges.poll();
+            int best = range[2];
+            if (!seen.get(targets[best])) {
+                seen.set(targets[best]);
+                result[found++] = targets[best];
+            }
+            if (range[0] < best) {
+                ranges.add(new int[]{range[0], best - 1, argMax(range[0], best - 1)});
+            }
+            if (best < range[1]) {
+                ranges.add(new int[]{best + 1, range[1], argMax(best + 1, range[1])});
+            }
+        }
+        return Arrays.copyOf(result, found);
+    }
+
+    public int size() {
+        return keys.length;
+    }
+
+    private int lowerBound(String key) {
+        int lo = 0;
+        int hi = keys.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (keys[mid].compareTo(key) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private int argMax(int from, int to) {
+        int level = 31 - Integer.numberOfLeadingZeros(to - from + 1);
+        int left = sparse[level][from];
+        int right = sparse[level][to - (1 << level) + 1];
+        return weights[left] >= weights[right] ? left : right;
+    }
+
+    private static int[][] buildSparseTable(double[] weights) {
+        int n = weights.length;
+        int levels = n == 0 ? 1 : 32 - Integer.numberOfLeadingZeros(n);
+        int[][] table = new int[levels][];
+        table[0] = new int[n];
+        for (int i = 0; i < n; i++) {
+            table[0][i] = i;
+        }
+        for (int level = 1; level < levels; level++) {
+            int span = 1 << level;
+            int half = span >> 1;
+            table[level] = new int[n - span + 1];
+            for (int i = 0; i + span <= n; i++) {
+                int left = table[level - 1][i];
+                int right = table[level - 1][i + half];
+                table[level][i] = weights[left] >= weights[right] ? left : right;
+            }
+        }
+        return table;
+    }
+}
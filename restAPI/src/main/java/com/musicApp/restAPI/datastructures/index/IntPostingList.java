@@ -0,0 +1,63 @@
+package com.musicApp.restAPI.datastructures.index;
+
+import java.util.Arrays;
+
+// Posting list of one term: document slots kept sorted in a primitive int array with the term
+// frequency of each slot in a parallel array, so lookups are a binary search and nothing is boxed.
+public class IntPostingList {
+
+    private int[] docs = new int[4];
+    private int[] freqs = new int[4];
+    private int size;
+
+    public void add(int doc, int freq) {
+        int i = Arrays.binarySearch(docs, 0, size, doc);
+        if (i >= 0) {
+            freqs[i] += freq;
+            return;
+        }
+        int insertAt = -i - 1;
+        if (size == docs.length) {
+            docs = Arrays.copyOf(docs, size * 2);
+            freqs = Arrays.copyOf(freqs, size * 2);
+        }
+        System.arraycopy(docs, insertAt, docs, insertAt + 1, size - insertAt);
+        System.arraycopy(freqs, insertAt, freqs, insertAt + 1, size - insertAt);
+        docs[insertAt] = doc;
+        freqs[insertAt] = freq;
+        size++;
+    }
+
+    public boolean remove(int doc) {
+        int i = Arrays.binarySearch(docs, 0, size, doc);
+        if (i < 0) {
+            return false;
+        }
+        System.arraycopy(docs, i + 1, docs, i, size - i - 1);
+        System.arraycopy(freqs, i + 1, freqs, i, size - i - 1);
+        size--;
+        return true;
+    }
+
+    // Term frequency in the given document, 0 if the term does not occur there
+    public int frequency(int doc) {
+        int i = Arrays.binarySearch(docs, 0, size, doc);
+        return i >= 0 ? freqs[i] : 0;
+    }
+
+    public int docAt(int index) {
+        return docs[index];
+    }
+
+    public int frequencyAt(int index) {
+        return freqs[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+}
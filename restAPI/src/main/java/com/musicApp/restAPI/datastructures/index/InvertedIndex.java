@@ -0,0 +1,250 @@
+package com.musicApp.restAPI.datastructures.index;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+// Inverted index with BM25 ranking. Documents are identified by a long id and stored in int slots;
+// each term maps to a posting list of slots. A query only touches the posting lists of its own
+// terms, so its cost depends on how common those terms are, not on the number of documents.
+// Not thread-safe; callers guard it with a read/write lock.
+public class InvertedIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    // Cap on how many dictionary terms a trailing prefix may expand to
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    private final TreeMap<String, IntPostingList> dictionary = new TreeMap<>();
+    private final Map<Long, Integer> slotsById = new HashMap<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private long[] ids = new long[16];
+    private int[] lengths = new int[16];
+    private String[][] terms = new String[16][];
+    private int slotCount;
+    private long totalLength;
+
+    // Index a document from its term frequencies, replacing any previous version with the same id
+    public void add(long id, Map<String, Integer> termFrequencies) {
+        remove(id);
+        int slot = allocateSlot();
+        int length = 0;
+        for (Map.Entry<String, Integer> entry : termFrequencies.entrySet()) {
+            dictionary.computeIfAbsent(entry.getKey(), t -> new IntPostingList()).add(slot, entry.getValue());
+            length += entry.getValue();
+        }
+        ids[slot] = id;
+        lengths[slot] = length;
+        terms[slot] = termFrequencies.keySet().toArray(new String[0]);
+        totalLength += length;
+        slotsById.put(id, slot);
+    }
+
+    public boolean remove(long id) {
+        Integer slot = slotsById.remove(id);
+        if (slot == null) {
+            return false;
+        }
+        for (String term : terms[slot]) {
+            IntPostingList postings = dictionary.get(term);
+            if (postings != null && postings.remove(slot) && postings.isEmpty()) {
+                dictionary.remove(term);
+            }
+        }
+        totalLength -= lengths[slot];
+        terms[slot] = null;
+        lengths[slot] = 0;
+        freeSlots.push(slot);
+        return true;
+    }
+
+    // Ids of the documents containing every query term, best BM25 score first. With prefixLast the
+    // final term also matches any indexed term that starts with it, for search-as-you-type.
+    public long[] search(List<String> queryTerms, boolean prefixLast, int limit) {
+        List<IntPostingList[]> groups = new ArrayList<>(queryTerms.size());
+        List<double[]> boosts = new ArrayList<>(queryTerms.size());
+        for (int i = 0; i < queryTerms.size(); i++) {
+            boolean prefix = prefixLast && i == queryTerms.size() - 1;
+            IntPostingList[] group = lookup(queryTerms.get(i), prefix);
+            double[] boost = new double[group.length];
+            Arrays.fill(boost, 1.0);
+            groups.add(group);
+            boosts.add(boost);
+        }
+        return rank(groups, boosts, limit);
+    }
+
+    // Like search, but each query term is given as a set of alternative index terms, each with a
+    // boost in (0, 1] that scales its contribution (used for typo-tolerant matching)
+    public long[] searchAlternatives(List<Map<String, Double>> alternatives, int limit) {
+        List<IntPostingList[]> groups = new ArrayList<>(alternatives.size());
+        List<double[]> boosts = new ArrayList<>(alternatives.size());
+        for (Map<String, Double> terms : alternatives) {
+            List<IntPostingList> group = new ArrayList<>(terms.size());
+            double[] boost = new double[terms.size()];
+            for (Map.Entry<String, Double> term : terms.entrySet()) {
+                IntPostingList postings = dictionary.get(term.getKey());
+                if (postings != null) {
+                    boost[group.size()] = term.getValue();
+                    group.add(postings);
+                }
+            }
+            groups.add(group.toArray(new IntPostingList[0]));
+            boosts.add(Arrays.copyOf(boost, group.size()));
+        }
+        return rank(groups, boosts, limit);
+    }
+
+    // Indexed terms starting with prefix, in dictionary order
+    public List<String> termsWithPrefix(String prefix) {
+        List<String> terms = new ArrayList<>();
+        for (String term : dictionary.subMap(prefix, prefix + Character.MAX_VALUE).keySet()) {
+            terms.add(term);
+            if (terms.size() == MAX_PREFIX_EXPANSIONS) {
+                break;
+            }
+        }
+        return terms;
+    }
+
+    // One group of posting lists per query term; a document must appear in every group
+    private long[] rank(List<IntPostingList[]> groups, List<double[]> boosts, int limit) {
+        if (groups.isEmpty() || slotsById.isEmpty() || limit <= 0) {
+            return new long[0];
+        }
+        int driver = -1;
+        int driverSize = Integer.MAX_VALUE;
+        for (int g = 0; g < groups.size(); g++) {
+            if (groups.get(g).length == 0) {
+                return new long[0];
+            }
+            int groupSize = 0;
+            for (IntPostingList postings : groups.get(g)) {
+                groupSize += postings.size();
+            }
+            if (groupSize < driverSize) {
+                driver = g;
+                driverSize = groupSize;
+            }
+        }
+
+        // Candidates come from the rarest term; the other terms are probed by binary search
+        int[] candidates = candidates(groups.get(driver), driverSize);
+        double avgLength = (double) totalLength / slotsById.size();
+
+        int[] matched = new int[candidates.length];
+        double[] scores = new double[candidates.length];
+        int matchCount = 0;
+        for (int doc : candidates) {
+            double score = 0;
+            boolean all = true;
+            for (int g = 0; g < groups.size() && all; g++) {
+                IntPostingList[] group = groups.get(g);
+                double[] boost = boosts.get(g);
+                double termScore = 0;
+                for (int t = 0; t < group.length; t++) {
+                    int tf = group[t].frequency(doc);
+                    if (tf > 0) {
+                        termScore += boost[t] * idf(group[t].size()) * tfNorm(tf, lengths[doc], avgLength);
+                    }
+                }
+                all = termScore > 0;
+                score += termScore;
+            }
+            if (all) {
+                matched[matchCount] = doc;
+                scores[matchCount] = score;
+                matchCount++;
+            }
+        }
+
+        Integer[] order = new Integer[matchCount];
+        for (int i = 0; i < matchCount; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(scores[b], scores[a]));
+        long[] result = new long[Math.min(limit, matchCount)];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = ids[matched[order[i]]];
+        }
+        return result;
+    }
+
+    public boolean contains(long id) {
+        return slotsById.containsKey(id);
+    }
+
+    public int size() {
+        return slotsById.size();
+    }
+
+    public int termCount() {
+        return dictionary.size();
+    }
+
+    private IntPostingList[] lookup(String term, boolean prefix) {
+        if (!prefix) {
+            IntPostingList postings = dictionary.get(term);
+            return postings == null ? new IntPostingList[0] : new IntPostingList[]{postings};
+        }
+        SortedMap<String, IntPostingList> range = dictionary.subMap(term, term + Character.MAX_VALUE);
+        List<IntPostingList> expansions = new ArrayList<>();
+        for (IntPostingList postings : range.values()) {
+            expansions.add(postings);
+            if (expansions.size() == MAX_PREFIX_EXPANSIONS) {
+                break;
+            }
+        }
+        return expansions.toArray(new IntPostingList[0]);
+    }
+
+    // Distinct slots across a group of posting lists
+    private int[] candidates(IntPostingList[] group, int total) {
+        int[] docs = new int[total];
+        int n = 0;
+        for (IntPostingList postings : group) {
+            for (int i = 0; i < postings.size(); i++) {
+                docs[n++] = postings.docAt(i);
+            }
+        }
+        if (group.length == 1) {
+            return docs;
+        }
+        Arrays.sort(docs);
+        int distinct = 0;
+        for (int i = 0; i < n; i++) {
+            if (i == 0 || docs[i] != docs[i - 1]) {
+                docs[distinct++] = docs[i];
+            }
+        }
+        return Arrays.copyOf(docs, distinct);
+    }
+
+    private double idf(int documentFrequency) {
+        int n = slotsById.size();
+        return Math.log(1 + (n - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    private static double tfNorm(int tf, int length, double avgLength) {
+        return tf * (K1 + 1) / (tf + K1 * (1 - B + B * length / avgLength));
+    }
+
+    private int allocateSlot() {
+        if (!freeSlots.isEmpty()) {
+            return freeSlots.pop();
+        }
+        if (slotCount == ids.length) {
+            int capacity = slotCount * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+            terms = Arrays.copyOf(terms, capacity);
+        }
+        return slotCount++;
+    }
+}
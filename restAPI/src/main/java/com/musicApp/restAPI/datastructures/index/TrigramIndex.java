@@ -0,0 +1,133 @@
+package com.musicApp.restAPI.datastructures.index;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Character-trigram index over a vocabulary of terms, for finding the terms within a small edit
+// distance of a misspelled word. Terms are padded ("$$abc$") so short words still have trigrams.
+// Candidates that share enough trigrams with the query are verified with a bounded
+// Damerau-Levenshtein check. Terms are reference counted so the index can follow a changing catalog.
+// Not thread-safe for writes; concurrent similar() calls are fine once writes are excluded.
+public class TrigramIndex {
+
+    private static final char PAD = '$';
+
+    private final Map<Long, IntPostingList> postings = new HashMap<>();
+    private final Map<String, Integer> idsByTerm = new HashMap<>();
+    private final Deque<Integer> freeIds = new ArrayDeque<>();
+    private String[] terms = new String[64];
+    private int[] refCounts = new int[64];
+    private int termCount;
+
+    // Per-thread scratch so queries allocate nothing proportional to the vocabulary
+    private final ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(Scratch::new);
+
+    public void addTerm(String term) {
+        Integer id = idsByTerm.get(term);
+        if (id != null) {
+            refCounts[id]++;
+            return;
+        }
+        id = allocateId();
+        terms[id] = term;
+        refCounts[id] = 1;
+        idsByTerm.put(term, id);
+        for (long trigram : trigrams(term)) {
+            postings.computeIfAbsent(trigram, t -> new IntPostingList()).add(id, 1);
+        }
+    }
+
+    public void removeTerm(String term) {
+        Integer id = idsByTerm.get(term);
+        if (id == null || --refCounts[id] > 0) {
+            return;
+        }
+        for (long trigram : trigrams(term)) {
+            IntPostingList list = postings.get(trigram);
+            if (list != null && list.remove(id) && list.isEmpty()) {
+                postings.remove(trigram);
+            }
+        }
+        idsByTerm.remove(term);
+        terms[id] = null;
+        freeIds.push(id);
+    }
+
+    // Vocabulary terms within maxDistance edits of term, mapped to their distance
+    public Map<String, Integer> similar(String term, int maxDistance) {
+        Map<String, Integer> matches = new LinkedHashMap<>();
+        long[] queryTrigrams = trigrams(term);
+        // Each edit changes at most three padded trigrams
+        int required = Math.max(1, queryTrigrams.length - 3 * maxDistance);
+
+        Scratch s = scratch.get();
+        s.ensureCapacity(terms.length);
+        int touchedCount = 0;
+        for (long trigram : queryTrigrams) {
+            IntPostingList list = postings.get(trigram);
+            if (list == null) {
+                continue;
+            }
+            for (int i = 0; i < list.size(); i++) {
+                int id = list.docAt(i);
+                if (s.counts[id]++ == 0) {
+                    s.touched[touchedCount++] = id;
+                }
+            }
+        }
+
+        for (int i = 0; i < touchedCount; i++) {
+            int id = s.touched[i];
+            if (s.counts[id] >= required) {
+                int distance = s.editDistance.distance(term, terms[id], maxDistance);
+                if (distance <= maxDistance) {
+                    matches.put(terms[id], distance);
+                }
+            }
+            s.counts[id] = 0;
+        }
+        return matches;
+    }
+
+    public int size() {
+        return idsByTerm.size();
+    }
+
+    // Trigrams of the padded term, three 16-bit chars packed into a long
+    private static long[] trigrams(String term) {
+        String padded = "" + PAD + PAD + term + PAD;
+        long[] result = new long[padded.length() - 2];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = ((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16) | padded.charAt(i + 2);
+        }
+        return result;
+    }
+
+    private int allocateId() {
+        if (!freeIds.isEmpty()) {
+            return freeIds.pop();
+        }
+        if (termCount == terms.length) {
+            terms = Arrays.copyOf(terms, termCount * 2);
+            refCounts = Arrays.copyOf(refCounts, termCount * 2);
+        }
+        return termCount++;
+    }
+
+    private static class Scratch {
+        private int[] counts = new int[0];
+        private int[] touched = new int[0];
+        private final BoundedEditDistance editDistance = new BoundedEditDistance();
+
+        void ensureCapacity(int size) {
+            if (counts.length < size) {
+                counts = new int[size];
+                touched = new int[size];
+            }
+        }
+    }
+}
@@ -1,21 +1,27 @@
 package com.musicApp.restAPI.datastructures.linkedlist;
 
+import com.musicApp.restAPI.event.PlaylistChangedEvent;
 import com.musicApp.restAPI.sql.persistance.Playlist.PlaylistEntity;
 import com.musicApp.restAPI.sql.persistance.Song.SongEntity;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Comparator;
 import java.util.List;
 
 @Service
 public class PlaylistLinkedListService {
 
     private final PlaylistNodeRepository playlistNodeRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public PlaylistLinkedListService(PlaylistNodeRepository playlistNodeRepository) {
+    public PlaylistLinkedListService(PlaylistNodeRepository playlistNodeRepository,
+                                     ApplicationEventPublisher eventPublisher) {
         this.playlistNodeRepository = playlistNodeRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -34,6 +40,7 @@ public class PlaylistLinkedListService {
         }
         
         playlistNodeRepository.save(newNode);
+        publish(playlist, PlaylistChangedEvent.Type.SONG_ADDED, newPosition < PlaylistChangedEvent.HEAD_SIZE, song);
     }
 
     @Transactional
@@ -70,6 +77,7 @@ public class PlaylistLinkedListService {
                     remainingNode.setPosition(remainingNode.getPosition() - 1);
                     playlistNodeRepository.save(remainingNode);
                 }
+                publish(playlist, PlaylistChangedEvent.Type.SONG_REMOVED, i < PlaylistChangedEvent.HEAD_SIZE, song);
                 break;
             }
         }
@@ -78,6 +86,7 @@ public class PlaylistLinkedListService {
     @Transactional
     public void reorderSongs(PlaylistEntity playlist, List<Long> songIds) {
         List<PlaylistNode> nodes = playlistNodeRepository.findByPlaylistIdOrderByPositionAsc(playlist.getId());
+        List<Long> headBefore = headSongIds(nodes);
         
         // Clear existing links
         for (PlaylistNode node : nodes) {
@@ -107,6 +116,11 @@ public class PlaylistLinkedListService {
                 playlistNodeRepository.save(node);
             }
         }
+        
+        List<PlaylistNode> reordered = nodes.stream()
+            .sorted(Comparator.comparingInt(PlaylistNode::getPosition))
+            .toList();
+        publish(playlist, PlaylistChangedEvent.Type.REORDERED, !headBefore.equals(headSongIds(reordered)), null);
     }
 
     public List<SongEntity> getPlaylistSongs(PlaylistEntity playlist) {
@@ -115,4 +129,16 @@ public class PlaylistLinkedListService {
             .map(PlaylistNode::getSong)
             .toList();
     }
+
+    private List<Long> headSongIds(List<PlaylistNode> nodes) {
+        return nodes.stream()
+            .limit(PlaylistChangedEvent.HEAD_SIZE)
+            .map(node -> node.getSong().getId())
+            .toList();
+    }
+
+    private void publish(PlaylistEntity playlist, PlaylistChangedEvent.Type type, boolean headChanged, SongEntity song) {
+        eventPublisher.publishEvent(new PlaylistChangedEvent(playlist.getId(), type, headChanged,
+                playlist.getUserId(), song != null ? song.getId() : null));
+    }
 } 
\ No newline at end of file
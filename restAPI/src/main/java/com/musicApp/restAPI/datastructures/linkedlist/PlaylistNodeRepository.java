@@ -1,6 +1,7 @@
 package com.musicApp.restAPI.datastructures.linkedlist;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 
@@ -9,4 +10,12 @@ public interface PlaylistNodeRepository extends JpaRepository<PlaylistNode, Long
     List<PlaylistNode> findByPlaylistIdOrderByPositionAsc(Long playlistId);
     PlaylistNode findByPlaylistIdAndPosition(Long playlistId, Integer position);
     void deleteByPlaylistId(Long playlistId);
+
+    // [owner user id, song id] for every song in every playlist
+    @Query("SELECT n.playlist.user.id, n.song.id FROM PlaylistNode n")
+    List<Object[]> findUserSongPairs();
+
+    // [playlist id, song id] for every node, grouped by playlist in playlist order
+    @Query("SELECT n.playlist.id, n.song.id FROM PlaylistNode n ORDER BY n.playlist.id, n.position")
+    List<Object[]> findPlaylistSongSequences();
 } 
\ No newline at end of file
@@ -0,0 +1,200 @@
+package com.musicApp.restAPI.datastructures.matrix;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+// Immutable, versioned matrix factorization model: user and song latent factors as flat row-major
+// arrays plus bias terms, together with the rating matrix it was trained on (used to leave out songs
+// a user already knows). Readers share one instance across threads, so nothing in it is ever mutated
+// after construction; the arrays handed out by the accessors must be treated as read-only.
+public class FactorModel {
+
+    // "MFM1"
+    private static final int MAGIC = 0x4D464D31;
+
+    private final long version;
+    private final long trainedAt;
+    private final RatingMatrix ratings;
+    private final int factors;
+    private final float[] userFactors;
+    private final float[] songFactors;
+    private final float[] userBias;
+    private final float[] songBias;
+    private final float globalBias;
+
+    public FactorModel(long version, long trainedAt, RatingMatrix ratings, int factors,
+                       float[] userFactors, float[] songFactors,
+                       float[] userBias, float[] songBias, float globalBias) {
+        this.version = version;
+        this.trainedAt = trainedAt;
+        this.ratings = ratings;
+        this.factors = factors;
+        this.userFactors = userFactors;
+        this.songFactors = songFactors;
+        this.userBias = userBias;
+        this.songBias = songBias;
+        this.globalBias = globalBias;
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public long trainedAt() {
+        return trainedAt;
+    }
+
+    public RatingMatrix ratings() {
+        return ratings;
+    }
+
+    public IdIndex users() {
+        return ratings.users();
+    }
+
+    public IdIndex songs() {
+        return ratings.songs();
+    }
+
+    public int factors() {
+        return factors;
+    }
+
+    public float[] userFactors() {
+        return userFactors;
+    }
+
+    public float[] songFactors() {
+        return songFactors;
+    }
+
+    public float[] songBias() {
+        return songBias;
+    }
+
+    // Predicted rating = global bias + user bias + song bias + user factors . song factors
+    public float predict(int user, int song) {
+        float prediction = globalBias + userBias[user] + songBias[song];
+        int userOffset = user * factors;
+        int songOffset = song * factors;
+        for (int f = 0; f < factors; f++) {
+            prediction += userFactors[userOffset + f] * songFactors[songOffset + f];
+        }
+        return prediction;
+    }
+
+    // Predicted rating of every song for one user, in a single sweep over the song factors
+    public void predictAll(int user, float[] out) {
+        int userOffset = user * factors;
+        float base = globalBias + userBias[user];
+        for (int song = 0, songOffset = 0; song < out.length; song++, songOffset += factors) {
+            float dot = 0;
+            for (int f = 0; f < factors; f++) {
+                dot += userFactors[userOffset + f] * songFactors[songOffset + f];
+            }
+            out[song] = base + songBias[song] + dot;
+        }
+    }
+
+    // Written to a temporary file first and moved into place, so readers never see a partial model
+    public void writeTo(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeLong(version);
+            out.writeLong(trainedAt);
+            out.writeInt(factors);
+            out.writeFloat(globalBias);
+            writeLongs(out, ratings.users().ids());
+            writeLongs(out, ratings.songs().ids());
+            writeInts(out, ratings.rowPtr());
+            writeInts(out, ratings.colIdx());
+            writeFloats(out, ratings.vals());
+            writeFloats(out, userFactors);
+            writeFloats(out, songFactors);
+            writeFloats(out, userBias);
+            writeFloats(out, songBias);
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public static FactorModel readFrom(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a factor model file: " + file);
+            }
+            long version = in.readLong();
+            long trainedAt = in.readLong();
+            int factors = in.readInt();
+            float globalBias = in.readFloat();
+            IdIndex users = new IdIndex(readLongs(in));
+            IdIndex songs = new IdIndex(readLongs(in));
+            RatingMatrix ratings = new RatingMatrix(users, songs, readInts(in), readInts(in), readFloats(in));
+            float[] userFactors = readFloats(in);
+            float[] songFactors = readFloats(in);
+            float[] userBias = readFloats(in);
+            float[] songBias = readFloats(in);
+            if (userFactors.length != users.size() * factors || songFactors.length != songs.size() * factors) {
+                throw new IOException("Corrupt factor model file: " + file);
+            }
+            return new FactorModel(version, trainedAt, ratings, factors,
+                    userFactors, songFactors, userBias, songBias, globalBias);
+        }
+    }
+
+    private static void writeLongs(DataOutputStream out, long[] values) throws IOException {
+        out.writeInt(values.length);
+        for (long v : values) {
+            out.writeLong(v);
+        }
+    }
+
+    private static void writeInts(DataOutputStream out, int[] values) throws IOException {
+        out.writeInt(values.length);
+        for (int v : values) {
+            out.writeInt(v);
+        }
+    }
+
+    private static void writeFloats(DataOutputStream out, float[] values) throws IOException {
+        out.writeInt(values.length);
+        for (float v : values) {
+            out.writeFloat(v);
+        }
+    }
+
+    private static long[] readLongs(DataInputStream in) throws IOException {
+        long[] values = new long[in.readInt()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = in.readLong();
+        }
+        return values;
+    }
+
+    private static int[] readInts(DataInputStream in) throws IOException {
+        int[] values = new int[in.readInt()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = in.readInt();
+        }
+        return values;
+    }
+
+    private static float[] readFloats(DataInputStream in) throws IOException {
+        float[] values = new float[in.readInt()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = in.readFloat();
+        }
+        return values;
+    }
+}
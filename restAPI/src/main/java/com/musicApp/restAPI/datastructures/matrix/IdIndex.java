@@ -0,0 +1,45 @@
+package com.musicApp.restAPI.datastructures.matrix;
+
+import java.util.Arrays;
+
+// Immutable mapping between sparse database ids and dense array positions 0..size-1.
+// Ids are kept sorted in a primitive array, so a lookup is a binary search with no boxing.
+public class IdIndex {
+
+    private final long[] ids;
+
+    IdIndex(long[] sortedDistinctIds) {
+        this.ids = sortedDistinctIds;
+    }
+
+    // Any order, duplicates allowed
+    public static IdIndex of(long[] ids, int count) {
+        long[] sorted = Arrays.copyOf(ids, count);
+        Arrays.sort(sorted);
+        int distinct = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                sorted[distinct++] = sorted[i];
+            }
+        }
+        return new IdIndex(Arrays.copyOf(sorted, distinct));
+    }
+
+    // Position of id, or -1 if it is not in the index
+    public int indexOf(long id) {
+        int i = Arrays.binarySearch(ids, id);
+        return i >= 0 ? i : -1;
+    }
+
+    public long idAt(int index) {
+        return ids[index];
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    long[] ids() {
+        return ids;
+    }
+}
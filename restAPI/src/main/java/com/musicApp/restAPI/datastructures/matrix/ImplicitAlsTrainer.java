@@ -0,0 +1,216 @@
+package com.musicApp.restAPI.datastructures.matrix;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Alternating least squares for implicit feedback (Hu, Koren and Volinsky). A rating r > 0 is read
+// as a preference of 1 with confidence 1 + alpha * r; every other cell is a preference of 0 with
+// confidence 1. Each half-iteration fixes one side and solves an independent k x k least-squares
+// system per row of the other, so rows are split into blocks and solved in parallel on a ForkJoinPool.
+// The shared Gram matrix Y^T Y is computed once per half-iteration, leaving per-row work
+// proportional to that row's ratings; the systems are solved by Cholesky decomposition.
+public class ImplicitAlsTrainer {
+
+    // Rows per leaf task; small enough to balance skewed rows, large enough to amortize the scratch
+    private static final int BLOCK_SIZE = 64;
+
+    private final int factors;
+    private final double regularization;
+    private final double alpha;
+    private final int iterations;
+    private final ForkJoinPool pool;
+
+    public ImplicitAlsTrainer(int factors, double regularization, double alpha, int iterations, ForkJoinPool pool) {
+        this.factors = factors;
+        this.regularization = regularization;
+        this.alpha = alpha;
+        this.iterations = iterations;
+        this.pool = pool;
+    }
+
+    public Result train(RatingMatrix ratings, Random random) {
+        RatingMatrix bySong = ratings.transpose();
+        float[] userFactors = new float[ratings.users().size() * factors];
+        float[] songFactors = new float[ratings.songs().size() * factors];
+        for (int i = 0; i < songFactors.length; i++) {
+            songFactors[i] = 0.1f * random.nextFloat();
+        }
+
+        double[] rmse = new double[iterations];
+        for (int iter = 0; iter < iterations; iter++) {
+            solveSide(ratings, songFactors, userFactors);
+            solveSide(bySong, userFactors, songFactors);
+            rmse[iter] = preferenceRmse(ratings, userFactors, songFactors);
+        }
+        return new Result(userFactors, songFactors, rmse);
+    }
+
+    // Recomputes every row of target from the fixed factors, given the ratings of target's rows
+    private void solveSide(RatingMatrix rows, float[] fixed, float[] target) {
+        double[] gram = gram(fixed, fixed.length / factors);
+        pool.invoke(new SolveBlock(rows, fixed, target, gram, 0, rows.users().size()));
+    }
+
+    private double[] gram(float[] m, int count) {
+        double[] gram = new double[factors * factors];
+        for (int r = 0; r < count; r++) {
+            int offset = r * factors;
+            for (int i = 0; i < factors; i++) {
+                double mi = m[offset + i];
+                for (int j = i; j < factors; j++) {
+                    gram[i * factors + j] += mi * m[offset + j];
+                }
+            }
+        }
+        for (int i = 0; i < factors; i++) {
+            for (int j = 0; j < i; j++) {
+                gram[i * factors + j] = gram[j * factors + i];
+            }
+        }
+        return gram;
+    }
+
+    private class SolveBlock extends RecursiveAction {
+        private final RatingMatrix rows;
+        private final float[] fixed;
+        private final float[] target;
+        private final double[] gram;
+        private final int from;
+        private final int to;
+
+        SolveBlock(RatingMatrix rows, float[] fixed, float[] target, double[] gram, int from, int to) {
+            this.rows = rows;
+            this.fixed = fixed;
+            this.target = target;
+            this.gram = gram;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > BLOCK_SIZE) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new SolveBlock(rows, fixed, target, gram, from, mid),
+                          new SolveBlock(rows, fixed, target, gram, mid, to));
+                return;
+            }
+            double[] a = new double[factors * factors];
+            double[] b = new double[factors];
+            for (int row = from; row < to; row++) {
+                solveRow(row, a, b);
+            }
+        }
+
+        // A = Y^T Y + Y^T (C - I) Y + lambda I,  b = Y^T C p
+        private void solveRow(int row, double[] a, double[] b) {
+            System.arraycopy(gram, 0, a, 0, a.length);
+            Arrays.fill(b, 0);
+            for (int i = 0; i < factors; i++) {
+                a[i * factors + i] += regularization;
+            }
+            for (int e = rows.rowStart(row); e < rows.rowEnd(row); e++) {
+                float r = rows.value(e);
+                if (r <= 0) {
+                    continue;
+                }
+                double confidence = 1 + alpha * r;
+                int offset = rows.col(e) * factors;
+                for (int i = 0; i < factors; i++) {
+                    double yi = fixed[offset + i];
+                    b[i] += confidence * yi;
+                    double scaled = (confidence - 1) * yi;
+                    // Cholesky only reads the lower triangle
+                    for (int j = 0; j <= i; j++) {
+                        a[i * factors + j] += scaled * fixed[offset + j];
+                    }
+                }
+            }
+            choleskySolve(a, b, factors);
+            int offset = row * factors;
+            for (int i = 0; i < factors; i++) {
+                target[offset + i] = (float) b[i];
+            }
+        }
+    }
+
+    // Solves a x = b in place (x ends up in b) for a symmetric positive definite n x n matrix;
+    // the lower triangle of a is overwritten with its Cholesky factor
+    static void choleskySolve(double[] a, double[] b, int n) {
+        for (int j = 0; j < n; j++) {
+            double sum = a[j * n + j];
+            for (int k = 0; k < j; k++) {
+                sum -= a[j * n + k] * a[j * n + k];
+            }
+            double diagonal = Math.sqrt(Math.max(sum, 1e-12));
+            a[j * n + j] = diagonal;
+            for (int i = j + 1; i < n; i++) {
+                double s = a[i * n + j];
+                for (int k = 0; k < j; k++) {
+                    s -= a[i * n + k] * a[j * n + k];
+                }
+                a[i * n + j] = s / diagonal;
+            }
+        }
+        // Forward substitution: L z = b
+        for (int i = 0; i < n; i++) {
+            double s = b[i];
+            for (int k = 0; k < i; k++) {
+                s -= a[i * n + k] * b[k];
+            }
+            b[i] = s / a[i * n + i];
+        }
+        // Back substitution: L^T x = z
+        for (int i = n - 1; i >= 0; i--) {
+            double s = b[i];
+            for (int k = i + 1; k < n; k++) {
+                s -= a[k * n + i] * b[k];
+            }
+            b[i] = s / a[i * n + i];
+        }
+    }
+
+    // Error of predicted preferences on the observed cells
+    private double preferenceRmse(RatingMatrix ratings, float[] userFactors, float[] songFactors) {
+        double sum = 0;
+        for (int u = 0; u < ratings.users().size(); u++) {
+            for (int e = ratings.rowStart(u); e < ratings.rowEnd(u); e++) {
+                double prediction = 0;
+                int userOffset = u * factors;
+                int songOffset = ratings.col(e) * factors;
+                for (int f = 0; f < factors; f++) {
+                    prediction += userFactors[userOffset + f] * songFactors[songOffset + f];
+                }
+                double error = (ratings.value(e) > 0 ? 1 : 0) - prediction;
+                sum += error * error;
+            }
+        }
+        return ratings.nonZeros() > 0 ? Math.sqrt(sum / ratings.nonZeros()) : 0;
+    }
+
+    public static class Result {
+        private final float[] userFactors;
+        private final float[] songFactors;
+        private final double[] rmsePerIteration;
+
+        Result(float[] userFactors, float[] songFactors, double[] rmsePerIteration) {
+            this.userFactors = userFactors;
+            this.songFactors = songFactors;
+            this.rmsePerIteration = rmsePerIteration;
+        }
+
+        public float[] userFactors() {
+            return userFactors;
+        }
+
+        public float[] songFactors() {
+            return songFactors;
+        }
+
+        public double[] rmsePerIteration() {
+            return rmsePerIteration;
+        }
+    }
+}
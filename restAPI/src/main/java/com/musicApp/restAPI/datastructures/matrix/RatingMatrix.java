@@ -0,0 +1,214 @@
+package com.musicApp.restAPI.datastructures.matrix;
+
+import java.util.Arrays;
+
+// Immutable user x song rating matrix in compressed sparse row form. The ratings of user u are
+// vals[rowPtr[u] .. rowPtr[u + 1]) at song columns colIdx[...] in ascending order. Rows and columns
+// are dense positions of an IdIndex, so training loops run over three primitive arrays.
+public class RatingMatrix {
+
+    private final IdIndex users;
+    private final IdIndex songs;
+    private final int[] rowPtr;
+    private final int[] colIdx;
+    private final float[] vals;
+    private final float mean;
+
+    RatingMatrix(IdIndex users, IdIndex songs, int[] rowPtr, int[] colIdx, float[] vals) {
+        this.users = users;
+        this.songs = songs;
+        this.rowPtr = rowPtr;
+        this.colIdx = colIdx;
+        this.vals = vals;
+        double sum = 0;
+        for (float v : vals) {
+            sum += v;
+        }
+        this.mean = vals.length > 0 ? (float) (sum / vals.length) : 0f;
+    }
+
+    public IdIndex users() {
+        return users;
+    }
+
+    public IdIndex songs() {
+        return songs;
+    }
+
+    public int rowStart(int user) {
+        return rowPtr[user];
+    }
+
+    public int rowEnd(int user) {
+        return rowPtr[user + 1];
+    }
+
+    public int col(int entry) {
+        return colIdx[entry];
+    }
+
+    public float value(int entry) {
+        return vals[entry];
+    }
+
+    public int nonZeros() {
+        return vals.length;
+    }
+
+    // Average of all stored ratings
+    public float mean() {
+        return mean;
+    }
+
+    // The same ratings indexed by song: rows are songs, columns are users
+    public RatingMatrix transpose() {
+        int[] colPtr = new int[songs.size() + 1];
+        for (int c : colIdx) {
+            colPtr[c + 1]++;
+        }
+        for (int c = 0; c < songs.size(); c++) {
+            colPtr[c + 1] += colPtr[c];
+        }
+        int[] next = Arrays.copyOf(colPtr, songs.size());
+        int[] rowIdx = new int[colIdx.length];
+        float[] transposedVals = new float[vals.length];
+        // Rows are visited in order, so users come out ascending within each song
+        for (int u = 0; u < users.size(); u++) {
+            for (int e = rowPtr[u]; e < rowPtr[u + 1]; e++) {
+                int slot = next[colIdx[e]]++;
+                rowIdx[slot] = u;
+                transposedVals[slot] = vals[e];
+            }
+        }
+        return new RatingMatrix(songs, users, colPtr, rowIdx, transposedVals);
+    }
+
+    int[] rowPtr() {
+        return rowPtr;
+    }
+
+    int[] colIdx() {
+        return colIdx;
+    }
+
+    float[] vals() {
+        return vals;
+    }
+
+    // Collects rating updates in arrival order and folds them per (user, song) cell on build().
+    // set() overwrites a cell; adjust() adds to it, starting from the default value if the cell is
+    // still empty, and clamps the result. Updates for songs outside the column index are dropped,
+    // but their users still get a (possibly empty) row.
+    public static class Builder {
+        private final IdIndex songs;
+        private final float defaultValue;
+        private final float min;
+        private final float max;
+
+        private long[] userIds = new long[1024];
+        private int[] songCols = new int[1024];
+        private float[] amounts = new float[1024];
+        private boolean[] overwrite = new boolean[1024];
+        private int size;
+
+        public Builder(IdIndex songs, float defaultValue, float min, float max) {
+            this.songs = songs;
+            this.defaultValue = defaultValue;
+            this.min = min;
+            this.max = max;
+        }
+
+        public Builder set(long userId, long songId, float value) {
+            append(userId, songs.indexOf(songId), value, true);
+            return this;
+        }
+
+        public Builder adjust(long userId, long songId, float delta) {
+            append(userId, songs.indexOf(songId), delta, false);
+            return this;
+        }
+
+        public RatingMatrix build() {
+            IdIndex users = IdIndex.of(userIds, size);
+            int[] rows = new int[size];
+            for (int i = 0; i < size; i++) {
+                rows[i] = users.indexOf(userIds[i]);
+            }
+
+            // Two stable counting sorts, by song then by user, give (user, song, arrival) order
+            int[] bySong = countingSort(identity(size), songCols, songs.size() + 1, 1);
+            int[] rowCounts = new int[users.size() + 1];
+            int[] order = countingSort(bySong, rows, users.size(), 0, rowCounts);
+
+            int[] rowPtr = new int[users.size() + 1];
+            int[] colIdx = new int[size];
+            float[] vals = new float[size];
+            int nnz = 0;
+            int i = 0;
+            for (int u = 0; u < users.size(); u++) {
+                rowPtr[u] = nnz;
+                int end = i + rowCounts[u];
+                while (i < end) {
+                    int col = songCols[order[i]];
+                    float value = Float.NaN;
+                    // Fold every update of this cell in arrival order
+                    for (; i < end && songCols[order[i]] == col; i++) {
+                        int e = order[i];
+                        value = overwrite[e] ? amounts[e]
+                                : Math.max(min, Math.min(max, (Float.isNaN(value) ? defaultValue : value) + amounts[e]));
+                    }
+                    if (col >= 0) {
+                        colIdx[nnz] = col;
+                        vals[nnz] = value;
+                        nnz++;
+                    }
+                }
+            }
+            rowPtr[users.size()] = nnz;
+            return new RatingMatrix(users, songs, rowPtr, Arrays.copyOf(colIdx, nnz), Arrays.copyOf(vals, nnz));
+        }
+
+        private void append(long userId, int col, float amount, boolean set) {
+            if (size == userIds.length) {
+                int capacity = size * 2;
+                userIds = Arrays.copyOf(userIds, capacity);
+                songCols = Arrays.copyOf(songCols, capacity);
+                amounts = Arrays.copyOf(amounts, capacity);
+                overwrite = Arrays.copyOf(overwrite, capacity);
+            }
+            userIds[size] = userId;
+            songCols[size] = col;
+            amounts[size] = amount;
+            overwrite[size] = set;
+            size++;
+        }
+
+        private static int[] identity(int n) {
+            int[] result = new int[n];
+            for (int i = 0; i < n; i++) {
+                result[i] = i;
+            }
+            return result;
+        }
+
+        private static int[] countingSort(int[] input, int[] keys, int buckets, int offset) {
+            return countingSort(input, keys, buckets, offset, new int[buckets + 1]);
+        }
+
+        // Stable sort of entry numbers by keys[entry] + offset; counts receives the bucket sizes
+        private static int[] countingSort(int[] input, int[] keys, int buckets, int offset, int[] counts) {
+            for (int e : input) {
+                counts[keys[e] + offset]++;
+            }
+            int[] starts = new int[buckets];
+            for (int b = 1; b < buckets; b++) {
+                starts[b] = starts[b - 1] + counts[b - 1];
+            }
+            int[] output = new int[input.length];
+            for (int e : input) {
+                output[starts[keys[e] + offset]++] = e;
+            }
+            return output;
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.musicApp.restAPI.datastructures.matrix;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+// Biased matrix factorization trained by stochastic gradient descent on the observed ratings.
+// Sequentially it walks the ratings row by row. Given a pool it runs Hogwild-style: every epoch
+// the ratings are shuffled and cut into shards that update the shared factor arrays concurrently
+// without locks. Ratings are sparse, so two shards rarely touch the same row at the same time,
+// and the occasional lost update does not hurt convergence. Learning rates decay by 10% per epoch
+// and training stops early once an epoch improves the RMSE by less than minImprovement.
+public class SgdTrainer {
+
+    // Shards per worker thread, so faster workers pick up the slack
+    private static final int SHARDS_PER_THREAD = 4;
+
+    private final int factors;
+    private final float learningRate;
+    private final float biasLearningRate;
+    private final float regularization;
+    private final int maxIterations;
+    private final double minImprovement;
+    private final ForkJoinPool pool;
+
+    // pool may be null for the sequential, deterministic mode
+    public SgdTrainer(int factors, float learningRate, float biasLearningRate, float regularization,
+                      int maxIterations, double minImprovement, ForkJoinPool pool) {
+        this.factors = factors;
+        this.learningRate = learningRate;
+        this.biasLearningRate = biasLearningRate;
+        this.regularization = regularization;
+        this.maxIterations = maxIterations;
+        this.minImprovement = minImprovement;
+        this.pool = pool;
+    }
+
+    // Trains the given arrays in place; returns the RMSE of every epoch that ran
+    public double[] train(RatingMatrix ratings, float[] userFactors, float[] songFactors,
+                          float[] userBias, float[] songBias, float globalBias, Random random) {
+        Model m = new Model(ratings, userFactors, songFactors, userBias, songBias, globalBias);
+        int[] order = pool != null ? identity(ratings.nonZeros()) : null;
+        int shardCount = pool != null ? pool.getParallelism() * SHARDS_PER_THREAD : 1;
+        double[] shardErrors = new double[shardCount];
+
+        double[] rmse = new double[maxIterations];
+        float rate = learningRate;
+        float biasRate = biasLearningRate;
+        int epochs = 0;
+        while (epochs < maxIterations) {
+            double squaredError;
+            if (pool == null) {
+                squaredError = 0;
+                for (int u = 0; u < m.rowCount; u++) {
+                    for (int e = m.rowPtr[u]; e < m.rowPtr[u + 1]; e++) {
+                        squaredError += m.step(u, e, rate, biasRate);
+                    }
+                }
+            } else {
+                shuffle(order, random);
+                Arrays.fill(shardErrors, 0);
+                ForkJoinTask<?>[] shards = new ForkJoinTask<?>[shardCount];
+                for (int s = 0; s < shardCount; s++) {
+                    int from = (int) ((long) order.length * s / shardCount);
+                    int to = (int) ((long) order.length * (s + 1) / shardCount);
+                    shards[s] = new Shard(m, order, from, to, rate, biasRate, shardErrors, s);
+                }
+                pool.invoke(new RecursiveAction() {
+                    @Override
+                    protected void compute() {
+                        invokeAll(shards);
+                    }
+                });
+                squaredError = 0;
+                for (double error : shardErrors) {
+                    squaredError += error;
+                }
+            }
+            rmse[epochs] = ratings.nonZeros() > 0 ? Math.sqrt(squaredError / ratings.nonZeros()) : 0;
+            epochs++;
+
+            // Decay learning rate over time for better convergence
+            rate *= 0.9f;
+            biasRate *= 0.9f;
+
+            if (epochs > 1 && rmse[epochs - 2] - rmse[epochs - 1] < minImprovement) {
+                break;
+            }
+        }
+        return Arrays.copyOf(rmse, epochs);
+    }
+
+    private static int[] identity(int n) {
+        int[] result = new int[n];
+        for (int i = 0; i < n; i++) {
+            result[i] = i;
+        }
+        return result;
+    }
+
+    private static void shuffle(int[] order, Random random) {
+        for (int i = order.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = order[i];
+            order[i] = order[j];
+            order[j] = swap;
+        }
+    }
+
+    private static class Shard extends RecursiveAction {
+        private final Model m;
+        private final int[] order;
+        private final int from;
+        private final int to;
+        private final float rate;
+        private final float biasRate;
+        private final double[] errors;
+        private final int slot;
+
+        Shard(Model m, int[] order, int from, int to, float rate, float biasRate, double[] errors, int slot) {
+            this.m = m;
+            this.order = order;
+            this.from = from;
+            this.to = to;
+            this.rate = rate;
+            this.biasRate = biasRate;
+            this.errors = errors;
+            this.slot = slot;
+        }
+
+        @Override
+        protected void compute() {
+            double squaredError = 0;
+            for (int i = from; i < to; i++) {
+                int e = order[i];
+                squaredError += m.step(m.owners[e], e, rate, biasRate);
+            }
+            errors[slot] = squaredError;
+        }
+    }
+
+    // The arrays one epoch works on, flattened for the inner loop
+    private class Model {
+        // rowPtr for sequential walks; owners maps each rating to its row for shuffled ones
+        private final int rowCount;
+        private final int[] rowPtr;
+        private final int[] owners;
+        private final int[] cols;
+        private final float[] vals;
+        private final float[] userFactors;
+        private final float[] songFactors;
+        private final float[] userBias;
+        private final float[] songBias;
+        private final float globalBias;
+
+        Model(RatingMatrix ratings, float[] userFactors, float[] songFactors,
+              float[] userBias, float[] songBias, float globalBias) {
+            this.rowCount = ratings.users().size();
+            this.rowPtr = ratings.rowPtr();
+            this.cols = ratings.colIdx();
+            this.vals = ratings.vals();
+            this.owners = pool != null ? new int[ratings.nonZeros()] : null;
+            if (owners != null) {
+                for (int u = 0; u < rowCount; u++) {
+                    Arrays.fill(owners, rowPtr[u], rowPtr[u + 1], u);
+                }
+            }
+            this.userFactors = userFactors;
+            this.songFactors = songFactors;
+            this.userBias = userBias;
+            this.songBias = songBias;
+            this.globalBias = globalBias;
+        }
+
+        // One SGD update for rating e of user u; returns its squared error before the update
+        float step(int u, int e, float rate, float biasRate) {
+            int s = cols[e];
+            int userOffset = u * factors;
+            int songOffset = s * factors;
+
+            float predicted = globalBias + userBias[u] + songBias[s];
+            for (int f = 0; f < factors; f++) {
+                predicted += userFactors[userOffset + f] * songFactors[songOffset + f];
+            }
+            float error = vals[e] - predicted;
+
+            // Update biases
+            userBias[u] += biasRate * (error - regularization * userBias[u]);
+            songBias[s] += biasRate * (error - regularization * songBias[s]);
+
+            // Update latent factors
+            for (int f = 0; f < factors; f++) {
+                float userFactorValue = userFactors[userOffset + f];
+                float songFactorValue = songFactors[songOffset + f];
+                userFactors[userOffset + f] += rate * (error * songFactorValue - regularization * userFactorValue);
+                songFactors[songOffset + f] += rate * (error * userFactorValue - regularization * songFactorValue);
+            }
+            return error * error;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.musicApp.restAPI.datastructures.sketch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.musicApp.restAPI.datastructures.matrix.TopK;
+
+// MinHash signatures of growing sets with a banded LSH index over them, for finding the sets most
+// likely to have a high Jaccard similarity with a given one without comparing against all of them.
+// Each set keeps bands * rows minimum hash values; two sets collide in a band when all of that
+// band's rows agree, which happens with probability J^rows per band, so sets above roughly
+// (1 / bands)^(1 / rows) similarity almost always share a band while sets well below it rarely do.
+// A candidate query reads at most max keys from each matching bucket and ranks them with a bounded
+// heap, so its cost depends on bands and max, not on how many sets are indexed. Adding an element
+// only lowers minima, so signatures and buckets are maintained incrementally; removing elements is
+// not supported (rebuild instead). Not thread-safe.
+public class MinHashLsh {
+
+    private final int bands;
+    private final int rows;
+    private final long[] seeds;
+    private final Map<Long, int[]> signatures = new HashMap<>();
+    // One map per band from band hash to the keys whose signature has it
+    private final List<Map<Long, Set<Long>>> buckets;
+
+    public MinHashLsh(int bands, int rows, long seed) {
+        this.bands = bands;
+        this.rows = rows;
+        this.seeds = new long[bands * rows];
+        long state = seed;
+        for (int i = 0; i < seeds.length; i++) {
+            state += 0x9E3779B97F4A7C15L;
+            seeds[i] = mix(state);
+        }
+        this.buckets = new ArrayList<>(bands);
+        for (int b = 0; b < bands; b++) {
+            buckets.add(new HashMap<>());
+        }
+    }
+
+    // Adds element to the set identified by key
+    public void add(long key, long element) {
+        int[] signature = signatures.get(key);
+        boolean isNew = signature == null;
+        if (isNew) {
+            signature = new int[seeds.length];
+            Arrays.fill(signature, Integer.MAX_VALUE);
+            signatures.put(key, signature);
+        }
+        for (int b = 0; b < bands; b++) {
+            long before = isNew ? 0 : bandHash(signature, b);
+            boolean changed = false;
+            for (int r = b * rows; r < (b + 1) * rows; r++) {
+                int h = hash(element, r);
+                if (h < signature[r]) {
+                    signature[r] = h;
+                    changed = true;
+                }
+            }
+            if (changed || isNew) {
+                Map<Long, Set<Long>> band = buckets.get(b);
+                if (!isNew) {
+                    Set<Long> old = band.get(before);
+                    if (old != null && old.remove(key) && old.isEmpty()) {
+                        band.remove(before);
+                    }
+                }
+                band.computeIfAbsent(bandHash(signature, b), h -> new HashSet<>()).add(key);
+            }
+        }
+    }
+
+    // Up to max other keys sharing at least one band with key, those sharing the most bands first.
+    // Only the first max keys of each bucket are read, so at most bands * max keys are looked at.
+    public long[] candidates(long key, int max) {
+        int[] signature = signatures.get(key);
+        if (signature == null || max <= 0) {
+            return new long[0];
+        }
+        Map<Long, Integer> collisions = new HashMap<>();
+        for (int b = 0; b < bands; b++) {
+            Set<Long> bucket = buckets.get(b).get(bandHash(signature, b));
+            if (bucket == null) {
+                continue;
+            }
+            int scanned = 0;
+            for (Long other : bucket) {
+                if (other == key) {
+                    continue;
+                }
+                if (scanned++ == max) {
+                    break;
+                }
+                collisions.merge(other, 1, Integer::sum);
+            }
+        }
+        long[] keys = new long[collisions.size()];
+        TopK best = new TopK(max);
+        int i = 0;
+        for (Map.Entry<Long, Integer> entry : collisions.entrySet()) {
+            keys[i] = entry.getKey();
+            best.offer(i++, entry.getValue());
+        }
+        int[] ranked = best.drainDescending();
+        long[] result = new long[ranked.length];
+        for (int r = 0; r < ranked.length; r++) {
+            result[r] = keys[ranked[r]];
+        }
+        return result;
+    }
+
+    // Fraction of agreeing signature slots, an unbiased estimate of the Jaccard similarity
+    public double estimateSimilarity(long a, long b) {
+        int[] sa = signatures.get(a);
+        int[] sb = signatures.get(b);
+        if (sa == null || sb == null) {
+            return 0;
+        }
+        int equal = 0;
+        for (int i = 0; i < sa.length; i++) {
+            if (sa[i] == sb[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / sa.length;
+    }
+
+    public boolean contains(long key) {
+        return signatures.containsKey(key);
+    }
+
+    public int size() {
+        return signatures.size();
+    }
+
+    private int hash(long element, int function) {
+        return (int) (mix(element ^ seeds[function]) >>> 33);
+    }
+
+    private long bandHash(int[] signature, int band) {
+        long h = band;
+        for (int r = band * rows; r < (band + 1) * rows; r++) {
+            h = h * 0x100000001B3L + signature[r];
+        }
+        return mix(h);
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
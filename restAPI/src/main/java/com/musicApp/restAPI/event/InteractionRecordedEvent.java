@@ -0,0 +1,18 @@
+package com.musicApp.restAPI.event;
+
+import com.musicApp.restAPI.model.UserSongInteraction;
+
+// Published after a play, completion or skip has been stored, for in-memory statistics
+// (play counts, recommendation caches) that follow listening activity.
+public class InteractionRecordedEvent {
+
+    private final UserSongInteraction interaction;
+
+    public InteractionRecordedEvent(UserSongInteraction interaction) {
+        this.interaction = interaction;
+    }
+
+    public UserSongInteraction getInteraction() {
+        return interaction;
+    }
+}
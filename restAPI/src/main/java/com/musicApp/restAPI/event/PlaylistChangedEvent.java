@@ -0,0 +1,48 @@
+package com.musicApp.restAPI.event;
+
+// Published after a playlist's song list changes. headChanged tells listeners whether the
+// first HEAD_SIZE entries (the ones shown in the playlist cover) are different afterwards.
+// The playlist owner is included for SONG_ADDED, SONG_REMOVED and DELETED, the song for the first two.
+public class PlaylistChangedEvent {
+    public static final int HEAD_SIZE = 4;
+
+    public enum Type { SONG_ADDED, SONG_REMOVED, REORDERED, DELETED }
+
+    private final Long playlistId;
+    private final Type type;
+    private final boolean headChanged;
+    private final Long userId;
+    private final Long songId;
+
+    public PlaylistChangedEvent(Long playlistId, Type type, boolean headChanged) {
+        this(playlistId, type, headChanged, null, null);
+    }
+
+    public PlaylistChangedEvent(Long playlistId, Type type, boolean headChanged, Long userId, Long songId) {
+        this.playlistId = playlistId;
+        this.type = type;
+        this.headChanged = headChanged;
+        this.userId = userId;
+        this.songId = songId;
+    }
+
+    public Long getPlaylistId() {
+        return playlistId;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public boolean isHeadChanged() {
+        return headChanged;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getSongId() {
+        return songId;
+    }
+}
@@ -0,0 +1,18 @@
+package com.musicApp.restAPI.event;
+
+import com.musicApp.restAPI.datastructures.matrix.FactorModel;
+
+// Published whenever a new matrix factorization model becomes current (trained or loaded from
+// disk), so indexes derived from its factors can be rebuilt.
+public class RecommendationModelPublishedEvent {
+
+    private final FactorModel model;
+
+    public RecommendationModelPublishedEvent(FactorModel model) {
+        this.model = model;
+    }
+
+    public FactorModel getModel() {
+        return model;
+    }
+}
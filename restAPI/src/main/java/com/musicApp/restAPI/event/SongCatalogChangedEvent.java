@@ -0,0 +1,26 @@
+package com.musicApp.restAPI.event;
+
+import com.musicApp.restAPI.sql.persistance.Song.SongEntity;
+
+// Published when a song is added to or removed from the catalog, so in-memory indexes built
+// from the songs table can update themselves instead of being rebuilt.
+public class SongCatalogChangedEvent {
+
+    public enum Type { CREATED, DELETED }
+
+    private final SongEntity song;
+    private final Type type;
+
+    public SongCatalogChangedEvent(SongEntity song, Type type) {
+        this.song = song;
+        this.type = type;
+    }
+
+    public SongEntity getSong() {
+        return song;
+    }
+
+    public Type getType() {
+        return type;
+    }
+}
@@ -1,10 +1,15 @@
 package com.musicApp.restAPI.repository;
 
 import com.musicApp.restAPI.model.UserSongInteraction;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserSongInteractionRepository extends JpaRepository<UserSongInteraction, Long> {
@@ -12,4 +17,18 @@ public interface UserSongInteractionRepository extends JpaRepository<UserSongInt
     List<UserSongInteraction> findByUserIdAndSongId(Long userId, Long songId);
     List<UserSongInteraction> findByUserIdOrderByTimestampDesc(Long userId);
     List<UserSongInteraction> findBySkippedTrueAndUserId(Long userId);
+    
+    // [songId, play count] for every song that has been played at least once
+    @Query("SELECT i.songId, COUNT(i) FROM UserSongInteraction i WHERE i.played = true GROUP BY i.songId")
+    List<Object[]> countPlaysBySong();
+    
+    // Every completed play, grouped by user in listening order
+    List<UserSongInteraction> findByCompletedTrueOrderByUserIdAscTimestampAsc();
+    
+    // Cursor-style read for NDJSON export; must be consumed inside a transaction
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<UserSongInteraction> streamByUserIdOrderByTimestampAsc(Long userId);
 } 
\ No newline at end of file
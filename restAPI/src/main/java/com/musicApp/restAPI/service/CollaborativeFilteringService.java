@@ -0,0 +1,204 @@
+package com.musicApp.restAPI.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.musicApp.restAPI.datastructures.bitmap.CompressedBitmap;
+import com.musicApp.restAPI.datastructures.bitmap.DenseIdMap;
+import com.musicApp.restAPI.datastructures.linkedlist.PlaylistNodeRepository;
+import com.musicApp.restAPI.datastructures.sketch.MinHashLsh;
+import com.musicApp.restAPI.event.InteractionRecordedEvent;
+import com.musicApp.restAPI.event.PlaylistChangedEvent;
+import com.musicApp.restAPI.model.UserSongInteraction;
+import com.musicApp.restAPI.repository.UserSongInteractionRepository;
+import com.musicApp.restAPI.sql.persistance.PlaylistSong.PlaylistSongRepository;
+
+// User-user collaborative filtering over the user-song graph (songs in a user's playlists plus
+// songs they played without skipping). The graph and a MinHash/LSH index of every user's song set
+// stay in memory and grow with interaction and playlist events, so a request only scores the
+// handful of users LSH proposes as similar instead of every user. Removals are picked up by a
+// periodic full rebuild; edges that arrive while it reads the database are buffered and replayed
+// onto the new graph before it replaces the old one. Songs get dense ints and each user's songs are a compressed bitmap, so
+// an edge costs a few bytes at most and overlaps are counted with popcounts.
+@Service
+public class CollaborativeFilteringService {
+    private static final Logger LOGGER = Logger.getLogger(CollaborativeFilteringService.class.getName());
+
+    // 40 bands of 4 rows: users with Jaccard similarity above ~0.4 are likely to collide, while a
+    // pair at 0.1 shares a band well under 1% of the time, so a request scores few unrelated users
+    private static final int LSH_BANDS = 40;
+    private static final int LSH_ROWS = 4;
+    private static final long LSH_SEED = 0x5EEDL;
+
+    private final PlaylistSongRepository playlistSongRepository;
+    private final PlaylistNodeRepository playlistNodeRepository;
+    private final UserSongInteractionRepository interactionRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Graph graph = new Graph();
+    private MinHashLsh lsh = new MinHashLsh(LSH_BANDS, LSH_ROWS, LSH_SEED);
+    // (user, song) edges added since the running rebuild started; null when none is running
+    private List<long[]> pendingEdges;
+
+    // Similar users scored per request
+    @Value("${music.recommendation.cf.max-candidates:200}")
+    private int maxCandidates;
+
+    @Autowired
+    public CollaborativeFilteringService(PlaylistSongRepository playlistSongRepository,
+                                         PlaylistNodeRepository playlistNodeRepository,
+                                         UserSongInteractionRepository interactionRepository) {
+        this.playlistSongRepository = playlistSongRepository;
+        this.playlistNodeRepository = playlistNodeRepository;
+        this.interactionRepository = interactionRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        rebuild();
+    }
+
+    @Scheduled(initialDelayString = "${music.recommendation.cf.rebuild-ms:3600000}",
+               fixedDelayString = "${music.recommendation.cf.rebuild-ms:3600000}")
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            pendingEdges = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Graph built = new Graph();
+        MinHashLsh index = new MinHashLsh(LSH_BANDS, LSH_ROWS, LSH_SEED);
+        Consumer<Object[]> addPair = pair -> {
+            if (pair[0] != null && pair[1] != null) {
+                addEdge(built, index, ((Number) pair[0]).longValue(), ((Number) pair[1]).longValue());
+            }
+        };
+        playlistSongRepository.findUserSongPairs().forEach(addPair);
+        playlistNodeRepository.findUserSongPairs().forEach(addPair);
+        for (UserSongInteraction interaction : interactionRepository.findAll()) {
+            if (interaction.isPlayed() && !interaction.isSkipped()) {
+                addEdge(built, index, interaction.getUserId(), interaction.getSongId());
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (long[] edge : pendingEdges) {
+                addEdge(built, index, edge[0], edge[1]);
+            }
+            pendingEdges = null;
+            graph = built;
+            lsh = index;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        long edges = 0;
+        long bytes = 0;
+        for (CompressedBitmap songs : built.userSongs.values()) {
+            edges += songs.cardinality();
+            bytes += songs.sizeInBytes();
+        }
+        LOGGER.info("Built collaborative filtering graph for " + built.userSongs.size() + " users and " + edges
+                + " edges (" + bytes + " bytes of adjacency) in " + (System.currentTimeMillis() - start) + " ms");
+    }
+
+    public boolean hasHistory(Long userId) {
+        lock.readLock().lock();
+        try {
+            CompressedBitmap songs = graph.userSongs.get(userId);
+            return songs != null && songs.cardinality() > 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Songs the user does not have yet, each scored by the summed Jaccard similarity of the
+    // candidate similar users who have it; skipped songs count for 30%
+    public Map<Long, Double> scoreSongs(Long userId, Set<Long> skippedSongs) {
+        Map<Long, Double> songScores = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            CompressedBitmap songs = graph.userSongs.get(userId);
+            if (songs == null || songs.cardinality() == 0) {
+                return songScores;
+            }
+            for (long otherUser : lsh.candidates(userId, maxCandidates)) {
+                CompressedBitmap otherSongs = graph.userSongs.get(otherUser);
+                int intersection = songs.andCardinality(otherSongs);
+                if (intersection == 0) {
+                    continue;
+                }
+                double similarity = (double) intersection / (songs.cardinality() + otherSongs.cardinality() - intersection);
+                otherSongs.forEach(song -> {
+                    if (!songs.contains(song)) {
+                        long songId = graph.songs.idAt(song);
+                        double score = skippedSongs.contains(songId) ? similarity * 0.3 : similarity;
+                        songScores.merge(songId, score, Double::sum);
+                    }
+                });
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return songScores;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInteractionRecorded(InteractionRecordedEvent event) {
+        UserSongInteraction interaction = event.getInteraction();
+        if (interaction.isPlayed() && !interaction.isSkipped()) {
+            addEdge(interaction.getUserId(), interaction.getSongId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPlaylistChanged(PlaylistChangedEvent event) {
+        if (event.getType() == PlaylistChangedEvent.Type.SONG_ADDED) {
+            addEdge(event.getUserId(), event.getSongId());
+        }
+    }
+
+    private void addEdge(Long userId, Long songId) {
+        if (userId == null || songId == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            addEdge(graph, lsh, userId, songId);
+            if (pendingEdges != null) {
+                pendingEdges.add(new long[] { userId, songId });
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void addEdge(Graph graph, MinHashLsh index, long userId, long songId) {
+        int song = graph.songs.getOrAdd(songId);
+        if (graph.userSongs.computeIfAbsent(userId, id -> new CompressedBitmap()).add(song)) {
+            index.add(userId, song);
+        }
+    }
+
+    // Songs numbered densely, and every user's songs as a bitmap of those numbers
+    private static class Graph {
+        private final DenseIdMap songs = new DenseIdMap();
+        private final Map<Long, CompressedBitmap> userSongs = new HashMap<>();
+    }
+}
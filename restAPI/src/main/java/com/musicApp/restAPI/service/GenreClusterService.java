@@ -0,0 +1,87 @@
+package com.musicApp.restAPI.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.logging.Logger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.musicApp.restAPI.datastructures.cluster.KMeans;
+import com.musicApp.restAPI.event.SongCatalogChangedEvent;
+import com.musicApp.restAPI.sql.persistance.Song.SongEntity;
+import com.musicApp.restAPI.sql.persistance.Song.SongRepository;
+
+// Representative songs of a genre: the genre's songs are clustered by k-means over (year, tempo,
+// energy), scaled as the old distance measure did, and the real song nearest to each centroid is
+// returned. Results are cached per genre and number of clusters until a song of that genre is
+// added or removed.
+@Service
+public class GenreClusterService {
+    private static final Logger LOGGER = Logger.getLogger(GenreClusterService.class.getName());
+
+    private static final int DIMS = 3;
+    private static final int MAX_ITERATIONS = 100;
+    // Fixed so a genre's representatives do not change between cache rebuilds without a reason
+    private static final long SEED = 42L;
+
+    private final SongRepository songRepository;
+    private final Map<String, Map<Integer, List<Long>>> clustersByGenre = new ConcurrentHashMap<>();
+
+    @Autowired
+    public GenreClusterService(SongRepository songRepository) {
+        this.songRepository = songRepository;
+    }
+
+    // Ids of up to k songs spread over the genre; all of its songs if it has k or fewer
+    public List<Long> representativeSongIds(String genre, int k) {
+        Map<Integer, List<Long>> byK = clustersByGenre.computeIfAbsent(genre, g -> new ConcurrentHashMap<>());
+        List<Long> ids = byK.get(k);
+        if (ids == null) {
+            ids = cluster(genre, k);
+            byK.put(k, ids);
+        }
+        return ids;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSongCatalogChanged(SongCatalogChangedEvent event) {
+        String genre = event.getSong().getGenre();
+        if (genre != null) {
+            clustersByGenre.remove(genre);
+        }
+    }
+
+    private List<Long> cluster(String genre, int k) {
+        List<SongEntity> songs = songRepository.findByGenre(genre);
+        List<Long> ids = new ArrayList<>(Math.min(k, songs.size()));
+        if (songs.size() <= k) {
+            songs.forEach(song -> ids.add(song.getId()));
+            return ids;
+        }
+
+        long start = System.currentTimeMillis();
+        float[] features = new float[songs.size() * DIMS];
+        for (int i = 0; i < songs.size(); i++) {
+            SongEntity song = songs.get(i);
+            features[i * DIMS] = song.getYear() / 100f;
+            features[i * DIMS + 1] = (float) (song.getTempo() / 200.0);
+            features[i * DIMS + 2] = (float) song.getEnergy();
+        }
+        KMeans.Result result = new KMeans(DIMS, MAX_ITERATIONS, ForkJoinPool.commonPool())
+                .cluster(features, k, new Random(SEED));
+        for (int nearest : result.nearestPoints()) {
+            if (nearest >= 0) {
+                ids.add(songs.get(nearest).getId());
+            }
+        }
+        LOGGER.fine("Clustered " + songs.size() + " " + genre + " songs into " + k + " clusters in "
+                + result.iterations() + " iterations, " + (System.currentTimeMillis() - start) + " ms");
+        return ids;
+    }
+}
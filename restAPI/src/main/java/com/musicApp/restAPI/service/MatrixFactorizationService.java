@@ -0,0 +1,307 @@
+package com.musicApp.restAPI.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.musicApp.restAPI.datastructures.matrix.FactorModel;
+import com.musicApp.restAPI.datastructures.matrix.IdIndex;
+import com.musicApp.restAPI.datastructures.matrix.ImplicitAlsTrainer;
+import com.musicApp.restAPI.datastructures.matrix.RatingMatrix;
+import com.musicApp.restAPI.datastructures.matrix.SgdTrainer;
+import com.musicApp.restAPI.event.InteractionRecordedEvent;
+import com.musicApp.restAPI.event.PlaylistChangedEvent;
+import com.musicApp.restAPI.event.RecommendationModelPublishedEvent;
+import com.musicApp.restAPI.event.SongCatalogChangedEvent;
+import com.musicApp.restAPI.model.UserSongInteraction;
+import com.musicApp.restAPI.repository.UserSongInteractionRepository;
+import com.musicApp.restAPI.sql.persistance.PlaylistSong.PlaylistSongRepository;
+import com.musicApp.restAPI.sql.persistance.Song.SongRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+// Trains the matrix factorization model in the background and publishes it as an immutable
+// FactorModel snapshot, so recommendation requests only score against the current model. A
+// scheduled check starts a retrain on the training thread when listening data has changed and
+// the model is older than the retrain interval. With a model path set, every new model is also
+// written to disk and the last one is loaded at startup instead of training from scratch. The
+// engine is either the original biased SGD or implicit-feedback ALS, which solves rows in parallel.
+@Service
+public class MatrixFactorizationService {
+    private static final Logger LOGGER = Logger.getLogger(MatrixFactorizationService.class.getName());
+
+    // Matrix factorization parameters
+    private static final int DEFAULT_LATENT_FACTORS = 10;
+    private static final float DEFAULT_LEARNING_RATE = 0.01f;
+    private static final float DEFAULT_REGULARIZATION = 0.01f;
+    private static final int DEFAULT_ITERATIONS = 100;
+    private static final float DEFAULT_BIAS_LEARNING_RATE = 0.005f;
+
+    private final SongRepository songRepository;
+    private final PlaylistSongRepository playlistSongRepository;
+    private final UserSongInteractionRepository interactionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final AtomicReference<FactorModel> model = new AtomicReference<>();
+    // Set when ratings may differ from the ones the current model was trained on
+    private final AtomicBoolean dirty = new AtomicBoolean(true);
+    // Training runs here rather than on the shared scheduler thread, at most one job at a time
+    private final AtomicBoolean training = new AtomicBoolean();
+    private final ExecutorService trainer = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "mf-training");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${music.recommendation.mf.retrain-ms:600000}")
+    private long retrainMs;
+
+    @Value("${music.recommendation.mf.seed:42}")
+    private long seed;
+
+    @Value("${music.recommendation.mf.model-path:}")
+    private String modelPath;
+
+    // "sgd" or "als"
+    @Value("${music.recommendation.mf.engine:sgd}")
+    private String engine;
+
+    // Worker threads for parallel training; 0 uses every available core
+    @Value("${music.recommendation.mf.threads:0}")
+    private int threads;
+
+    // Hogwild: shuffled rating shards updated concurrently without locks
+    @Value("${music.recommendation.sgd.parallel:false}")
+    private boolean sgdParallel;
+
+    // Stop once an epoch improves the training RMSE by less than this
+    @Value("${music.recommendation.sgd.min-improvement:0.0001}")
+    private double sgdMinImprovement;
+
+    @Value("${music.recommendation.als.iterations:15}")
+    private int alsIterations;
+
+    @Value("${music.recommendation.als.regularization:0.1}")
+    private double alsRegularization;
+
+    @Value("${music.recommendation.als.alpha:40}")
+    private double alsAlpha;
+
+    private ForkJoinPool trainingPool;
+
+    @Autowired
+    public MatrixFactorizationService(SongRepository songRepository,
+                                      PlaylistSongRepository playlistSongRepository,
+                                      UserSongInteractionRepository interactionRepository,
+                                      ApplicationEventPublisher eventPublisher) {
+        this.songRepository = songRepository;
+        this.playlistSongRepository = playlistSongRepository;
+        this.interactionRepository = interactionRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostConstruct
+    public void init() {
+        trainingPool = new ForkJoinPool(threads > 0 ? threads : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        trainer.shutdownNow();
+        trainingPool.shutdownNow();
+    }
+
+    // The latest published model, or null until the first one has been trained or loaded
+    public FactorModel currentModel() {
+        return model.get();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadPersistedModel() {
+        if (modelPath.isBlank() || !Files.exists(Paths.get(modelPath))) {
+            return;
+        }
+        try {
+            FactorModel loaded = FactorModel.readFrom(Paths.get(modelPath));
+            if (model.compareAndSet(null, loaded)) {
+                eventPublisher.publishEvent(new RecommendationModelPublishedEvent(loaded));
+            }
+            LOGGER.info("Loaded matrix factorization model v" + loaded.version() + " from " + modelPath);
+        } catch (IOException e) {
+            LOGGER.warning("Could not load matrix factorization model from " + modelPath + ": " + e.getMessage());
+        }
+    }
+
+    @Scheduled(initialDelayString = "${music.recommendation.mf.initial-delay-ms:5000}",
+               fixedDelayString = "${music.recommendation.mf.check-ms:60000}")
+    public void retrainIfStale() {
+        FactorModel current = model.get();
+        boolean expired = current == null || System.currentTimeMillis() - current.trainedAt() >= retrainMs;
+        if (expired && (current == null || dirty.get()) && training.compareAndSet(false, true)) {
+            trainer.execute(() -> {
+                try {
+                    retrain();
+                } catch (RuntimeException e) {
+                    LOGGER.log(Level.WARNING, "Matrix factorization training failed", e);
+                } finally {
+                    training.set(false);
+                }
+            });
+        }
+    }
+
+    // Trains a new model from the current ratings and publishes it
+    public synchronized FactorModel retrain() {
+        dirty.set(false);
+        long start = System.currentTimeMillis();
+        RatingMatrix ratings = buildRatingMatrix();
+        FactorModel current = model.get();
+        long version = current != null ? current.version() + 1 : 1;
+        FactorModel trained = "als".equalsIgnoreCase(engine) ? trainAls(ratings, version) : train(ratings, version);
+        model.set(trained);
+        LOGGER.info("Trained " + engine + " matrix factorization model v" + version + " on " + ratings.nonZeros()
+                + " ratings (" + ratings.users().size() + " users, " + ratings.songs().size() + " songs) in "
+                + (System.currentTimeMillis() - start) + " ms with " + trainingPool.getParallelism() + " threads");
+        persist(trained);
+        eventPublisher.publishEvent(new RecommendationModelPublishedEvent(trained));
+        return trained;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInteractionRecorded(InteractionRecordedEvent event) {
+        dirty.set(true);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPlaylistChanged(PlaylistChangedEvent event) {
+        dirty.set(true);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSongCatalogChanged(SongCatalogChangedEvent event) {
+        dirty.set(true);
+    }
+
+    private void persist(FactorModel trained) {
+        if (modelPath.isBlank()) {
+            return;
+        }
+        try {
+            trained.writeTo(Paths.get(modelPath));
+        } catch (IOException e) {
+            LOGGER.warning("Could not save matrix factorization model to " + modelPath + ": " + e.getMessage());
+        }
+    }
+
+    private FactorModel train(RatingMatrix ratings, long version) {
+        int numUsers = ratings.users().size();
+        int numSongs = ratings.songs().size();
+        int numFactors = DEFAULT_LATENT_FACTORS;
+
+        // Seeded, so retraining on unchanged data gives the same model
+        Random random = new Random(seed);
+        float[] userFactors = initializeRandomFactors(random, numUsers, numFactors);
+        float[] songFactors = initializeRandomFactors(random, numSongs, numFactors);
+        float[] userBias = new float[numUsers];
+        float[] songBias = new float[numSongs];
+        float globalBias = ratings.mean();
+
+        // Perform matrix factorization using SGD, optionally Hogwild-parallel
+        SgdTrainer trainer = new SgdTrainer(numFactors, DEFAULT_LEARNING_RATE, DEFAULT_BIAS_LEARNING_RATE,
+                DEFAULT_REGULARIZATION, DEFAULT_ITERATIONS, sgdMinImprovement, sgdParallel ? trainingPool : null);
+        double[] rmse = trainer.train(ratings, userFactors, songFactors, userBias, songBias, globalBias, random);
+        LOGGER.info("SGD stopped after " + rmse.length + " epochs at RMSE "
+                + (rmse.length > 0 ? rmse[rmse.length - 1] : 0));
+        return new FactorModel(version, System.currentTimeMillis(), ratings, numFactors,
+                userFactors, songFactors, userBias, songBias, globalBias);
+    }
+
+    // Implicit ALS scores are preferences, so the model carries no biases
+    private FactorModel trainAls(RatingMatrix ratings, long version) {
+        ImplicitAlsTrainer trainer = new ImplicitAlsTrainer(DEFAULT_LATENT_FACTORS, alsRegularization, alsAlpha,
+                alsIterations, trainingPool);
+        ImplicitAlsTrainer.Result result = trainer.train(ratings, new Random(seed));
+        LOGGER.info("ALS preference RMSE per iteration: " + Arrays.toString(result.rmsePerIteration()));
+        return new FactorModel(version, System.currentTimeMillis(), ratings, DEFAULT_LATENT_FACTORS,
+                result.userFactors(), result.songFactors(),
+                new float[ratings.users().size()], new float[ratings.songs().size()], 0f);
+    }
+
+    // Initialize a flat rows x cols factor array with small random values
+    private static float[] initializeRandomFactors(Random random, int rows, int cols) {
+        float[] factors = new float[rows * cols];
+        for (int i = 0; i < factors.length; i++) {
+            factors[i] = 0.1f * random.nextFloat();
+        }
+        return factors;
+    }
+
+    // Build the rating matrix from playlist contents and user interactions, one query each
+    private RatingMatrix buildRatingMatrix() {
+        long[] songIds = songRepository.findAllIds().stream().mapToLong(Long::longValue).toArray();
+        IdIndex songs = IdIndex.of(songIds, songIds.length);
+
+        // Ratings start at 0.5 (neutral) and stay within [0, 5]
+        RatingMatrix.Builder builder = new RatingMatrix.Builder(songs, 0.5f, 0.0f, 5.0f);
+
+        // 1.0 if song is in one of the user's playlists
+        for (Object[] pair : playlistSongRepository.findUserSongPairs()) {
+            if (pair[0] != null && pair[1] != null) {
+                builder.set(((Number) pair[0]).longValue(), ((Number) pair[1]).longValue(), 1.0f);
+            }
+        }
+
+        // Incorporate user interactions to adjust ratings
+        interactionRepository.findAll().forEach(interaction -> {
+            double delta = 0;
+            if (interaction.isSkipped()) {
+                // Decrease rating if skipped (more decrease for early skips)
+                delta -= calculateSkipPenalty(interaction);
+            }
+            if (interaction.isCompleted()) {
+                // Increase rating if song was listened to completion
+                delta += 0.5;
+            }
+            builder.adjust(interaction.getUserId(), interaction.getSongId(), (float) delta);
+        });
+
+        return builder.build();
+    }
+
+    // Helper method to calculate skip penalty
+    private static double calculateSkipPenalty(UserSongInteraction interaction) {
+        // Early skips (first 20%) are penalized more
+        int skipPositionMs = interaction.getSkipPositionMs();
+        int totalDurationMs = interaction.getSongDurationMs();
+
+        if (totalDurationMs == 0) return 0.5; // Default penalty
+
+        double percentListened = (double) skipPositionMs / totalDurationMs;
+        if (percentListened < 0.2) {
+            return 0.7; // Strong penalty for early skips
+        } else if (percentListened < 0.5) {
+            return 0.4; // Medium penalty
+        } else {
+            return 0.2; // Lower penalty for late skips (user heard most of song)
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.musicApp.restAPI.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+// Writes query results as newline-delimited JSON while they are read from the database. The
+// query runs inside a read-only transaction held open for the whole response, and the persistence
+// context is cleared after every batch, so memory stays flat however many rows the result has.
+@Service
+public class NdjsonExportService {
+    private static final Logger LOGGER = Logger.getLogger(NdjsonExportService.class.getName());
+
+    // Rows written between flushes to the client and persistence context clears
+    private static final int BATCH_SIZE = 500;
+
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectWriter writer;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public NdjsonExportService(PlatformTransactionManager transactionManager, ObjectMapper objectMapper) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // The container owns the response stream, so the writer must not close it
+        this.writer = objectMapper.writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("\n");
+    }
+
+    // The supplier is called inside the transaction and must return a JPA result stream
+    public <T> ResponseEntity<StreamingResponseBody> export(Supplier<Stream<T>> rows) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_NDJSON);
+        StreamingResponseBody body = out -> readOnlyTransaction.executeWithoutResult(status -> {
+            long count = 0;
+            try (Stream<T> stream = rows.get();
+                 SequenceWriter sequence = writer.writeValues(out)) {
+                Iterator<T> iterator = stream.iterator();
+                while (iterator.hasNext()) {
+                    T row = iterator.next();
+                    sequence.write(row);
+                    if (++count % BATCH_SIZE == 0) {
+                        sequence.flush();
+                        // Drop written rows and whatever they lazily loaded from the persistence context
+                        entityManager.clear();
+                    }
+                }
+                // SequenceWriter only separates values, so terminate the last line too
+                sequence.flush();
+                if (count > 0) {
+                    out.write('\n');
+                }
+            } catch (IOException e) {
+                LOGGER.warning("NDJSON export aborted after " + count + " rows: " + e.getMessage());
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().headers(headers).body(body);
+    }
+}
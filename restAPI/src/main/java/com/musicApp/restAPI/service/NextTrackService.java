@@ -0,0 +1,193 @@
+package com.musicApp.restAPI.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.logging.Logger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.musicApp.restAPI.datastructures.cooccurrence.CooccurrenceModel;
+import com.musicApp.restAPI.datastructures.linkedlist.PlaylistNodeRepository;
+import com.musicApp.restAPI.event.InteractionRecordedEvent;
+import com.musicApp.restAPI.event.PlaylistChangedEvent;
+import com.musicApp.restAPI.model.UserSongInteraction;
+import com.musicApp.restAPI.repository.UserSongInteractionRepository;
+import com.musicApp.restAPI.sql.persistance.PlaylistSong.PlaylistSongRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+// "Because you played": item-item co-occurrence for next-track queueing. Songs a user completes
+// one after another, and songs added to the same playlist, are linked with weight 1/distance within
+// a short window. All updates go through one writer thread in arrival order, so the model needs no
+// locks; requests read the published neighbour lists directly.
+@Service
+public class NextTrackService {
+    private static final Logger LOGGER = Logger.getLogger(NextTrackService.class.getName());
+
+    private final UserSongInteractionRepository interactionRepository;
+    private final PlaylistSongRepository playlistSongRepository;
+    private final PlaylistNodeRepository playlistNodeRepository;
+    private final CooccurrenceModel model;
+    private final int window;
+    private final float decayFactor;
+
+    // Writer-only: the last few songs of the most recently active users and playlists
+    private final Map<Long, RecentSongs> recentByUser;
+    private final Map<Long, RecentSongs> recentByPlaylist;
+
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "next-track");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired
+    public NextTrackService(UserSongInteractionRepository interactionRepository,
+                            PlaylistSongRepository playlistSongRepository,
+                            PlaylistNodeRepository playlistNodeRepository,
+                            @Value("${music.recommendation.next.neighbours:20}") int neighbours,
+                            @Value("${music.recommendation.next.window:5}") int window,
+                            @Value("${music.recommendation.next.decay-factor:0.9}") float decayFactor,
+                            @Value("${music.recommendation.next.max-recent:100000}") int maxRecent) {
+        this.interactionRepository = interactionRepository;
+        this.playlistSongRepository = playlistSongRepository;
+        this.playlistNodeRepository = playlistNodeRepository;
+        this.model = new CooccurrenceModel(neighbours);
+        this.window = Math.max(1, window);
+        this.decayFactor = decayFactor;
+        this.recentByUser = recentMap(maxRecent);
+        this.recentByPlaylist = recentMap(maxRecent);
+    }
+
+    // Reads stored completions and playlists before the server takes requests, so every later
+    // event is for a row the replay did not see; the replay itself runs as the writer's first task
+    @PostConstruct
+    public void load() {
+        List<UserSongInteraction> completions = interactionRepository.findByCompletedTrueOrderByUserIdAscTimestampAsc();
+        List<Object[]> playlistSongs = playlistSongRepository.findPlaylistSongSequences();
+        List<Object[]> playlistNodes = playlistNodeRepository.findPlaylistSongSequences();
+        submit(() -> {
+            long start = System.currentTimeMillis();
+            for (UserSongInteraction interaction : completions) {
+                record(recentByUser, interaction.getUserId(), interaction.getSongId());
+            }
+            for (Object[] row : playlistSongs) {
+                record(recentByPlaylist, (Long) row[0], (Long) row[1]);
+            }
+            for (Object[] row : playlistNodes) {
+                record(recentByPlaylist, (Long) row[0], (Long) row[1]);
+            }
+            model.publish();
+            LOGGER.info("Built next-track model for " + model.publishedSongs() + " songs in "
+                    + (System.currentTimeMillis() - start) + " ms");
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writer.shutdownNow();
+    }
+
+    // Up to limit songs to queue after songId, best first
+    public List<Long> nextSongIds(Long songId, int limit) {
+        long[] neighbours = model.neighbours(songId, limit);
+        List<Long> ids = new ArrayList<>(neighbours.length);
+        for (long neighbour : neighbours) {
+            ids.add(neighbour);
+        }
+        return ids;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInteractionRecorded(InteractionRecordedEvent event) {
+        UserSongInteraction interaction = event.getInteraction();
+        if (interaction.isCompleted()) {
+            submit(() -> {
+                record(recentByUser, interaction.getUserId(), interaction.getSongId());
+                model.publish();
+            });
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPlaylistChanged(PlaylistChangedEvent event) {
+        if (event.getType() == PlaylistChangedEvent.Type.SONG_ADDED) {
+            submit(() -> {
+                record(recentByPlaylist, event.getPlaylistId(), event.getSongId());
+                model.publish();
+            });
+        }
+    }
+
+    // Old co-occurrences fade so the lists follow current listening
+    @Scheduled(initialDelayString = "${music.recommendation.next.decay-ms:86400000}",
+               fixedDelayString = "${music.recommendation.next.decay-ms:86400000}")
+    public void decay() {
+        submit(() -> {
+            model.decay(decayFactor);
+            model.publish();
+        });
+    }
+
+    private void record(Map<Long, RecentSongs> recent, Long key, Long songId) {
+        if (key == null || songId == null) {
+            return;
+        }
+        RecentSongs songs = recent.computeIfAbsent(key, k -> new RecentSongs(window));
+        model.addOccurrence(songId);
+        for (int distance = 1; distance <= songs.size; distance++) {
+            model.addPair(songs.get(distance), songId, 1f / distance);
+        }
+        songs.push(songId);
+    }
+
+    // Access-ordered and capped, so users and playlists gone quiet stop holding a ring buffer
+    private static Map<Long, RecentSongs> recentMap(int maxEntries) {
+        return new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, RecentSongs> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    private void submit(Runnable task) {
+        try {
+            writer.execute(task);
+        } catch (RejectedExecutionException e) {
+            LOGGER.fine("Next-track writer stopped, dropping update");
+        }
+    }
+
+    // Ring buffer of the last few song ids
+    private static class RecentSongs {
+        private final long[] songs;
+        private int next;
+        private int size;
+
+        RecentSongs(int capacity) {
+            this.songs = new long[capacity];
+        }
+
+        void push(long songId) {
+            songs[next] = songId;
+            next = (next + 1) % songs.length;
+            size = Math.min(size + 1, songs.length);
+        }
+
+        // distance 1 is the most recent song
+        long get(int distance) {
+            return songs[(next - distance + songs.length) % songs.length];
+        }
+    }
+}
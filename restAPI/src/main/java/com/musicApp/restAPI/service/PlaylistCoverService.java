@@ -0,0 +1,264 @@
+package com.musicApp.restAPI.service;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.musicApp.restAPI.event.PlaylistChangedEvent;
+import com.musicApp.restAPI.sql.persistance.Song.SongEntity;
+import com.musicApp.restAPI.sql.service.PlaylistService;
+import com.musicApp.restAPI.stream.BufferByteSource;
+import com.musicApp.restAPI.stream.ContentFingerprintService;
+import com.musicApp.restAPI.stream.ContentFingerprintService.Fingerprint;
+import com.musicApp.restAPI.stream.CoverArtIndex;
+import com.musicApp.restAPI.stream.CoverArtIndex.CoverEntry;
+import com.musicApp.restAPI.stream.CoverThumbnailService;
+
+// Renders the cover mosaic (2x2 when full) of a playlist's first four songs as one JPEG, so clients
+// fetch a single image instead of four. Rendered mosaics are kept in a small LRU keyed by playlist;
+// each playlist has a content version that is bumped when a change touches its first four entries.
+@Service
+public class PlaylistCoverService {
+    private static final Logger LOGGER = Logger.getLogger(PlaylistCoverService.class.getName());
+
+    private static final int TILE_SIZE = 300;
+    private static final float JPEG_QUALITY = 0.85f;
+    private static final Color EMPTY_TILE = new Color(40, 40, 40);
+
+    // Cells per cover count as {cover, x, y, width, height} in tiles, matching the client-side grid:
+    // one cover fills the image, two are stacked halves, three put one half above two quarters
+    private static final int[][][] LAYOUTS = {
+            {},
+            {{0, 0, 0, 2, 2}},
+            {{0, 0, 0, 2, 1}, {1, 0, 1, 2, 1}},
+            {{0, 0, 0, 2, 1}, {1, 0, 1, 1, 1}, {2, 1, 1, 1, 1}},
+            {{0, 0, 0, 1, 1}, {1, 1, 0, 1, 1}, {2, 0, 1, 1, 1}, {3, 1, 1, 1, 1}}
+    };
+
+    private final PlaylistService playlistService;
+    private final CoverArtIndex coverArtIndex;
+    private final CoverThumbnailService coverThumbnailService;
+    private final ContentFingerprintService fingerprintService;
+
+    @Value("${music.playlist.cover.cache-entries:256}")
+    private int maxEntries;
+
+    // Guarded by the covers lock so a version bump and an eviction happen together
+    private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+    private final LinkedHashMap<Long, PlaylistCover> covers = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, PlaylistCover> eldest) {
+            return size() > maxEntries;
+        }
+    };
+
+    @Autowired
+    public PlaylistCoverService(PlaylistService playlistService, CoverArtIndex coverArtIndex,
+                                CoverThumbnailService coverThumbnailService,
+                                ContentFingerprintService fingerprintService) {
+        this.playlistService = playlistService;
+        this.coverArtIndex = coverArtIndex;
+        this.coverThumbnailService = coverThumbnailService;
+        this.fingerprintService = fingerprintService;
+    }
+
+    // Mosaic for a playlist, or null if the playlist does not exist or has no songs
+    public PlaylistCover getCover(Long playlistId) throws IOException {
+        long version;
+        synchronized (covers) {
+            PlaylistCover cached = covers.get(playlistId);
+            if (cached != null && cached.isCurrent()) {
+                return cached;
+            }
+            version = versions.getOrDefault(playlistId, 0L);
+        }
+
+        List<SongEntity> songs = playlistService.getPlaylistSongs(playlistId);
+        if (songs == null || songs.isEmpty()) {
+            return null;
+        }
+        PlaylistCover rendered = render(playlistId, songs.subList(0, Math.min(songs.size(), PlaylistChangedEvent.HEAD_SIZE)));
+
+        synchronized (covers) {
+            // A change committed while we were rendering makes this mosaic stale; serve it but don't keep it
+            if (versions.getOrDefault(playlistId, 0L) == version) {
+                covers.put(playlistId, rendered);
+            }
+        }
+        return rendered;
+    }
+
+    // Runs after the playlist change commits, so a render started afterwards sees the new order
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPlaylistChanged(PlaylistChangedEvent event) {
+        if (!event.isHeadChanged()) {
+            return;
+        }
+        synchronized (covers) {
+            versions.merge(event.getPlaylistId(), 1L, Long::sum);
+            covers.remove(event.getPlaylistId());
+        }
+        LOGGER.fine("Invalidated cover of playlist " + event.getPlaylistId() + " after " + event.getType());
+    }
+
+    private PlaylistCover render(Long playlistId, List<SongEntity> head) throws IOException {
+        List<Resource> sources = new ArrayList<>(head.size());
+        List<BufferedImage> images = new ArrayList<>(head.size());
+        for (SongEntity song : head) {
+            Resource cover = resolveTile(song);
+            sources.add(cover);
+            images.add(cover != null ? readImage(cover) : null);
+        }
+
+        BufferedImage mosaic = new BufferedImage(TILE_SIZE * 2, TILE_SIZE * 2, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = mosaic.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        for (int[] cell : LAYOUTS[images.size()]) {
+            drawTile(g, images.get(cell[0]), cell[1] * TILE_SIZE, cell[2] * TILE_SIZE,
+                    cell[3] * TILE_SIZE, cell[4] * TILE_SIZE);
+        }
+        g.dispose();
+
+        byte[] jpeg = encodeJpeg(mosaic);
+        long renderedAt = System.currentTimeMillis();
+        Fingerprint fingerprint = fingerprintService.fingerprint("playlist-cover:" + playlistId, renderedAt,
+                new BufferByteSource(ByteBuffer.wrap(jpeg)));
+        LOGGER.info("Rendered cover mosaic for playlist " + playlistId + " from " + head.size() + " songs");
+        return new PlaylistCover(jpeg, fingerprint, sources, lastModifiedOf(sources));
+    }
+
+    // Prefer the 300px rendition so the mosaic does not decode full-size artwork
+    private Resource resolveTile(SongEntity song) {
+        if (song.getFileName() == null) {
+            return null;
+        }
+        CoverEntry entry = coverArtIndex.lookup(song.getFileName());
+        if (entry == null) {
+            return null;
+        }
+        String baseFilename = song.getFileName().replace(".mp3", "");
+        Path thumbnail;
+        try {
+            thumbnail = coverThumbnailService.getThumbnail(entry.getResource(), baseFilename, TILE_SIZE);
+        } catch (IllegalArgumentException e) {
+            thumbnail = null;
+        }
+        return thumbnail != null ? new FileSystemResource(thumbnail) : entry.getResource();
+    }
+
+    private BufferedImage readImage(Resource cover) {
+        try (InputStream in = cover.getInputStream()) {
+            return ImageIO.read(in);
+        } catch (IOException e) {
+            LOGGER.warning("Could not read cover " + cover.getFilename() + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    // Center-crop the image to the cell's aspect ratio and scale it in; missing covers become a flat tile
+    private void drawTile(Graphics2D g, BufferedImage image, int x, int y, int width, int height) {
+        if (image == null) {
+            g.setColor(EMPTY_TILE);
+            g.fillRect(x, y, width, height);
+            return;
+        }
+        double scale = Math.min((double) image.getWidth() / width, (double) image.getHeight() / height);
+        int cropWidth = (int) Math.round(width * scale);
+        int cropHeight = (int) Math.round(height * scale);
+        int sx = (image.getWidth() - cropWidth) / 2;
+        int sy = (image.getHeight() - cropHeight) / 2;
+        g.drawImage(image, x, y, x + width, y + height, sx, sy, sx + cropWidth, sy + cropHeight, Color.BLACK, null);
+    }
+
+    private byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(JPEG_QUALITY);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(bytes)) {
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+
+    private static long[] lastModifiedOf(List<Resource> sources) {
+        long[] stamps = new long[sources.size()];
+        for (int i = 0; i < stamps.length; i++) {
+            stamps[i] = lastModified(sources.get(i));
+        }
+        return stamps;
+    }
+
+    private static long lastModified(Resource resource) {
+        if (resource == null) {
+            return 0;
+        }
+        try {
+            return resource.lastModified();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    public static class PlaylistCover {
+        private final byte[] jpeg;
+        private final Fingerprint fingerprint;
+        private final List<Resource> sources;
+        private final long[] sourceStamps;
+
+        PlaylistCover(byte[] jpeg, Fingerprint fingerprint, List<Resource> sources, long[] sourceStamps) {
+            this.jpeg = jpeg;
+            this.fingerprint = fingerprint;
+            this.sources = sources;
+            this.sourceStamps = sourceStamps;
+        }
+
+        public byte[] getJpeg() {
+            return jpeg;
+        }
+
+        public Fingerprint getFingerprint() {
+            return fingerprint;
+        }
+
+        // Replaced artwork also makes a mosaic stale, which playlist events alone would miss
+        boolean isCurrent() {
+            for (int i = 0; i < sourceStamps.length; i++) {
+                if (lastModified(sources.get(i)) != sourceStamps[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
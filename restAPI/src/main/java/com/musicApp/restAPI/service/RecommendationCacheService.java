@@ -0,0 +1,301 @@
+package com.musicApp.restAPI.service;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.musicApp.restAPI.event.InteractionRecordedEvent;
+import com.musicApp.restAPI.event.PlaylistChangedEvent;
+import com.musicApp.restAPI.event.RecommendationModelPublishedEvent;
+import com.musicApp.restAPI.sql.persistance.Song.SongEntity;
+
+import jakarta.annotation.PreDestroy;
+
+// Per-user recommendation results, keyed by (user, algorithm, limit bucket) in a size-bounded LRU.
+// Limits are rounded up to a power-of-two bucket so nearby limits share one computation. An entry
+// is fresh until its TTL passes or the user's data changes (a recorded interaction or a playlist
+// edit bumps that user's generation; a new factor model bumps the matrix algorithm's). A stale
+// entry is still served, up to max-stale-ms old, while one background refresh recomputes it.
+@Service
+public class RecommendationCacheService {
+    private static final Logger LOGGER = Logger.getLogger(RecommendationCacheService.class.getName());
+
+    public enum Algorithm { COLLABORATIVE, MATRIX }
+
+    public static final int MAX_LIMIT = 128;
+    private static final int MIN_BUCKET = 8;
+
+    private final RecommendationService recommendationService;
+    private final ThreadPoolExecutor refresher;
+
+    @Value("${music.recommendation.cache.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${music.recommendation.cache.ttl-ms:300000}")
+    private long ttlMs;
+
+    @Value("${music.recommendation.cache.max-stale-ms:3600000}")
+    private long maxStaleMs;
+
+    // Access-ordered, so the eldest entry is the least recently used
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+            return size() > maxEntries;
+        }
+    };
+    // Misses being computed right now; concurrent misses on the same key wait for the first one
+    private final Map<Key, CompletableFuture<Entry>> inFlight = new ConcurrentHashMap<>();
+    private final Map<Long, Long> userGenerations = new ConcurrentHashMap<>();
+    private final Map<Algorithm, AtomicLong> modelGenerations = new EnumMap<>(Algorithm.class);
+    private final Map<Algorithm, Stats> stats = new EnumMap<>(Algorithm.class);
+
+    @Autowired
+    public RecommendationCacheService(RecommendationService recommendationService,
+                                      @Value("${music.recommendation.cache.refresh-threads:1}") int threads,
+                                      @Value("${music.recommendation.cache.refresh-queue-size:256}") int queueSize) {
+        this.recommendationService = recommendationService;
+        AtomicLong counter = new AtomicLong();
+        this.refresher = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize), runnable -> {
+                    Thread thread = new Thread(runnable, "recommendation-refresh-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        for (Algorithm algorithm : Algorithm.values()) {
+            modelGenerations.put(algorithm, new AtomicLong());
+            stats.put(algorithm, new Stats());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    public List<SongEntity> getRecommendations(Long userId, Algorithm algorithm, int limit) {
+        limit = Math.max(1, Math.min(limit, MAX_LIMIT));
+        Key key = new Key(userId, algorithm, bucketFor(limit));
+        Stats counters = stats.get(algorithm);
+        long now = System.currentTimeMillis();
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+        if (entry != null && now - entry.computedAt < maxStaleMs) {
+            if (isFresh(key, entry, now)) {
+                counters.hits.increment();
+            } else {
+                counters.staleHits.increment();
+                refreshInBackground(key, entry);
+            }
+            return head(entry.songs, limit);
+        }
+        counters.misses.increment();
+        return head(loadOnce(key).songs, limit);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInteractionRecorded(InteractionRecordedEvent event) {
+        invalidateUser(event.getInteraction().getUserId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPlaylistChanged(PlaylistChangedEvent event) {
+        invalidateUser(event.getUserId());
+    }
+
+    @EventListener
+    public void onModelPublished(RecommendationModelPublishedEvent event) {
+        modelGenerations.get(Algorithm.MATRIX).incrementAndGet();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> result = new HashMap<>();
+        synchronized (entries) {
+            result.put("entries", entries.size());
+        }
+        result.put("maxEntries", maxEntries);
+        for (Algorithm algorithm : Algorithm.values()) {
+            result.put(algorithm.name().toLowerCase(), stats.get(algorithm).toMap());
+        }
+        return result;
+    }
+
+    private void invalidateUser(Long userId) {
+        if (userId != null) {
+            userGenerations.merge(userId, 1L, Long::sum);
+        }
+    }
+
+    private boolean isFresh(Key key, Entry entry, long now) {
+        return now - entry.computedAt < ttlMs
+                && entry.userGeneration == userGeneration(key.userId)
+                && entry.modelGeneration == modelGenerations.get(key.algorithm).get();
+    }
+
+    private void refreshInBackground(Key key, Entry stale) {
+        if (!stale.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refresher.execute(() -> {
+                try {
+                    load(key);
+                } catch (RuntimeException e) {
+                    LOGGER.log(Level.WARNING, "Failed to refresh " + key.algorithm + " recommendations for user "
+                            + key.userId, e);
+                } finally {
+                    stale.refreshing.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            stale.refreshing.set(false);
+            LOGGER.fine("Recommendation refresh queue full, keeping stale entry for user " + key.userId);
+        }
+    }
+
+    // Single-flight wrapper around load for the miss path, mirroring the refreshing flag on stale entries
+    private Entry loadOnce(Key key) {
+        CompletableFuture<Entry> pending = new CompletableFuture<>();
+        CompletableFuture<Entry> existing = inFlight.putIfAbsent(key, pending);
+        if (existing != null) {
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+        try {
+            Entry entry = load(key);
+            pending.complete(entry);
+            return entry;
+        } catch (RuntimeException e) {
+            pending.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, pending);
+        }
+    }
+
+    // Computes the bucket and stores it; generations are read first so a change that lands during
+    // the computation leaves the new entry stale
+    private Entry load(Key key) {
+        long userGeneration = userGeneration(key.userId);
+        long modelGeneration = modelGenerations.get(key.algorithm).get();
+        long start = System.nanoTime();
+        List<SongEntity> songs = key.algorithm == Algorithm.MATRIX
+                ? recommendationService.getMatrixFactorizationRecommendations(key.userId, key.bucket)
+                : recommendationService.getRecommendedSongs(key.userId, key.bucket);
+        stats.get(key.algorithm).recordComputation(System.nanoTime() - start);
+        Entry entry = new Entry(List.copyOf(songs), System.currentTimeMillis(), userGeneration, modelGeneration);
+        synchronized (entries) {
+            entries.put(key, entry);
+        }
+        return entry;
+    }
+
+    private long userGeneration(Long userId) {
+        return userGenerations.getOrDefault(userId, 0L);
+    }
+
+    private static int bucketFor(int limit) {
+        return Math.max(MIN_BUCKET, Integer.highestOneBit(limit - 1) << 1);
+    }
+
+    private static List<SongEntity> head(List<SongEntity> songs, int limit) {
+        return songs.size() <= limit ? songs : songs.subList(0, limit);
+    }
+
+    private static class Key {
+        private final Long userId;
+        private final Algorithm algorithm;
+        private final int bucket;
+
+        Key(Long userId, Algorithm algorithm, int bucket) {
+            this.userId = userId;
+            this.algorithm = algorithm;
+            this.bucket = bucket;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return bucket == other.bucket && algorithm == other.algorithm && Objects.equals(userId, other.userId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, algorithm, bucket);
+        }
+    }
+
+    private static class Entry {
+        private final List<SongEntity> songs;
+        private final long computedAt;
+        private final long userGeneration;
+        private final long modelGeneration;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        Entry(List<SongEntity> songs, long computedAt, long userGeneration, long modelGeneration) {
+            this.songs = songs;
+            this.computedAt = computedAt;
+            this.userGeneration = userGeneration;
+            this.modelGeneration = modelGeneration;
+        }
+    }
+
+    private static class Stats {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder staleHits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder computations = new LongAdder();
+        private final LongAdder computeNanos = new LongAdder();
+
+        void recordComputation(long nanos) {
+            computations.increment();
+            computeNanos.add(nanos);
+        }
+
+        Map<String, Object> toMap() {
+            long hitCount = hits.sum() + staleHits.sum();
+            long requestCount = hitCount + misses.sum();
+            long computeCount = computations.sum();
+            Map<String, Object> map = new HashMap<>();
+            map.put("hits", hits.sum());
+            map.put("staleHits", staleHits.sum());
+            map.put("misses", misses.sum());
+            map.put("hitRatio", requestCount == 0 ? 0.0 : (double) hitCount / requestCount);
+            map.put("computations", computeCount);
+            map.put("avgComputeMs", computeCount == 0 ? 0.0 : computeNanos.sum() / 1e6 / computeCount);
+            return map;
+        }
+    }
+}
@@ -1,30 +1,173 @@
 package com.musicApp.restAPI.service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Logger;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import com.musicApp.restAPI.datastructures.index.InvertedIndex;
+import com.musicApp.restAPI.datastructures.index.TextNormalizer;
+import com.musicApp.restAPI.datastructures.index.TrigramIndex;
+import com.musicApp.restAPI.event.SongCatalogChangedEvent;
 import com.musicApp.restAPI.sql.persistance.Song.SongEntity;
 import com.musicApp.restAPI.sql.persistance.Song.SongRepository;
 
+// Full-text song search over an in-memory inverted index of title, artist, album and genre.
+// The index is built once at startup and kept current from song catalog events, so a query
+// never touches the database. Fuzzy mode also matches title and artist words with typos,
+// using a trigram index over that vocabulary.
 @Service
 public class SearchService {
-    
+    private static final Logger LOGGER = Logger.getLogger(SearchService.class.getName());
+
+    // Field weights: a match in the title counts more than one in the genre
+    private static final int TITLE_WEIGHT = 3;
+    private static final int ARTIST_WEIGHT = 2;
+    private static final int ALBUM_WEIGHT = 1;
+    private static final int GENRE_WEIGHT = 1;
+
     private final SongRepository songRepository;
-    
+    private final InvertedIndex index = new InvertedIndex();
+    private final TrigramIndex vocabulary = new TrigramIndex();
+    private final Map<Long, SongEntity> songs = new ConcurrentHashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Value("${music.search.max-results:100}")
+    private int maxResults;
+
     @Autowired
     public SearchService(SongRepository songRepository) {
         this.songRepository = songRepository;
     }
-    
-    public List<SongEntity> searchSongs(String query) {
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIndex() {
+        long start = System.currentTimeMillis();
         List<SongEntity> allSongs = songRepository.findAll();
-        return allSongs.stream()
-            .filter(song -> song.getTitle().toLowerCase().contains(query.toLowerCase()) ||
-                           song.getArtist().toLowerCase().contains(query.toLowerCase()) ||
-                           song.getGenre().toLowerCase().contains(query.toLowerCase()))
-            .collect(Collectors.toList());
+        lock.writeLock().lock();
+        try {
+            for (SongEntity song : allSongs) {
+                addToIndex(song);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        LOGGER.info("Indexed " + index.size() + " songs (" + index.termCount() + " terms, "
+                + vocabulary.size() + " fuzzy terms) in " + (System.currentTimeMillis() - start) + " ms");
+    }
+
+    // Songs matching every word of the query, best match first. The last word is treated as a
+    // prefix so results update while the user is still typing it.
+    public List<SongEntity> searchSongs(String query) {
+        return searchSongs(query, false);
+    }
+
+    // With fuzzy set, each word also matches title and artist words a few edits away
+    // (one edit for words up to five letters, two beyond), ranked below exact matches
+    public List<SongEntity> searchSongs(String query, boolean fuzzy) {
+        List<String> terms = TextNormalizer.tokenize(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        long[] ids;
+        lock.readLock().lock();
+        try {
+            ids = fuzzy ? index.searchAlternatives(fuzzyAlternatives(terms), maxResults)
+                    : index.search(terms, true, maxResults);
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<SongEntity> results = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            SongEntity song = songs.get(id);
+            if (song != null) {
+                results.add(song);
+            }
+        }
+        return results;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSongCatalogChanged(SongCatalogChangedEvent event) {
+        SongEntity song = event.getSong();
+        if (song.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (event.getType() == SongCatalogChangedEvent.Type.DELETED) {
+                index.remove(song.getId());
+                SongEntity removed = songs.remove(song.getId());
+                if (removed != null) {
+                    fuzzyTokens(removed).forEach(vocabulary::removeTerm);
+                }
+            } else {
+                addToIndex(song);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Map<String, Double> fuzzyAlternativesFor(String term, boolean prefix) {
+        Map<String, Double> alternatives = new LinkedHashMap<>();
+        alternatives.put(term, 1.0);
+        if (prefix) {
+            for (String completion : index.termsWithPrefix(term)) {
+                alternatives.putIfAbsent(completion, 1.0);
+            }
+        }
+        int maxDistance = term.length() <= 2 ? 0 : term.length() <= 5 ? 1 : 2;
+        if (maxDistance > 0) {
+            for (Map.Entry<String, Integer> match : vocabulary.similar(term, maxDistance).entrySet()) {
+                alternatives.putIfAbsent(match.getKey(), 1.0 / (1 + match.getValue()));
+            }
+        }
+        return alternatives;
+    }
+
+    private List<Map<String, Double>> fuzzyAlternatives(List<String> terms) {
+        List<Map<String, Double>> alternatives = new ArrayList<>(terms.size());
+        for (int i = 0; i < terms.size(); i++) {
+            alternatives.add(fuzzyAlternativesFor(terms.get(i), i == terms.size() - 1));
+        }
+        return alternatives;
+    }
+
+    private static List<String> fuzzyTokens(SongEntity song) {
+        List<String> tokens = new ArrayList<>(TextNormalizer.tokenize(song.getTitle()));
+        tokens.addAll(TextNormalizer.tokenize(song.getArtist()));
+        return tokens;
+    }
+
+    private void addToIndex(SongEntity song) {
+        Map<String, Integer> termFrequencies = new HashMap<>();
+        addField(termFrequencies, song.getTitle(), TITLE_WEIGHT);
+        addField(termFrequencies, song.getArtist(), ARTIST_WEIGHT);
+        addField(termFrequencies, song.getAlbum(), ALBUM_WEIGHT);
+        addField(termFrequencies, song.getGenre(), GENRE_WEIGHT);
+        index.add(song.getId(), termFrequencies);
+        SongEntity previous = songs.put(song.getId(), song);
+        if (previous != null) {
+            fuzzyTokens(previous).forEach(vocabulary::removeTerm);
+        }
+        fuzzyTokens(song).forEach(vocabulary::addTerm);
+    }
+
+    private static void addField(Map<String, Integer> termFrequencies, String value, int weight) {
+        for (String token : TextNormalizer.tokenize(value)) {
+            termFrequencies.merge(token, weight, Integer::sum);
+        }
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,104 @@
+package com.musicApp.restAPI.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.musicApp.restAPI.datastructures.ann.HnswIndex;
+import com.musicApp.restAPI.datastructures.matrix.FactorModel;
+import com.musicApp.restAPI.event.RecommendationModelPublishedEvent;
+
+import jakarta.annotation.PreDestroy;
+
+// "More like this": songs whose latent factors point the same way as a given song's, found
+// through an HNSW index over the song factors of the current matrix factorization model. The index
+// is rebuilt on its own thread whenever a new model is published and swapped in together with it;
+// until then queries keep using the previous snapshot. Models published during a build collapse
+// into one follow-up build of the newest.
+@Service
+public class SimilarSongService {
+    private static final Logger LOGGER = Logger.getLogger(SimilarSongService.class.getName());
+
+    private volatile Snapshot snapshot;
+    // Newest model still waiting for its index; non-null means a build is queued
+    private final AtomicReference<FactorModel> pending = new AtomicReference<>();
+    private final ExecutorService builder = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "similar-song-index");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Links per node; more links raise recall and memory use
+    @Value("${music.recommendation.similar.max-neighbors:16}")
+    private int maxNeighbors;
+
+    @Value("${music.recommendation.similar.ef-construction:200}")
+    private int efConstruction;
+
+    // Candidate list size per query; raise for better recall at some latency
+    @Value("${music.recommendation.similar.ef-search:64}")
+    private int efSearch;
+
+    @PreDestroy
+    public void shutdown() {
+        builder.shutdownNow();
+    }
+
+    @EventListener
+    public void onModelPublished(RecommendationModelPublishedEvent event) {
+        if (pending.getAndSet(event.getModel()) == null) {
+            builder.execute(this::buildPending);
+        }
+    }
+
+    private void buildPending() {
+        FactorModel model = pending.getAndSet(null);
+        if (model == null) {
+            return;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            HnswIndex index = new HnswIndex(model.songFactors(), model.factors(), maxNeighbors, efConstruction,
+                    model.version());
+            snapshot = new Snapshot(model, index);
+            LOGGER.info("Built similar-song index for model v" + model.version() + " over " + index.size()
+                    + " songs in " + (System.currentTimeMillis() - start) + " ms");
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Failed to build similar-song index for model v" + model.version(), e);
+        }
+    }
+
+    // Ids of up to k songs most similar to songId, most similar first; empty if the song is not
+    // part of the current model
+    public List<Long> similarSongIds(Long songId, int k) {
+        Snapshot current = snapshot;
+        int song = current != null ? current.model.songs().indexOf(songId) : -1;
+        if (song < 0) {
+            return List.of();
+        }
+        int[] neighbours = current.index.neighboursOf(song, k, efSearch);
+        List<Long> ids = new ArrayList<>(neighbours.length);
+        for (int neighbour : neighbours) {
+            ids.add(current.model.songs().idAt(neighbour));
+        }
+        return ids;
+    }
+
+    private static class Snapshot {
+        private final FactorModel model;
+        private final HnswIndex index;
+
+        Snapshot(FactorModel model, HnswIndex index) {
+            this.model = model;
+            this.index = index;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.musicApp.restAPI.service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.musicApp.restAPI.datastructures.index.CompletionIndex;
+import com.musicApp.restAPI.datastructures.index.TextNormalizer;
+import com.musicApp.restAPI.event.InteractionRecordedEvent;
+import com.musicApp.restAPI.event.SongCatalogChangedEvent;
+import com.musicApp.restAPI.repository.UserSongInteractionRepository;
+import com.musicApp.restAPI.sql.persistance.Song.SongEntity;
+import com.musicApp.restAPI.sql.persistance.Song.SongRepository;
+
+import jakarta.annotation.PreDestroy;
+
+// Search-as-you-type completions for song titles, artists and albums, ranked by play count.
+// Lookups run against an immutable CompletionIndex snapshot; plays and catalog changes only mark
+// it dirty, and a background rebuild swaps in a fresh snapshot at most once per refresh interval.
+@Service
+public class SuggestionService {
+    private static final Logger LOGGER = Logger.getLogger(SuggestionService.class.getName());
+
+    public static final int MAX_SUGGESTIONS = 50;
+
+    private final SongRepository songRepository;
+    private final UserSongInteractionRepository interactionRepository;
+
+    private final Map<Long, SongEntity> songs = new ConcurrentHashMap<>();
+    private final Map<Long, Long> playCounts = new ConcurrentHashMap<>();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final ExecutorService rebuilder = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "suggestion-index");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile Snapshot snapshot = new Snapshot(new CompletionIndex(new String[0], new int[0], new double[0]),
+            new Suggestion[0]);
+    private volatile long lastBuild;
+
+    @Value("${music.search.suggest.refresh-ms:5000}")
+    private long refreshMs;
+
+    @Autowired
+    public SuggestionService(SongRepository songRepository, UserSongInteractionRepository interactionRepository) {
+        this.songRepository = songRepository;
+        this.interactionRepository = interactionRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        for (SongEntity song : songRepository.findAll()) {
+            songs.put(song.getId(), song);
+        }
+        for (Object[] row : interactionRepository.countPlaysBySong()) {
+            playCounts.put(((Number) row[0]).longValue(), ((Number) row[1]).longValue());
+        }
+        rebuild();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuilder.shutdownNow();
+    }
+
+    // Top completions for a partially typed query; never touches the database
+    public List<Suggestion> suggest(String prefix, int limit) {
+        scheduleRebuildIfDirty();
+        String key = String.join(" ", TextNormalizer.tokenize(prefix));
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        Snapshot current = snapshot;
+        int[] hits = current.index.topK(key, Math.min(limit, MAX_SUGGESTIONS));
+        List<Suggestion> result = new ArrayList<>(hits.length);
+        for (int hit : hits) {
+            result.add(current.suggestions[hit]);
+        }
+        return result;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInteractionRecorded(InteractionRecordedEvent event) {
+        if (event.getInteraction().isPlayed()) {
+            playCounts.merge(event.getInteraction().getSongId(), 1L, Long::sum);
+            dirty.set(true);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSongCatalogChanged(SongCatalogChangedEvent event) {
+        SongEntity song = event.getSong();
+        if (song.getId() == null) {
+            return;
+        }
+        if (event.getType() == SongCatalogChangedEvent.Type.DELETED) {
+            songs.remove(song.getId());
+            playCounts.remove(song.getId());
+        } else {
+            songs.put(song.getId(), song);
+        }
+        dirty.set(true);
+    }
+
+    private void scheduleRebuildIfDirty() {
+        if (dirty.get() && System.currentTimeMillis() - lastBuild >= refreshMs
+                && rebuilding.compareAndSet(false, true)) {
+            rebuilder.execute(() -> {
+                try {
+                    rebuild();
+                } finally {
+                    rebuilding.set(false);
+                }
+            });
+        }
+    }
+
+    private void rebuild() {
+        dirty.set(false);
+        long start = System.currentTimeMillis();
+
+        // One suggestion per distinct normalized title, artist and album, weighted by total plays
+        Map<String, Suggestion> byKey = new LinkedHashMap<>();
+        for (SongEntity song : songs.values()) {
+            long plays = playCounts.getOrDefault(song.getId(), 0L);
+            collect(byKey, song.getTitle(), "title", song.getId(), plays);
+            collect(byKey, song.getArtist(), "artist", null, plays);
+            collect(byKey, song.getAlbum(), "album", null, plays);
+        }
+
+        Suggestion[] suggestions = byKey.values().toArray(new Suggestion[0]);
+        double[] weights = new double[suggestions.length];
+        List<String> keys = new ArrayList<>();
+        List<Integer> targets = new ArrayList<>();
+        for (int i = 0; i < suggestions.length; i++) {
+            weights[i] = suggestions[i].plays;
+            // Index every word start, so "sub" completes "Yellow Submarine"
+            List<String> tokens = TextNormalizer.tokenize(suggestions[i].text);
+            Set<String> suffixes = new HashSet<>();
+            for (int t = 0; t < tokens.size(); t++) {
+                String key = String.join(" ", tokens.subList(t, tokens.size()));
+                if (suffixes.add(key)) {
+                    keys.add(key);
+                    targets.add(i);
+                }
+            }
+        }
+
+        int[] targetArray = targets.stream().mapToInt(Integer::intValue).toArray();
+        snapshot = new Snapshot(new CompletionIndex(keys.toArray(new String[0]), targetArray, weights), suggestions);
+        lastBuild = System.currentTimeMillis();
+        LOGGER.fine("Built suggestion index with " + suggestions.length + " entries in "
+                + (lastBuild - start) + " ms");
+    }
+
+    private static void collect(Map<String, Suggestion> byKey, String text, String type, Long songId, long plays) {
+        if (text == null || text.isBlank()) {
+            return;
+        }
+        String key = type + ':' + TextNormalizer.normalize(text).trim();
+        Suggestion existing = byKey.get(key);
+        if (existing == null) {
+            byKey.put(key, new Suggestion(text.trim(), type, songId, plays));
+        } else {
+            existing.plays += plays;
+        }
+    }
+
+    private static class Snapshot {
+        private final CompletionIndex index;
+        private final Suggestion[] suggestions;
+
+        Snapshot(CompletionIndex index, Suggestion[] suggestions) {
+            this.index = index;
+            this.suggestions = suggestions;
+        }
+    }
+
+    public static class Suggestion {
+        private final String text;
+        private final String type;
+        private final Long songId;
+        private long plays;
+
+        Suggestion(String text, String type, Long songId, long plays) {
+            this.text = text;
+            this.type = type;
+            this.songId = songId;
+            this.plays = plays;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        // "title", "artist" or "album"
+        public String getType() {
+            return type;
+        }
+
+        // Set for title suggestions only
+        public Long getSongId() {
+            return songId;
+        }
+
+        public long getPlays() {
+            return plays;
+        }
+    }
+}
@@ -1,8 +1,15 @@
 package com.musicApp.restAPI.sql.persistance.Playlist;
 
 import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import jakarta.persistence.QueryHint;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.musicApp.restAPI.sql.persistance.User.UserEntity;
@@ -10,4 +17,19 @@ import com.musicApp.restAPI.sql.persistance.User.UserEntity;
 @Repository
 public interface PlaylistRepository extends JpaRepository<PlaylistEntity, Long> {
     List<PlaylistEntity> findByUser(UserEntity user);
+    
+    // Cursor-style reads for NDJSON export; must be consumed inside a transaction
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM PlaylistEntity p")
+    Stream<PlaylistEntity> streamAll();
+    
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM PlaylistEntity p WHERE p.user.id = :userId")
+    Stream<PlaylistEntity> streamByUserId(@Param("userId") Long userId);
 }
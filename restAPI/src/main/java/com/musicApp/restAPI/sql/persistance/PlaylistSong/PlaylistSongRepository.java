@@ -1,10 +1,21 @@
 package com.musicApp.restAPI.sql.persistance.PlaylistSong;
 
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface PlaylistSongRepository extends JpaRepository<PlaylistSongEntity, Long> {
     boolean existsByPlaylistIdAndSongId(Long playlistId, Long songId);
     PlaylistSongEntity findByPlaylistIdAndSongId(Long playlistId, Long songId);
+    
+    // [owner user id, song id] for every song in every playlist
+    @Query("SELECT ps.playlist.user.id, ps.song.id FROM PlaylistSongEntity ps")
+    List<Object[]> findUserSongPairs();
+    
+    // [playlist id, song id] for every playlist entry, grouped by playlist in the order songs were added
+    @Query("SELECT ps.playlist.id, ps.song.id FROM PlaylistSongEntity ps ORDER BY ps.playlist.id, ps.id")
+    List<Object[]> findPlaylistSongSequences();
 }
@@ -17,7 +17,9 @@ import java.util.List;
 
 @Data
 @Entity
-@Table(name = "songs")
+@Table(name = "songs", indexes = {
+    @Index(name = "IX_songs_genre", columnList = "genre")
+})
 public class SongEntity {
 
     @Id
@@ -0,0 +1,54 @@
+package com.musicApp.restAPI.sql.persistance.Song;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Field selection for lightweight song listings. Maps the JSON field names clients may ask for
+// in fields= to entity attributes, so only those columns are selected and no entities are built.
+public final class SongProjection {
+
+    public static final List<String> DEFAULT_FIELDS = List.of("id", "title", "artist", "duration", "fileName");
+
+    private static final Map<String, String> ATTRIBUTES = new LinkedHashMap<>();
+    static {
+        ATTRIBUTES.put("id", "id");
+        ATTRIBUTES.put("title", "title");
+        ATTRIBUTES.put("artist", "artist");
+        ATTRIBUTES.put("album", "album");
+        ATTRIBUTES.put("genre", "genre");
+        ATTRIBUTES.put("duration", "duration");
+        ATTRIBUTES.put("fileName", "fileName");
+        ATTRIBUTES.put("year", "releaseYear");
+        ATTRIBUTES.put("tempo", "tempo");
+        ATTRIBUTES.put("energy", "energy");
+    }
+
+    private SongProjection() {
+    }
+
+    // Parse a comma-separated fields= value; id is always included first since it is the cursor
+    public static List<String> parseFields(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return DEFAULT_FIELDS;
+        }
+        List<String> selected = new ArrayList<>();
+        selected.add("id");
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty() || selected.contains(name)) {
+                continue;
+            }
+            if (!ATTRIBUTES.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown field '" + name + "', expected one of " + ATTRIBUTES.keySet());
+            }
+            selected.add(name);
+        }
+        return selected;
+    }
+
+    public static String attribute(String field) {
+        return ATTRIBUTES.get(field);
+    }
+}
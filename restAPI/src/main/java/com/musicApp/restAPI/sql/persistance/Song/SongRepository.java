@@ -3,11 +3,19 @@ package com.musicApp.restAPI.sql.persistance.Song;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.musicApp.restAPI.sql.persistance.User.UserEntity;
 
 @Repository
-public interface SongRepository extends JpaRepository<SongEntity, Long> {
+public interface SongRepository extends JpaRepository<SongEntity, Long>, JpaSpecificationExecutor<SongEntity>,
+        SongRepositoryCustom {
     List<SongEntity> findByFavoritedByUsers(UserEntity user);
+
+    List<SongEntity> findByGenre(String genre);
+
+    @Query("SELECT s.id FROM SongEntity s")
+    List<Long> findAllIds();
 }
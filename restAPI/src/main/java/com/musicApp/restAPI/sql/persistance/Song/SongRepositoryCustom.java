@@ -0,0 +1,9 @@
+package com.musicApp.restAPI.sql.persistance.Song;
+
+import java.util.List;
+
+public interface SongRepositoryCustom {
+
+    // One keyset page of raw column values for the given fields (see SongProjection), ordered by id
+    List<Object[]> findFieldsPage(List<String> fields, Long after, int limit);
+}
@@ -0,0 +1,38 @@
+package com.musicApp.restAPI.sql.persistance.Song;
+
+import java.util.List;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+// Column-only queries that skip entity hydration and the persistence context
+public class SongRepositoryImpl implements SongRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Object[]> findFieldsPage(List<String> fields, Long after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<SongEntity> root = query.from(SongEntity.class);
+
+        Selection<?>[] columns = new Selection<?>[fields.size()];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = root.get(SongProjection.attribute(fields.get(i)));
+        }
+        query.multiselect(columns);
+        if (after != null) {
+            query.where(cb.greaterThan(root.get("id"), after));
+        }
+        query.orderBy(cb.asc(root.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
@@ -0,0 +1,46 @@
+package com.musicApp.restAPI.sql.persistance.Song;
+
+import java.util.Locale;
+
+import org.springframework.data.jpa.domain.Specification;
+
+// Query building blocks for songs, pushed down to SQL instead of filtering entities in memory.
+// Matching is a case-insensitive substring match on any database, by comparing lower(column) to a
+// lower-cased pattern; with the leading wildcard it scans rather than seeks, so the text columns
+// carry no indexes for it.
+public final class SongSpecifications {
+
+    private static final char ESCAPE = '\\';
+
+    private SongSpecifications() {
+    }
+
+    // Column contains value; null or blank values match everything. NULL columns never match.
+    public static Specification<SongEntity> containsIgnoreCase(String field, String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String pattern = "%" + escapeLike(value.trim().toLowerCase(Locale.ROOT)) + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.get(field)), pattern, ESCAPE);
+    }
+
+    // Keyset cursor: only songs after the last id of the previous page
+    public static Specification<SongEntity> idGreaterThan(Long after) {
+        if (after == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.greaterThan(root.get("id"), after);
+    }
+
+    // User input must not be able to inject LIKE wildcards
+    private static String escapeLike(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (char c : value.toCharArray()) {
+            if (c == '%' || c == '_' || c == '[' || c == ESCAPE) {
+                escaped.append(ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
@@ -2,12 +2,15 @@ package com.musicApp.restAPI.sql.service;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.musicApp.restAPI.datastructures.linkedlist.PlaylistLinkedListService;
+import com.musicApp.restAPI.event.PlaylistChangedEvent;
 import com.musicApp.restAPI.sql.persistance.Playlist.PlaylistEntity;
 import com.musicApp.restAPI.sql.persistance.Playlist.PlaylistRepository;
 import com.musicApp.restAPI.sql.persistance.Song.SongEntity;
@@ -19,15 +22,18 @@ public class PlaylistService {
     private final PlaylistRepository playlistRepository;
     private final SongRepository songRepository;
     private final PlaylistLinkedListService playlistLinkedListService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
     public PlaylistService(
             PlaylistRepository playlistRepository,
             SongRepository songRepository,
-            PlaylistLinkedListService playlistLinkedListService) {
+            PlaylistLinkedListService playlistLinkedListService,
+            ApplicationEventPublisher eventPublisher) {
         this.playlistRepository = playlistRepository;
         this.songRepository = songRepository;
         this.playlistLinkedListService = playlistLinkedListService;
+        this.eventPublisher = eventPublisher;
     }
 
     // Get all playlists
@@ -35,6 +41,11 @@ public class PlaylistService {
         return playlistRepository.findAll();
     }
 
+    // Stream playlists, optionally only one user's; must be consumed inside a transaction
+    public Stream<PlaylistEntity> streamPlaylists(Long userId) {
+        return userId != null ? playlistRepository.streamByUserId(userId) : playlistRepository.streamAll();
+    }
+
     // Get playlist by ID
     public PlaylistEntity getPlaylistById(Long id) {
         return playlistRepository.findById(id).orElse(null);
@@ -51,7 +62,10 @@ public class PlaylistService {
     public boolean deletePlaylist(Long id) {
         Optional<PlaylistEntity> playlist = playlistRepository.findById(id);
         if (playlist.isPresent()) {
+            Long ownerId = playlist.get().getUserId();
             playlistRepository.delete(playlist.get());
+            eventPublisher.publishEvent(new PlaylistChangedEvent(id, PlaylistChangedEvent.Type.DELETED, true,
+                    ownerId, null));
             return true;
         }
         return false;
@@ -1,44 +1,72 @@
-package com.musicApp.restAPI.sql.service;
-
-import java.util.List;
-import java.util.Optional;
-
-import org.springframework.stereotype.Service;
-
-import com.musicApp.restAPI.sql.persistance.Song.SongEntity;
-import com.musicApp.restAPI.sql.persistance.Song.SongRepository;
-
-@Service
-public class SongService {
-
-    private final SongRepository songRepository;
-
-    public SongService(SongRepository songRepository) {
-        this.songRepository = songRepository;
-    }
-
-    // Get all songs
-    public List<SongEntity> getAllSongs() {
-        return songRepository.findAll();
-    }
-
-    // Get song by ID
-    public SongEntity getSongById(Long id) {
-        return songRepository.findById(id).orElse(null);
-    }
-
-    // Create new song
-    public SongEntity createSong(SongEntity song) {
-        return songRepository.save(song);
-    }
-
-    // Delete song
-    public boolean deleteSong(Long id) {
-        Optional<SongEntity> song = songRepository.findById(id);
-        if (song.isPresent()) {
-            songRepository.delete(song.get());
-            return true;
-        }
-        return false;
-    }
-}
+package com.musicApp.restAPI.sql.service;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+
+import com.musicApp.restAPI.event.SongCatalogChangedEvent;
+import com.musicApp.restAPI.sql.persistance.Song.SongEntity;
+import com.musicApp.restAPI.sql.persistance.Song.SongRepository;
+import com.musicApp.restAPI.sql.persistance.Song.SongSpecifications;
+
+@Service
+public class SongService {
+
+    private final SongRepository songRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public SongService(SongRepository songRepository, ApplicationEventPublisher eventPublisher) {
+        this.songRepository = songRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    // Get all songs
+    public List<SongEntity> getAllSongs() {
+        return songRepository.findAll();
+    }
+
+    // One keyset page of selected columns only (see SongProjection), for lightweight listings
+    public List<Object[]> listSongFields(List<String> fields, Long after, int limit) {
+        return songRepository.findFieldsPage(fields, after, limit);
+    }
+
+    // Search by any combination of fields (substring, case-insensitive), one keyset page at a time.
+    // The filter, ordering and limit all run in the database.
+    public List<SongEntity> searchSongs(String title, String artist, String genre, String album,
+                                        Long after, int limit) {
+        Specification<SongEntity> spec = Specification.allOf(
+                SongSpecifications.containsIgnoreCase("title", title),
+                SongSpecifications.containsIgnoreCase("artist", artist),
+                SongSpecifications.containsIgnoreCase("genre", genre),
+                SongSpecifications.containsIgnoreCase("album", album),
+                SongSpecifications.idGreaterThan(after));
+        return songRepository.findBy(spec, query -> query.sortBy(Sort.by("id")).limit(limit).all());
+    }
+
+    // Get song by ID
+    public SongEntity getSongById(Long id) {
+        return songRepository.findById(id).orElse(null);
+    }
+
+    // Create new song
+    public SongEntity createSong(SongEntity song) {
+        SongEntity saved = songRepository.save(song);
+        eventPublisher.publishEvent(new SongCatalogChangedEvent(saved, SongCatalogChangedEvent.Type.CREATED));
+        return saved;
+    }
+
+    // Delete song
+    public boolean deleteSong(Long id) {
+        Optional<SongEntity> song = songRepository.findById(id);
+        if (song.isPresent()) {
+            songRepository.delete(song.get());
+            eventPublisher.publishEvent(new SongCatalogChangedEvent(song.get(), SongCatalogChangedEvent.Type.DELETED));
+            return true;
+        }
+        return false;
+    }
+}
@@ -1,6 +1,7 @@
 package com.musicApp.restAPI.sql.service;
 
 import java.util.List;
+import java.util.stream.Stream;
 import java.util.Optional;
 import java.util.ArrayList;
 
@@ -35,6 +36,11 @@ public class UserService {
         return this.userRepository.findAll();
     }
 
+    // Stream all users; must be consumed inside a transaction
+    public Stream<UserEntity> streamAllUsers() {
+        return this.userRepository.streamAll();
+    }
+
     // find user by its id (renamed to match controller)
     public UserEntity getUserById(Long id) {
         return this.userRepository.findById(id).orElse(null);
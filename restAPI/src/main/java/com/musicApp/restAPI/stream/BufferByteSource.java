@@ -0,0 +1,55 @@
+package com.musicApp.restAPI.stream;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+// Byte source over an in-memory buffer. Ranges are written from duplicated views, so concurrent
+// readers never disturb each other's position.
+public class BufferByteSource implements ByteSource {
+
+    // Largest heap copy made when the target stream cannot take a ByteBuffer directly
+    private static final int COPY_BYTES = 64 * 1024;
+
+    private final ByteBuffer buffer;
+
+    public BufferByteSource(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    @Override
+    public long length() {
+        return buffer.capacity();
+    }
+
+    @Override
+    public void writeTo(OutputStream out, long position, long count) throws IOException {
+        ByteBuffer view = buffer.duplicate();
+        view.limit((int) (position + count));
+        view.position((int) position);
+        write(view, out);
+    }
+
+    // Writes the remaining bytes of view. A heap buffer is written straight from its array; a direct
+    // one goes to a channel as is, and otherwise through one bounded copy per call.
+    static void write(ByteBuffer view, OutputStream out) throws IOException {
+        if (view.hasArray()) {
+            out.write(view.array(), view.arrayOffset() + view.position(), view.remaining());
+            view.position(view.limit());
+            return;
+        }
+        if (out instanceof WritableByteChannel channel) {
+            while (view.hasRemaining()) {
+                channel.write(view);
+            }
+            return;
+        }
+        byte[] copy = new byte[Math.min(COPY_BYTES, view.remaining())];
+        while (view.hasRemaining()) {
+            int n = Math.min(copy.length, view.remaining());
+            view.get(copy, 0, n);
+            out.write(copy, 0, n);
+        }
+    }
+}
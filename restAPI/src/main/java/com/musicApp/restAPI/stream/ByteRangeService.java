@@ -0,0 +1,155 @@
+package com.musicApp.restAPI.stream;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@Service
+public class ByteRangeService {
+    private static final Logger LOGGER = Logger.getLogger(ByteRangeService.class.getName());
+
+    // Same guard Spring applies in HttpRange.toResourceRegions against range-amplification requests
+    private static final int MAX_RANGES = 100;
+
+    // Build a full (200) or partial (206) response for a byte source based on the Range header.
+    // Single ranges are written as one region, multiple ranges as multipart/byteranges.
+    // Malformed or unsatisfiable ranges produce 416 with "Content-Range: bytes */length".
+    public ResponseEntity<StreamingResponseBody> buildResponse(ByteSource source, HttpHeaders headers,
+                                                               HttpHeaders requestHeaders) throws IOException {
+        long contentLength = source.length();
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        String rangeHeader = requestHeaders.getFirst(HttpHeaders.RANGE);
+        if (rangeHeader != null && !ifRangeMatches(headers, requestHeaders)) {
+            // The client's partial copy is stale, so it gets the whole current representation
+            rangeHeader = null;
+        }
+        if (rangeHeader == null || rangeHeader.isBlank()) {
+            headers.setContentLength(contentLength);
+            if (source.offloadToContainer(0, contentLength)) {
+                return new ResponseEntity<>(headers, HttpStatus.OK);
+            }
+            return new ResponseEntity<>(out -> source.writeTo(out, 0, contentLength), headers, HttpStatus.OK);
+        }
+
+        List<long[]> ranges;
+        try {
+            ranges = resolveRanges(HttpRange.parseRanges(rangeHeader), contentLength);
+        } catch (IllegalArgumentException e) {
+            LOGGER.warning("Rejected range '" + rangeHeader + "': " + e.getMessage());
+            return rangeNotSatisfiable(headers, contentLength);
+        }
+        if (ranges.isEmpty()) {
+            return rangeNotSatisfiable(headers, contentLength);
+        }
+
+        if (ranges.size() == 1) {
+            long start = ranges.get(0)[0];
+            long end = ranges.get(0)[1];
+            headers.set(HttpHeaders.CONTENT_RANGE, contentRange(start, end, contentLength));
+            headers.setContentLength(end - start + 1);
+            if (source.offloadToContainer(start, end - start + 1)) {
+                return new ResponseEntity<>(headers, HttpStatus.PARTIAL_CONTENT);
+            }
+            return new ResponseEntity<>(out -> source.writeTo(out, start, end - start + 1),
+                    headers, HttpStatus.PARTIAL_CONTENT);
+        }
+
+        return multipartResponse(source, headers, ranges, contentLength);
+    }
+
+    // If-Range holds either a strong entity tag or an HTTP date; without validators it never matches
+    private boolean ifRangeMatches(HttpHeaders headers, HttpHeaders requestHeaders) {
+        String ifRange = requestHeaders.getFirst(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(headers.getETag());
+        }
+        try {
+            long date = requestHeaders.getFirstDate(HttpHeaders.IF_RANGE);
+            return date >= 0 && headers.getLastModified() >= 0
+                    && date / 1000 == headers.getLastModified() / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    // Convert parsed ranges to inclusive [start, end] pairs, dropping the ones that start past the end.
+    // Ranges whose total size exceeds the resource are rejected to avoid serving the file many times over.
+    private List<long[]> resolveRanges(List<HttpRange> httpRanges, long contentLength) {
+        if (httpRanges.size() > MAX_RANGES) {
+            throw new IllegalArgumentException("Too many ranges: " + httpRanges.size());
+        }
+        List<long[]> ranges = new ArrayList<>(httpRanges.size());
+        long total = 0;
+        for (HttpRange range : httpRanges) {
+            long start;
+            try {
+                start = range.getRangeStart(contentLength);
+            } catch (IllegalArgumentException e) {
+                // Starts beyond the end of the resource; ignore it as RFC 9110 allows
+                continue;
+            }
+            if (start >= contentLength) {
+                continue;
+            }
+            long end = range.getRangeEnd(contentLength);
+            ranges.add(new long[]{start, end});
+            total += end - start + 1;
+        }
+        if (ranges.size() > 1 && total > contentLength) {
+            throw new IllegalArgumentException("Requested ranges exceed resource length");
+        }
+        return ranges;
+    }
+
+    private ResponseEntity<StreamingResponseBody> multipartResponse(ByteSource source, HttpHeaders headers,
+                                                                    List<long[]> ranges, long contentLength) {
+        MediaType partType = headers.getContentType() != null
+                ? headers.getContentType()
+                : MediaType.APPLICATION_OCTET_STREAM;
+        String boundary = new String(MimeTypeUtils.generateMultipartBoundary(), StandardCharsets.US_ASCII);
+        headers.setContentType(MediaType.parseMediaType("multipart/byteranges; boundary=" + boundary));
+        headers.remove(HttpHeaders.CONTENT_LENGTH);
+
+        StreamingResponseBody body = out -> {
+            for (long[] range : ranges) {
+                writeAscii(out, "\r\n--" + boundary + "\r\n");
+                writeAscii(out, HttpHeaders.CONTENT_TYPE + ": " + partType + "\r\n");
+                writeAscii(out, HttpHeaders.CONTENT_RANGE + ": "
+                        + contentRange(range[0], range[1], contentLength) + "\r\n\r\n");
+                source.writeTo(out, range[0], range[1] - range[0] + 1);
+            }
+            writeAscii(out, "\r\n--" + boundary + "--");
+        };
+        return new ResponseEntity<>(body, headers, HttpStatus.PARTIAL_CONTENT);
+    }
+
+    private ResponseEntity<StreamingResponseBody> rangeNotSatisfiable(HttpHeaders headers, long contentLength) {
+        headers.remove(HttpHeaders.CONTENT_LENGTH);
+        headers.set(HttpHeaders.CONTENT_RANGE, "bytes */" + contentLength);
+        return new ResponseEntity<>(headers, HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE);
+    }
+
+    private static String contentRange(long start, long end, long contentLength) {
+        return "bytes " + start + "-" + end + "/" + contentLength;
+    }
+
+    private static void writeAscii(OutputStream out, String text) throws IOException {
+        out.write(text.getBytes(StandardCharsets.US_ASCII));
+    }
+}
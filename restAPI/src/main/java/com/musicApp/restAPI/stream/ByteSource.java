@@ -0,0 +1,24 @@
+package com.musicApp.restAPI.stream;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+// A readable run of bytes that can write any sub-range of itself to an output stream.
+// Range responses are built on this so the backing store (classpath, file, cache) can vary.
+public interface ByteSource {
+
+    long length() throws IOException;
+
+    void writeTo(OutputStream out, long position, long count) throws IOException;
+
+    // Ask the servlet container to write the range itself (e.g. sendfile). Returns false if it cannot,
+    // in which case the caller must write the body through writeTo.
+    default boolean offloadToContainer(long position, long count) {
+        return false;
+    }
+
+    // Whether offloadToContainer would succeed, without committing to it
+    default boolean canOffloadToContainer() {
+        return false;
+    }
+}
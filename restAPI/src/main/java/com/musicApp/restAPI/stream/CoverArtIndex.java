@@ -0,0 +1,181 @@
+package com.musicApp.restAPI.stream;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+// Index from song/cover file names to the resolved cover image and its media type, built once at
+// startup from the bundled covers and the configured cover directory, and rebuilt when that directory
+// changes. Lookups are a single hash map get on the song's file name, with no probing of extensions.
+@Service
+public class CoverArtIndex {
+    private static final Logger LOGGER = Logger.getLogger(CoverArtIndex.class.getName());
+
+    private static final String COVERS_PATTERN = "classpath:static/covers/*";
+    // Earlier extensions win when a cover exists in several formats
+    private static final String[] EXTENSIONS = {".png", ".jpg", ".jpeg"};
+    private static final String SONG_EXTENSION = ".mp3";
+
+    @Value("${music.storage.cover-dir:${user.home}/MusicApp/coverArt/}")
+    private String coverDir;
+
+    private final ResourcePatternResolver resourceResolver = new PathMatchingResourcePatternResolver();
+
+    private volatile Map<String, CoverEntry> covers = Map.of();
+    private WatchService watchService;
+
+    @PostConstruct
+    public void init() {
+        rebuild();
+        startWatching();
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+
+    // Cover for a song file ("Artist - Title.mp3"), its base name, or a cover file name; null if none
+    public CoverEntry lookup(String filename) {
+        return filename == null ? null : covers.get(filename);
+    }
+
+    public synchronized void rebuild() {
+        Map<String, CoverEntry> index = new HashMap<>();
+        try {
+            for (Resource resource : resourceResolver.getResources(COVERS_PATTERN)) {
+                add(index, resource.getFilename(), resource);
+            }
+        } catch (IOException e) {
+            LOGGER.warning("Failed to scan bundled covers: " + e.getMessage());
+        }
+
+        // Covers in the cover directory override bundled ones with the same name
+        Path dir = Paths.get(coverDir);
+        if (Files.isDirectory(dir)) {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+                for (Path file : files) {
+                    if (Files.isRegularFile(file)) {
+                        add(index, file.getFileName().toString(), new FileSystemResource(file));
+                    }
+                }
+            } catch (IOException e) {
+                LOGGER.warning("Failed to scan cover directory " + dir + ": " + e.getMessage());
+            }
+        }
+
+        covers = index;
+        LOGGER.info("Cover art index built with " + index.size() + " keys");
+    }
+
+    private void add(Map<String, CoverEntry> index, String filename, Resource resource) {
+        if (filename == null) {
+            return;
+        }
+        int rank = extensionRank(filename);
+        if (rank < 0) {
+            return;
+        }
+        MediaType mediaType = MediaTypeFactory.getMediaType(filename).orElse(MediaType.APPLICATION_OCTET_STREAM);
+        CoverEntry entry = new CoverEntry(resource, mediaType, rank);
+        String baseName = filename.substring(0, filename.lastIndexOf('.'));
+
+        index.put(filename, entry);
+        putPreferred(index, baseName, entry);
+        putPreferred(index, baseName + SONG_EXTENSION, entry);
+    }
+
+    // Keep the entry with the preferred extension; later sources (the cover directory) win ties
+    private void putPreferred(Map<String, CoverEntry> index, String key, CoverEntry entry) {
+        CoverEntry existing = index.get(key);
+        if (existing == null || entry.rank <= existing.rank) {
+            index.put(key, entry);
+        }
+    }
+
+    private static int extensionRank(String filename) {
+        String lower = filename.toLowerCase();
+        for (int i = 0; i < EXTENSIONS.length; i++) {
+            if (lower.endsWith(EXTENSIONS[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void startWatching() {
+        Path dir = Paths.get(coverDir);
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            LOGGER.warning("Cannot watch cover directory " + dir + ": " + e.getMessage());
+            return;
+        }
+
+        Thread watcher = new Thread(() -> {
+            try {
+                while (true) {
+                    WatchKey key = watchService.take();
+                    key.pollEvents();
+                    rebuild();
+                    if (!key.reset()) {
+                        break;
+                    }
+                }
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                // Shutting down
+            }
+        }, "cover-art-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    public static class CoverEntry {
+        private final Resource resource;
+        private final MediaType mediaType;
+        private final int rank;
+
+        CoverEntry(Resource resource, MediaType mediaType, int rank) {
+            this.resource = resource;
+            this.mediaType = mediaType;
+            this.rank = rank;
+        }
+
+        public Resource getResource() {
+            return resource;
+        }
+
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+    }
+}
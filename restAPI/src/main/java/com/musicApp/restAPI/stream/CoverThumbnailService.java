@@ -0,0 +1,198 @@
+package com.musicApp.restAPI.stream;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+
+// Generates downscaled JPEG renditions of cover art on first request and keeps them in a disk cache
+// under <cover-dir>/.thumbnails/<size>/. Rendering runs on a small bounded pool; when the pool is busy
+// or a rendition takes too long, callers get null and should serve the original image instead.
+@Service
+public class CoverThumbnailService {
+    private static final Logger LOGGER = Logger.getLogger(CoverThumbnailService.class.getName());
+
+    public static final Set<Integer> SIZES = Set.of(64, 128, 300);
+
+    private static final String THUMBNAIL_DIR = ".thumbnails";
+    private static final float JPEG_QUALITY = 0.85f;
+
+    @Value("${music.storage.cover-dir:${user.home}/MusicApp/coverArt/}")
+    private String coverDir;
+
+    @Value("${music.cover.thumbnail.wait-ms:2000}")
+    private long waitMs;
+
+    private final ThreadPoolExecutor executor;
+    private final Map<Path, Future<Path>> pending = new ConcurrentHashMap<>();
+
+    public CoverThumbnailService(@Value("${music.cover.thumbnail.threads:2}") int threads,
+                                 @Value("${music.cover.thumbnail.queue-size:64}") int queueSize) {
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize), runnable -> {
+                    Thread thread = new Thread(runnable, "cover-thumbnail-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // Path of the rendition of a cover at the given size, rendering it if missing or older than the
+    // original. Returns null if the rendition is not available in time. Throws
+    // IllegalArgumentException for an unsupported size or a name outside the thumbnail directory.
+    public Path getThumbnail(Resource cover, String name, int size) {
+        if (!SIZES.contains(size)) {
+            throw new IllegalArgumentException("Unsupported thumbnail size: " + size);
+        }
+        Path target = resolveThumbnailPath(name, size);
+        try {
+            if (isFresh(target, cover)) {
+                return target;
+            }
+        } catch (IOException e) {
+            LOGGER.warning("Cannot check thumbnail " + target + ": " + e.getMessage());
+            return null;
+        }
+
+        Future<Path> future;
+        try {
+            future = pending.computeIfAbsent(target, key -> executor.submit(() -> {
+                try {
+                    return render(cover, key, size);
+                } finally {
+                    pending.remove(key);
+                }
+            }));
+        } catch (RejectedExecutionException e) {
+            LOGGER.fine("Thumbnail pool saturated, serving original for " + name);
+            return null;
+        }
+
+        try {
+            Path rendered = future.get(waitMs, TimeUnit.MILLISECONDS);
+            // The task may finish before computeIfAbsent stores it, so clean up here as well
+            pending.remove(target, future);
+            return rendered;
+        } catch (TimeoutException e) {
+            // Keeps rendering in the background; the next request will find it on disk
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            pending.remove(target, future);
+            LOGGER.warning("Failed to render " + size + "px thumbnail for " + name + ": " + e.getCause());
+            return null;
+        }
+    }
+
+    // Names that would escape the thumbnail directory (e.g. "../") are rejected
+    Path resolveThumbnailPath(String name, int size) {
+        Path root = Paths.get(coverDir, THUMBNAIL_DIR).toAbsolutePath().normalize();
+        Path target = root.resolve(String.valueOf(size)).resolve(name + ".jpg").normalize();
+        if (!target.startsWith(root.resolve(String.valueOf(size)))) {
+            LOGGER.warning("Rejected thumbnail path outside thumbnail directory: " + name);
+            throw new IllegalArgumentException("Invalid cover name: " + name);
+        }
+        return target;
+    }
+
+    private boolean isFresh(Path target, Resource cover) throws IOException {
+        return Files.isRegularFile(target)
+                && Files.getLastModifiedTime(target).toMillis() >= cover.lastModified();
+    }
+
+    private Path render(Resource cover, Path target, int size) throws IOException {
+        BufferedImage source;
+        try (InputStream in = cover.getInputStream()) {
+            source = ImageIO.read(in);
+        }
+        if (source == null) {
+            throw new IOException("Unsupported image format: " + cover.getFilename());
+        }
+
+        BufferedImage scaled = scale(source, size);
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), "thumb", ".tmp");
+        try {
+            writeJpeg(scaled, temp);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        LOGGER.info("Rendered " + size + "px thumbnail " + target.getFileName());
+        return target;
+    }
+
+    // Fit the image inside size x size, halving repeatedly first so bilinear sampling stays sharp
+    private BufferedImage scale(BufferedImage image, int size) {
+        double ratio = Math.min(1.0, (double) size / Math.max(image.getWidth(), image.getHeight()));
+        int targetWidth = Math.max(1, (int) Math.round(image.getWidth() * ratio));
+        int targetHeight = Math.max(1, (int) Math.round(image.getHeight() * ratio));
+
+        BufferedImage current = image;
+        int width = image.getWidth();
+        int height = image.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            // JPEG has no alpha channel, so always draw onto an opaque RGB canvas
+            BufferedImage next = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = next.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(current, 0, 0, width, height, Color.WHITE, null);
+            g.dispose();
+            current = next;
+        } while (width > targetWidth || height > targetHeight);
+        return current;
+    }
+
+    private void writeJpeg(BufferedImage image, Path file) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(JPEG_QUALITY);
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(file.toFile())) {
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+}
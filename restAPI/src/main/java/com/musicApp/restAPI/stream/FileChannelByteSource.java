@@ -0,0 +1,71 @@
+package com.musicApp.restAPI.stream;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+// Byte source over a file on disk. When the servlet container supports sendfile (Tomcat NIO/NIO2),
+// the transfer is handed to the container so the bytes go from the page cache to the socket without
+// entering the JVM heap. Otherwise FileChannel.transferTo is used against the response stream.
+public class FileChannelByteSource implements ByteSource {
+
+    static final String SENDFILE_SUPPORTED_ATTR = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+    private final Path file;
+    private final HttpServletRequest request;
+
+    public FileChannelByteSource(Path file, HttpServletRequest request) {
+        this.file = file;
+        this.request = request;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    @Override
+    public long length() throws IOException {
+        return Files.size(file);
+    }
+
+    @Override
+    public void writeTo(OutputStream out, long position, long count) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(out);
+            long written = 0;
+            while (written < count) {
+                long transferred = channel.transferTo(position + written, count - written, target);
+                if (transferred <= 0) {
+                    break;
+                }
+                written += transferred;
+            }
+        }
+    }
+
+    @Override
+    public boolean offloadToContainer(long position, long count) {
+        if (!canOffloadToContainer()) {
+            return false;
+        }
+        request.setAttribute(SENDFILE_FILENAME_ATTR, file.toAbsolutePath().toString());
+        request.setAttribute(SENDFILE_START_ATTR, position);
+        request.setAttribute(SENDFILE_END_ATTR, position + count);
+        return true;
+    }
+
+    @Override
+    public boolean canOffloadToContainer() {
+        return request != null && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED_ATTR));
+    }
+}
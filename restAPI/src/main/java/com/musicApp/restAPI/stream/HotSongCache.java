@@ -0,0 +1,377 @@
+package com.musicApp.restAPI.stream;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.musicApp.restAPI.datastructures.sketch.FrequencySketch;
+
+import jakarta.annotation.PreDestroy;
+
+// Byte-budgeted cache of hot audio files held off-heap, for origins the container cannot sendfile
+// (classpath copies, connectors without sendfile); files it can sendfile are never cached, since
+// the page cache already serves them without a copy.
+//
+// A miss never waits for the cache: the request is served from origin, and once the frequency
+// sketch has seen the file admit-frequency times a background fill copies it in, one fill per key
+// at a time. When the cache is full a file is only admitted if it is more popular than every LRU
+// entry it would evict (TinyLFU). Cached bytes live in fixed-size direct chunks taken from a pool
+// capped at max-bytes; an evicted entry's chunks go back to the pool once the last reader still
+// writing from it is done, so direct memory never grows past the budget or waits on GC.
+@Service
+public class HotSongCache {
+    private static final Logger LOGGER = Logger.getLogger(HotSongCache.class.getName());
+
+    @Value("${music.stream.cache.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${music.stream.cache.max-bytes:268435456}")
+    private long maxBytes = 256L * 1024 * 1024;
+
+    @Value("${music.stream.cache.max-entry-bytes:33554432}")
+    private long maxEntryBytes = 32L * 1024 * 1024;
+
+    @Value("${music.stream.cache.chunk-bytes:1048576}")
+    private int chunkBytes = 1024 * 1024;
+
+    // Requests within the sketch window before a file is worth copying into the cache
+    @Value("${music.stream.cache.admit-frequency:2}")
+    private int admitFrequency = 2;
+
+    // Access-ordered, so iteration starts from the least recently used entry
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private final FrequencySketch sketch = new FrequencySketch(4096);
+    private final ArrayDeque<ByteBuffer> freeChunks = new ArrayDeque<>();
+    private long chunksAllocated;
+    private long bytesCached;
+
+    // Keys with a fill queued or running
+    private final Set<String> filling = ConcurrentHashMap.newKeySet();
+    private final Executor filler;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder admissions = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder droppedFills = new LongAdder();
+
+    public HotSongCache() {
+        this(new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(16), runnable -> {
+            Thread thread = new Thread(runnable, "hot-song-fill");
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy()));
+    }
+
+    HotSongCache(Executor filler) {
+        this.filler = filler;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (filler instanceof ExecutorService executor) {
+            executor.shutdownNow();
+        }
+    }
+
+    // Return a cached view of the file identified by key, or null when the caller should stream
+    // from origin. The version (e.g. last-modified time) invalidates entries whose file changed on
+    // disk. Never reads the file on the calling thread.
+    public ByteSource get(String key, long version, ByteSource origin) {
+        if (!enabled || origin.canOffloadToContainer()) {
+            return null;
+        }
+        boolean fill;
+        synchronized (this) {
+            sketch.increment(key);
+            Entry entry = entries.get(key);
+            if (entry != null && entry.version == version) {
+                hits.increment();
+                return new CachedByteSource(entry, origin);
+            }
+            misses.increment();
+            if (entry != null) {
+                remove(key);
+            }
+            fill = sketch.frequency(key) >= admitFrequency;
+        }
+        if (fill && filling.add(key)) {
+            try {
+                filler.execute(() -> {
+                    try {
+                        fill(key, version, origin);
+                    } catch (IOException | RuntimeException e) {
+                        LOGGER.warning("Failed to cache " + key + ": " + e.getMessage());
+                    } finally {
+                        filling.remove(key);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                filling.remove(key);
+                droppedFills.increment();
+            }
+        }
+        return null;
+    }
+
+    public synchronized void invalidate(String key) {
+        remove(key);
+    }
+
+    public synchronized Map<String, Object> getStats() {
+        long hitCount = hits.sum();
+        long requestCount = hitCount + misses.sum();
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("entries", entries.size());
+        stats.put("bytesCached", bytesCached);
+        stats.put("directBytes", chunksAllocated * chunkBytes);
+        stats.put("maxBytes", maxBytes);
+        stats.put("hits", hitCount);
+        stats.put("misses", misses.sum());
+        stats.put("hitRatio", requestCount == 0 ? 0.0 : (double) hitCount / requestCount);
+        stats.put("admissions", admissions.sum());
+        stats.put("rejections", rejections.sum());
+        stats.put("evictions", evictions.sum());
+        stats.put("droppedFills", droppedFills.sum());
+        return stats;
+    }
+
+    private void fill(String key, long version, ByteSource origin) throws IOException {
+        long length = origin.length();
+        ByteBuffer[] chunks;
+        synchronized (this) {
+            Entry existing = entries.get(key);
+            if (existing != null && existing.version == version) {
+                return;
+            }
+            if (!shouldAdmit(key, length)) {
+                rejections.increment();
+                return;
+            }
+            evictFor(chunksFor(length));
+            chunks = takeChunks(chunksFor(length));
+            if (chunks == null) {
+                // Evicted entries are still being read from, so their chunks are not free yet
+                rejections.increment();
+                return;
+            }
+        }
+
+        // Copy outside the lock; the chunks are reserved, so nobody else can hand them out
+        try {
+            copy(origin, length, chunks);
+        } catch (IOException | RuntimeException e) {
+            synchronized (this) {
+                returnChunks(chunks);
+            }
+            throw e;
+        }
+
+        synchronized (this) {
+            if (entries.containsKey(key)) {
+                remove(key);
+            }
+            entries.put(key, new Entry(version, length, chunks));
+            bytesCached += length;
+            admissions.increment();
+        }
+    }
+
+    // Admit if enough chunks are free, or if the file is more popular than every LRU victim that
+    // would have to go to make room for it
+    private boolean shouldAdmit(String key, long length) {
+        long needed = chunksFor(length);
+        if (length <= 0 || length > maxEntryBytes || needed > maxChunks()) {
+            return false;
+        }
+        long available = maxChunks() - chunksInUse();
+        if (available >= needed) {
+            return true;
+        }
+        int candidateFrequency = sketch.frequency(key);
+        for (Map.Entry<String, Entry> victim : entries.entrySet()) {
+            if (sketch.frequency(victim.getKey()) >= candidateFrequency) {
+                return false;
+            }
+            available += victim.getValue().chunks.length;
+            if (available >= needed) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void evictFor(long needed) {
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (maxChunks() - chunksInUse() < needed && it.hasNext()) {
+            Map.Entry<String, Entry> eldest = it.next();
+            it.remove();
+            bytesCached -= eldest.getValue().length;
+            eldest.getValue().release();
+            evictions.increment();
+            LOGGER.fine("Evicted cached song: " + eldest.getKey());
+        }
+    }
+
+    private void remove(String key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            bytesCached -= removed.length;
+            removed.release();
+        }
+    }
+
+    private ByteBuffer[] takeChunks(long count) {
+        if (maxChunks() - chunksInUse() < count) {
+            return null;
+        }
+        ByteBuffer[] chunks = new ByteBuffer[(int) count];
+        for (int i = 0; i < chunks.length; i++) {
+            ByteBuffer chunk = freeChunks.poll();
+            if (chunk == null) {
+                chunk = ByteBuffer.allocateDirect(chunkBytes);
+                chunksAllocated++;
+            }
+            chunks[i] = chunk;
+        }
+        return chunks;
+    }
+
+    private void returnChunks(ByteBuffer[] chunks) {
+        for (ByteBuffer chunk : chunks) {
+            chunk.clear();
+            freeChunks.push(chunk);
+        }
+    }
+
+    private long maxChunks() {
+        return maxBytes / chunkBytes;
+    }
+
+    private long chunksInUse() {
+        return chunksAllocated - freeChunks.size();
+    }
+
+    private long chunksFor(long length) {
+        return (length + chunkBytes - 1) / chunkBytes;
+    }
+
+    private void copy(ByteSource origin, long length, ByteBuffer[] chunks) throws IOException {
+        origin.writeTo(new OutputStream() {
+            private long written;
+
+            @Override
+            public void write(int b) {
+                chunks[(int) (written / chunkBytes)].put((int) (written % chunkBytes), (byte) b);
+                written++;
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int count) {
+                while (count > 0) {
+                    int chunk = (int) (written / chunkBytes);
+                    int at = (int) (written % chunkBytes);
+                    int n = Math.min(count, chunkBytes - at);
+                    chunks[chunk].put(at, bytes, offset, n);
+                    written += n;
+                    offset += n;
+                    count -= n;
+                }
+            }
+        }, 0, length);
+    }
+
+    // One reference is held by the cache while the entry is listed, plus one per reader in writeTo;
+    // the chunks go back to the pool when the count reaches zero
+    private class Entry {
+        private final long version;
+        private final long length;
+        private final ByteBuffer[] chunks;
+        private final AtomicInteger references = new AtomicInteger(1);
+
+        Entry(long version, long length, ByteBuffer[] chunks) {
+            this.version = version;
+            this.length = length;
+            this.chunks = chunks;
+        }
+
+        boolean retain() {
+            while (true) {
+                int current = references.get();
+                if (current == 0) {
+                    return false;
+                }
+                if (references.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        void release() {
+            if (references.decrementAndGet() == 0) {
+                synchronized (HotSongCache.this) {
+                    returnChunks(chunks);
+                }
+            }
+        }
+    }
+
+    // Serves ranges from the entry's chunks; if the entry was evicted and recycled in the meantime
+    // the range comes from origin instead
+    private class CachedByteSource implements ByteSource {
+        private final Entry entry;
+        private final ByteSource origin;
+
+        CachedByteSource(Entry entry, ByteSource origin) {
+            this.entry = entry;
+            this.origin = origin;
+        }
+
+        @Override
+        public long length() {
+            return entry.length;
+        }
+
+        @Override
+        public void writeTo(OutputStream out, long position, long count) throws IOException {
+            if (!entry.retain()) {
+                origin.writeTo(out, position, count);
+                return;
+            }
+            try {
+                long end = position + count;
+                while (position < end) {
+                    int at = (int) (position % chunkBytes);
+                    int n = (int) Math.min(end - position, chunkBytes - at);
+                    ByteBuffer view = entry.chunks[(int) (position / chunkBytes)].duplicate();
+                    view.limit(at + n);
+                    view.position(at);
+                    BufferByteSource.write(view, out);
+                    position += n;
+                }
+            } finally {
+                entry.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.musicApp.restAPI.stream;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+// Memory-maps song files and keeps a frame index per file so time-based seeks resolve to a byte
+// offset in O(1). Files are mapped and indexed on first access and re-indexed when they change.
+@Service
+public class MappedSongStore {
+    private static final Logger LOGGER = Logger.getLogger(MappedSongStore.class.getName());
+
+    @Value("${music.stream.seek-index-ms:250}")
+    private int granularityMs = 250;
+
+    private final Map<Path, MappedSong> songs = new ConcurrentHashMap<>();
+
+    // Byte offset of the frame playing at timeMs in the given file
+    public long offsetAt(Path file, long timeMs) throws IOException {
+        return getSong(file).index.offsetAt(timeMs);
+    }
+
+    public Mp3FrameIndex getIndex(Path file) throws IOException {
+        return getSong(file).index;
+    }
+
+    private MappedSong getSong(Path file) throws IOException {
+        long lastModified = Files.getLastModifiedTime(file).toMillis();
+        MappedSong song = songs.get(file);
+        if (song == null || song.lastModified != lastModified) {
+            song = map(file, lastModified);
+            songs.put(file, song);
+        }
+        return song;
+    }
+
+    private MappedSong map(Path file, long lastModified) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // Only the index is kept; the mapping is released once the buffer is collected
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            Mp3FrameIndex index = Mp3FrameIndex.build(buffer, granularityMs);
+            LOGGER.info("Indexed " + file.getFileName() + ": " + index.size() + " seek points, "
+                    + index.getDurationMs() + " ms");
+            return new MappedSong(index, lastModified);
+        }
+    }
+
+    private static class MappedSong {
+        private final Mp3FrameIndex index;
+        private final long lastModified;
+
+        MappedSong(Mp3FrameIndex index, long lastModified) {
+            this.index = index;
+            this.lastModified = lastModified;
+        }
+    }
+}
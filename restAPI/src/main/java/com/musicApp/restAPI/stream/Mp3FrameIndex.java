@@ -0,0 +1,135 @@
+package com.musicApp.restAPI.stream;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+// Time-to-byte index of an MP3 file. Slot i holds the byte offset of the frame that is playing at
+// i * granularityMs, so a seek is a single array lookup and always lands on a frame boundary.
+public class Mp3FrameIndex {
+
+    private static final int[][] BITRATES_V1 = {
+        {0, 32, 64, 96, 128, 160, 192, 224, 256, 288, 320, 352, 384, 416, 448}, // Layer I
+        {0, 32, 48, 56, 64, 80, 96, 112, 128, 160, 192, 224, 256, 320, 384},    // Layer II
+        {0, 32, 40, 48, 56, 64, 80, 96, 112, 128, 160, 192, 224, 256, 320}      // Layer III
+    };
+    private static final int[][] BITRATES_V2 = {
+        {0, 32, 48, 56, 64, 80, 96, 112, 128, 144, 160, 176, 192, 224, 256},   // Layer I
+        {0, 8, 16, 24, 32, 40, 48, 56, 64, 80, 96, 112, 128, 144, 160},        // Layer II
+        {0, 8, 16, 24, 32, 40, 48, 56, 64, 80, 96, 112, 128, 144, 160}         // Layer III
+    };
+    private static final int[][] SAMPLE_RATES = {
+        {11025, 12000, 8000},  // MPEG 2.5
+        {0, 0, 0},             // reserved
+        {22050, 24000, 16000}, // MPEG 2
+        {44100, 48000, 32000}  // MPEG 1
+    };
+
+    private final long[] offsets;
+    private final int granularityMs;
+    private final long durationMs;
+
+    private Mp3FrameIndex(long[] offsets, int granularityMs, long durationMs) {
+        this.offsets = offsets;
+        this.granularityMs = granularityMs;
+        this.durationMs = durationMs;
+    }
+
+    // Byte offset of the frame playing at the given time, clamped to the first and last indexed frame
+    public long offsetAt(long timeMs) {
+        if (offsets.length == 0) {
+            return 0;
+        }
+        int slot = (int) Math.min(Math.max(timeMs, 0) / granularityMs, offsets.length - 1);
+        return offsets[slot];
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public int size() {
+        return offsets.length;
+    }
+
+    // Walk the frame headers of an MP3 (skipping a leading ID3v2 tag) and record one offset per slot
+    public static Mp3FrameIndex build(ByteBuffer data, int granularityMs) {
+        int limit = data.limit();
+        int pos = skipId3v2(data);
+        long[] offsets = new long[64];
+        int slots = 0;
+        double elapsedMs = 0;
+        boolean synced = false;
+
+        while (pos + 4 <= limit) {
+            int header = data.getInt(pos);
+            int frameLength = frameLength(header);
+            boolean valid = frameLength > 0 && pos + frameLength <= limit;
+            if (valid && !synced) {
+                // After garbage, only trust a header that is followed by another valid header
+                int next = pos + frameLength;
+                valid = next + 4 > limit || frameLength(data.getInt(next)) > 0;
+            }
+            if (!valid) {
+                // Not a frame header (or a truncated last frame): resynchronise byte by byte
+                synced = false;
+                pos++;
+                continue;
+            }
+            synced = true;
+            double frameEndMs = elapsedMs + frameDurationMs(header);
+            while ((long) slots * granularityMs < frameEndMs) {
+                if (slots == offsets.length) {
+                    offsets = Arrays.copyOf(offsets, slots * 2);
+                }
+                offsets[slots++] = pos;
+            }
+            elapsedMs = frameEndMs;
+            pos += frameLength;
+        }
+
+        return new Mp3FrameIndex(Arrays.copyOf(offsets, slots), granularityMs, Math.round(elapsedMs));
+    }
+
+    private static int skipId3v2(ByteBuffer data) {
+        if (data.limit() < 10 || data.get(0) != 'I' || data.get(1) != 'D' || data.get(2) != '3') {
+            return 0;
+        }
+        // Tag size is a 28-bit syncsafe integer; a footer adds another 10 bytes
+        int size = ((data.get(6) & 0x7F) << 21) | ((data.get(7) & 0x7F) << 14)
+                | ((data.get(8) & 0x7F) << 7) | (data.get(9) & 0x7F);
+        boolean hasFooter = (data.get(5) & 0x10) != 0;
+        return Math.min(data.limit(), 10 + size + (hasFooter ? 10 : 0));
+    }
+
+    // Frame length in bytes, or -1 if the header is not a valid MPEG audio frame header
+    static int frameLength(int header) {
+        if ((header & 0xFFE00000) != 0xFFE00000) {
+            return -1;
+        }
+        int version = (header >>> 19) & 0x3;
+        int layer = (header >>> 17) & 0x3;
+        int bitrateIndex = (header >>> 12) & 0xF;
+        int sampleRateIndex = (header >>> 10) & 0x3;
+        int padding = (header >>> 9) & 0x1;
+        if (version == 1 || layer == 0 || bitrateIndex == 0 || bitrateIndex == 15 || sampleRateIndex == 3) {
+            return -1;
+        }
+
+        int layerIndex = 3 - layer; // 0 = Layer I, 1 = Layer II, 2 = Layer III
+        int bitrate = (version == 3 ? BITRATES_V1 : BITRATES_V2)[layerIndex][bitrateIndex] * 1000;
+        int sampleRate = SAMPLE_RATES[version][sampleRateIndex];
+        if (layerIndex == 0) {
+            return (12 * bitrate / sampleRate + padding) * 4;
+        }
+        int coefficient = (layerIndex == 2 && version != 3) ? 72 : 144;
+        return coefficient * bitrate / sampleRate + padding;
+    }
+
+    private static double frameDurationMs(int header) {
+        int version = (header >>> 19) & 0x3;
+        int layerIndex = 3 - ((header >>> 17) & 0x3);
+        int sampleRate = SAMPLE_RATES[version][(header >>> 10) & 0x3];
+        int samples = layerIndex == 0 ? 384 : (layerIndex == 2 && version != 3) ? 576 : 1152;
+        return samples * 1000.0 / sampleRate;
+    }
+}
@@ -0,0 +1,30 @@
+package com.musicApp.restAPI.stream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.springframework.core.io.Resource;
+import org.springframework.util.StreamUtils;
+
+// Byte source over a Spring Resource (e.g. a classpath entry), read through its input stream
+public class ResourceByteSource implements ByteSource {
+
+    private final Resource resource;
+
+    public ResourceByteSource(Resource resource) {
+        this.resource = resource;
+    }
+
+    @Override
+    public long length() throws IOException {
+        return resource.contentLength();
+    }
+
+    @Override
+    public void writeTo(OutputStream out, long position, long count) throws IOException {
+        try (InputStream in = resource.getInputStream()) {
+            StreamUtils.copyRange(in, out, position, position + count - 1);
+        }
+    }
+}
@@ -1,55 +1,132 @@
-package com.musicApp.restAPI.stream;
-
-import java.util.logging.Logger;
-
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.ResourceLoader;
-import org.springframework.stereotype.Service;
-
-@Service
-public class SongStreamService {
-    private static final Logger LOGGER = Logger.getLogger(SongStreamService.class.getName());
-    
-    @Autowired
-    private ResourceLoader resourceLoader;
-    
-    private static final String SONGS_PATH = "classpath:static/music/";
-    private static final String COVERS_PATH = "classpath:static/covers/";
-
-    public Resource getSongFile(String filename) throws Exception {
-        if (filename == null || filename.isEmpty()) {
-            LOGGER.warning("Attempted to get song file with null or empty filename");
-            throw new IllegalArgumentException("Filename cannot be null or empty");
-        }
-        
-        String resourcePath = SONGS_PATH + filename;
-        LOGGER.info("Attempting to load song file from: " + resourcePath);
-        
-        Resource resource = resourceLoader.getResource(resourcePath);
-        if (!resource.exists()) {
-            LOGGER.warning("Song file not found: " + filename);
-            throw new Exception("Song file not found: " + filename);
-        }
-        
-        return resource;
-    }
-
-    public Resource getCoverFile(String filename) throws Exception {
-        if (filename == null || filename.isEmpty()) {
-            LOGGER.warning("Attempted to get cover file with null or empty filename");
-            throw new IllegalArgumentException("Filename cannot be null or empty");
-        }
-        
-        String resourcePath = COVERS_PATH + filename;
-        LOGGER.info("Attempting to load cover file from: " + resourcePath);
-        
-        Resource resource = resourceLoader.getResource(resourcePath);
-        if (!resource.exists()) {
-            LOGGER.warning("Cover file not found: " + filename);
-            throw new Exception("Cover file not found: " + filename);
-        }
-        
-        return resource;
-    }
-}
+package com.musicApp.restAPI.stream;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.logging.Logger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Service;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+@Service
+public class SongStreamService {
+    private static final Logger LOGGER = Logger.getLogger(SongStreamService.class.getName());
+    
+    @Autowired
+    private ResourceLoader resourceLoader;
+    
+    @Autowired
+    private HotSongCache hotSongCache;
+    
+    @Autowired
+    private MappedSongStore mappedSongStore;
+    
+    @Autowired
+    private ContentFingerprintService fingerprintService;
+    
+    private static final String SONGS_PATH = "classpath:static/music/";
+    
+    @Value("${music.storage.song-dir:${user.home}/MusicApp/songs/}")
+    private String songDir;
+
+    // Open a song for streaming. Files present under the configured song directory are served
+    // zero-copy from disk, and anything else falls back to the bundled classpath copy; hot songs the
+    // container cannot sendfile are served from the off-heap cache once it has filled them.
+    public ByteSource openSong(String filename, HttpServletRequest request) throws Exception {
+        Path songPath = resolveSongPath(filename);
+        ByteSource origin;
+        String cacheKey;
+        long version;
+        if (songPath != null) {
+            origin = new FileChannelByteSource(songPath, request);
+            cacheKey = songPath.toString();
+            version = Files.getLastModifiedTime(songPath).toMillis();
+        } else {
+            origin = new ResourceByteSource(getSongFile(filename));
+            cacheKey = SONGS_PATH + filename;
+            version = 0;
+        }
+        
+        ByteSource cached = hotSongCache.get(cacheKey, version, origin);
+        return cached != null ? cached : origin;
+    }
+
+    // Open any served file (e.g. a cover); files on disk go through the zero-copy path
+    public ByteSource openFile(Resource resource, HttpServletRequest request) throws Exception {
+        if (resource.isFile()) {
+            return new FileChannelByteSource(resource.getFile().toPath(), request);
+        }
+        return new ResourceByteSource(resource);
+    }
+
+    // Content hash and modification time of a song, for ETag / Last-Modified validators
+    public ContentFingerprintService.Fingerprint getSongFingerprint(String filename) throws Exception {
+        Path songPath = resolveSongPath(filename);
+        if (songPath != null) {
+            return fingerprintService.fingerprint(songPath.toString(),
+                    Files.getLastModifiedTime(songPath).toMillis(), new FileChannelByteSource(songPath, null));
+        }
+        Resource resource = getSongFile(filename);
+        return fingerprintService.fingerprint(SONGS_PATH + filename, resource.lastModified(),
+                new ResourceByteSource(resource));
+    }
+
+    // Content hash and modification time of a cover image
+    public ContentFingerprintService.Fingerprint getCoverFingerprint(Resource cover) throws Exception {
+        return fingerprintService.fingerprint(cover.getURL().toString(), cover.lastModified(),
+                new ResourceByteSource(cover));
+    }
+
+    // Byte offset of the MP3 frame playing at timeMs, so a time seek starts on a frame boundary.
+    // Falls back to 0 when the song is only available inside the packaged jar and cannot be mapped.
+    public long seekOffset(String filename, long timeMs) throws Exception {
+        Path songPath = resolveSongPath(filename);
+        if (songPath == null) {
+            Resource resource = getSongFile(filename);
+            if (!resource.isFile()) {
+                LOGGER.warning("Cannot seek by time in non-file song resource: " + filename);
+                return 0;
+            }
+            songPath = resource.getFile().toPath();
+        }
+        return mappedSongStore.offsetAt(songPath, timeMs);
+    }
+
+    // Resolve a song file inside the song directory, or null if it is not there.
+    // Names that would escape the directory (e.g. "../") are rejected.
+    public Path resolveSongPath(String filename) {
+        if (filename == null || filename.isEmpty()) {
+            throw new IllegalArgumentException("Filename cannot be null or empty");
+        }
+        Path root = Paths.get(songDir).toAbsolutePath().normalize();
+        Path songPath = root.resolve(filename).normalize();
+        if (!songPath.startsWith(root)) {
+            LOGGER.warning("Rejected song path outside song directory: " + filename);
+            throw new IllegalArgumentException("Invalid song filename: " + filename);
+        }
+        return Files.isRegularFile(songPath) ? songPath : null;
+    }
+
+    public Resource getSongFile(String filename) throws Exception {
+        if (filename == null || filename.isEmpty()) {
+            LOGGER.warning("Attempted to get song file with null or empty filename");
+            throw new IllegalArgumentException("Filename cannot be null or empty");
+        }
+        
+        String resourcePath = SONGS_PATH + filename;
+        LOGGER.info("Attempting to load song file from: " + resourcePath);
+        
+        Resource resource = resourceLoader.getResource(resourcePath);
+        if (!resource.exists()) {
+            LOGGER.warning("Song file not found: " + filename);
+            throw new Exception("Song file not found: " + filename);
+        }
+        
+        return resource;
+    }
+}
@@ -19,14 +19,20 @@ CREATE TABLE songs (
     id BIGINT IDENTITY(1,1) PRIMARY KEY,
     title VARCHAR(255),
     artist VARCHAR(255),
+    album VARCHAR(255),
     genre VARCHAR(255),
     release_year INT,
     tempo FLOAT,
     energy FLOAT,
     duration INT,
+    url VARCHAR(255),
     file_name VARCHAR(255)
 );
 
+-- Genre lookups for recommendations; /songs/search matches substrings, which no index on the
+-- text columns can serve, and keyset pages walk the primary key
+CREATE INDEX IX_songs_genre ON songs(genre);
+
 -- Create playlists table
 CREATE TABLE playlists (
     id BIGINT IDENTITY(1,1) PRIMARY KEY,
@@ -0,0 +1,115 @@
+package com.musicApp.restAPI.datastructures.ann;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class HnswIndexTest {
+
+    private static final int DIMENSIONS = 10;
+
+    private static float[] randomVectors(int count, Random random) {
+        float[] vectors = new float[count * DIMENSIONS];
+        for (int i = 0; i < vectors.length; i++) {
+            vectors[i] = (float) random.nextGaussian();
+        }
+        return vectors;
+    }
+
+    private static int[] bruteForce(HnswIndex index, int node, int k) {
+        return IntStream.range(0, index.size())
+                .filter(other -> other != node)
+                .boxed()
+                .sorted((a, b) -> Float.compare(index.distance(node, a), index.distance(node, b)))
+                .limit(k)
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    @Test
+    void neighboursOf_ShouldReachHighRecallAgainstBruteForce() {
+        // given
+        Random random = new Random(11);
+        HnswIndex index = new HnswIndex(randomVectors(3000, random), DIMENSIONS, 16, 200, 1);
+        int k = 10;
+
+        // when: recall@10 over 200 query songs
+        int hits = 0;
+        for (int q = 0; q < 200; q++) {
+            int node = random.nextInt(index.size());
+            int[] expected = bruteForce(index, node, k);
+            int[] actual = index.neighboursOf(node, k, 64);
+            for (int id : actual) {
+                if (Arrays.stream(expected).anyMatch(e -> e == id)) {
+                    hits++;
+                }
+            }
+        }
+
+        // then
+        double recall = hits / (200.0 * k);
+        assertTrue(recall >= 0.95, "recall@10 was " + recall);
+    }
+
+    @Test
+    void neighboursOf_ShouldExcludeTheSongItselfAndSortClosestFirst() {
+        // given
+        HnswIndex index = new HnswIndex(randomVectors(500, new Random(5)), DIMENSIONS, 8, 100, 1);
+
+        // when
+        int[] neighbours = index.neighboursOf(42, 5, 50);
+
+        // then
+        assertEquals(5, neighbours.length);
+        assertTrue(Arrays.stream(neighbours).noneMatch(n -> n == 42));
+        for (int i = 1; i < neighbours.length; i++) {
+            assertTrue(index.distance(42, neighbours[i - 1]) <= index.distance(42, neighbours[i]));
+        }
+    }
+
+    @Test
+    void neighboursOf_FromManyThreads_ShouldMatchSequentialResults() throws Exception {
+        // given: more concurrent searches than pooled scratch arrays
+        HnswIndex index = new HnswIndex(randomVectors(2000, new Random(3)), DIMENSIONS, 16, 100, 1);
+        int[][] expected = new int[200][];
+        for (int node = 0; node < expected.length; node++) {
+            expected[node] = index.neighboursOf(node, 10, 64);
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(4 * Runtime.getRuntime().availableProcessors() + 4);
+
+        // when
+        try {
+            Future<?>[] futures = new Future<?>[expected.length * 5];
+            for (int i = 0; i < futures.length; i++) {
+                int node = i % expected.length;
+                futures[i] = pool.submit(() -> assertArrayEquals(expected[node], index.neighboursOf(node, 10, 64)));
+            }
+
+            // then
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void nearest_ShouldMatchByDirectionNotLength() {
+        // given: three unit axes in 2 dimensions, one of them scaled
+        HnswIndex index = new HnswIndex(new float[]{1, 0, 0, 5, -1, 0}, 2, 4, 10, 1);
+
+        // when / then
+        assertArrayEquals(new int[]{1}, index.nearest(new float[]{0.1f, 2f}, 1, 10));
+        assertEquals(0, new HnswIndex(new float[0], 2, 4, 10, 1).nearest(new float[]{1, 0}, 3, 10).length);
+    }
+}
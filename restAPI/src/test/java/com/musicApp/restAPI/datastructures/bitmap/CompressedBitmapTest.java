@@ -0,0 +1,79 @@
+package com.musicApp.restAPI.datastructures.bitmap;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class CompressedBitmapTest {
+
+    @Test
+    void add_ShouldKeepMembershipAcrossArrayToBitmapSwitch() {
+        // given
+        CompressedBitmap bitmap = new CompressedBitmap();
+
+        // when
+        for (int value = 0; value < 10_000; value += 2) {
+            assertTrue(bitmap.add(value));
+        }
+
+        // then
+        assertFalse(bitmap.add(4096));
+        assertEquals(5_000, bitmap.cardinality());
+        assertTrue(bitmap.contains(9_998));
+        assertFalse(bitmap.contains(9_999));
+        assertFalse(bitmap.contains(70_000));
+    }
+
+    @Test
+    void andCardinality_ShouldMatchHashSetIntersection() {
+        // given: one sparse and one dense set spread over several chunks
+        Random random = new Random(7);
+        CompressedBitmap a = new CompressedBitmap();
+        CompressedBitmap b = new CompressedBitmap();
+        Set<Integer> setA = new HashSet<>();
+        Set<Integer> setB = new HashSet<>();
+        for (int i = 0; i < 2_000; i++) {
+            int value = random.nextInt(300_000);
+            a.add(value);
+            setA.add(value);
+        }
+        for (int i = 0; i < 20_000; i++) {
+            int value = random.nextInt(150_000);
+            b.add(value);
+            setB.add(value);
+        }
+
+        // when
+        Set<Integer> intersection = new HashSet<>(setA);
+        intersection.retainAll(setB);
+
+        // then
+        assertEquals(intersection.size(), a.andCardinality(b));
+        assertEquals(intersection.size(), b.andCardinality(a));
+        assertEquals(setA.size() + setB.size() - intersection.size(), a.orCardinality(b));
+    }
+
+    @Test
+    void forEach_ShouldVisitValuesInAscendingOrder() {
+        // given
+        CompressedBitmap bitmap = new CompressedBitmap();
+        for (int value : new int[]{70_000, 3, 65_536, 42, 3}) {
+            bitmap.add(value);
+        }
+
+        // when
+        int[] visited = new int[bitmap.cardinality()];
+        int[] at = {0};
+        bitmap.forEach(value -> visited[at[0]++] = value);
+
+        // then
+        assertArrayEquals(new int[]{3, 42, 65_536, 70_000}, visited);
+    }
+}
@@ -0,0 +1,72 @@
+package com.musicApp.restAPI.datastructures.cluster;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+class KMeansTest {
+
+    private static final int DIMS = 2;
+
+    @Test
+    void cluster_ShouldSeparateWellSeparatedGroups() {
+        // given: 3 tight groups of 400 points around (0,0), (10,0) and (0,10)
+        float[][] centres = {{0, 0}, {10, 0}, {0, 10}};
+        Random random = new Random(3);
+        float[] points = new float[1200 * DIMS];
+        for (int p = 0; p < 1200; p++) {
+            float[] centre = centres[p % 3];
+            points[p * DIMS] = centre[0] + (float) random.nextGaussian() * 0.5f;
+            points[p * DIMS + 1] = centre[1] + (float) random.nextGaussian() * 0.5f;
+        }
+
+        // when
+        KMeans.Result result = new KMeans(DIMS, 100, ForkJoinPool.commonPool()).cluster(points, 3, new Random(1));
+
+        // then: points of one group share a cluster, and the groups do not
+        int[] assignment = result.assignment();
+        for (int p = 3; p < 1200; p++) {
+            assertEquals(assignment[p % 3], assignment[p]);
+        }
+        assertNotEquals(assignment[0], assignment[1]);
+        assertNotEquals(assignment[1], assignment[2]);
+        assertNotEquals(assignment[0], assignment[2]);
+    }
+
+    @Test
+    void cluster_ShouldReturnOneDistinctRealPointPerCluster() {
+        // given
+        Random random = new Random(5);
+        float[] points = new float[500 * DIMS];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = random.nextFloat();
+        }
+
+        // when
+        KMeans.Result result = new KMeans(DIMS, 100, ForkJoinPool.commonPool()).cluster(points, 8, new Random(1));
+
+        // then
+        Set<Integer> nearest = new HashSet<>();
+        for (int c = 0; c < 8; c++) {
+            int point = result.nearestPoints()[c];
+            assertEquals(c, result.assignment()[point]);
+            nearest.add(point);
+        }
+        assertEquals(8, nearest.size());
+        assertTrue(result.iterations() <= 100);
+    }
+
+    @Test
+    void cluster_ShouldRejectMoreClustersThanPoints() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new KMeans(DIMS, 10, ForkJoinPool.commonPool()).cluster(new float[4], 3, new Random(1)));
+    }
+}
@@ -0,0 +1,79 @@
+package com.musicApp.restAPI.datastructures.cooccurrence;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class CooccurrenceModelTest {
+
+    @Test
+    void neighbours_ShouldRankStrongerLinksFirstOnlyAfterPublish() {
+        // given
+        CooccurrenceModel model = new CooccurrenceModel(3);
+        model.addPair(1, 2, 1f);
+        model.addPair(1, 3, 1f);
+        model.addPair(1, 3, 1f);
+
+        // when
+        long[] beforePublish = model.neighbours(1, 10);
+        model.publish();
+
+        // then
+        assertEquals(0, beforePublish.length);
+        assertArrayEquals(new long[]{3, 2}, model.neighbours(1, 10));
+        assertArrayEquals(new long[]{1}, model.neighbours(3, 10));
+        assertArrayEquals(new long[]{3}, model.neighbours(1, 1));
+    }
+
+    @Test
+    void neighbours_ShouldDiscountSongsThatOccurEverywhere() {
+        // given: 2 and 3 co-occur with 1 equally often, but 2 is played far more overall
+        CooccurrenceModel model = new CooccurrenceModel(3);
+        for (int i = 0; i < 50; i++) {
+            model.addOccurrence(2);
+        }
+        model.addOccurrence(3);
+        model.addPair(1, 2, 1f);
+        model.addPair(1, 3, 1f);
+
+        // when
+        model.publish();
+
+        // then
+        assertArrayEquals(new long[]{3, 2}, model.neighbours(1, 10));
+    }
+
+    @Test
+    void addPair_ShouldKeepStrongestCandidatesWhenTableIsFull() {
+        // given: one neighbour slot, so four candidate slots for song 1
+        CooccurrenceModel model = new CooccurrenceModel(1);
+        model.addPair(1, 100, 5f);
+        for (long other = 2; other <= 20; other++) {
+            model.addPair(1, other, 0.5f);
+        }
+
+        // when
+        model.publish();
+
+        // then
+        assertArrayEquals(new long[]{100}, model.neighbours(1, 10));
+    }
+
+    @Test
+    void decay_ShouldPruneLinksThatFadeBelowMinimum() {
+        // given
+        CooccurrenceModel model = new CooccurrenceModel(5);
+        model.addPair(1, 2, 10f);
+        model.addPair(1, 3, 0.06f);
+        model.publish();
+
+        // when
+        model.decay(0.5f);
+        model.publish();
+
+        // then
+        assertArrayEquals(new long[]{2}, model.neighbours(1, 10));
+        assertEquals(0, model.neighbours(3, 10).length);
+    }
+}
@@ -0,0 +1,38 @@
+package com.musicApp.restAPI.datastructures.index;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+
+class CompletionIndexTest {
+
+    // Targets: 0 = "yellow submarine", 1 = "yesterday", 2 = "submarine song"
+    private final CompletionIndex index = new CompletionIndex(
+            new String[]{"yellow submarine", "submarine", "yesterday", "submarine song", "song"},
+            new int[]{0, 0, 1, 2, 2},
+            new double[]{5, 40, 12});
+
+    @Test
+    void topK_ShouldReturnHeaviestCompletionsFirst() {
+        // when
+        int[] results = index.topK("ye", 10);
+
+        // then
+        assertArrayEquals(new int[]{1, 0}, results);
+    }
+
+    @Test
+    void topK_ShouldNotRepeatTargetsReachedThroughSeveralKeys() {
+        // when
+        int[] results = index.topK("sub", 10);
+
+        // then
+        assertArrayEquals(new int[]{2, 0}, results);
+    }
+
+    @Test
+    void topK_ShouldHonourLimitAndMissingPrefix() {
+        assertEquals(1, index.topK("s", 1).length);
+        assertEquals(0, index.topK("zz", 5).length);
+    }
+}
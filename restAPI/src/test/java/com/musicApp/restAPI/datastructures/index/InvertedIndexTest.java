@@ -0,0 +1,57 @@
+package com.musicApp.restAPI.datastructures.index;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class InvertedIndexTest {
+
+    private InvertedIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new InvertedIndex();
+        index.add(1L, Map.of("yellow", 3, "submarine", 3, "beatles", 2));
+        index.add(2L, Map.of("help", 3, "beatles", 2, "rock", 1));
+        index.add(3L, Map.of("beat", 3, "it", 3, "michael", 2, "jackson", 2));
+    }
+
+    @Test
+    void search_ShouldRequireEveryTermAndRankByScore() {
+        // when
+        long[] results = index.search(List.of("beatles", "help"), false, 10);
+
+        // then
+        assertArrayEquals(new long[]{2L}, results);
+    }
+
+    @Test
+    void search_ShouldExpandTrailingPrefix() {
+        // when
+        long[] results = index.search(TextNormalizer.tokenize("Beat"), true, 10);
+
+        // then - the exact title match ranks above the artist-name prefix matches
+        assertEquals(3, results.length);
+        assertEquals(3L, results[0]);
+    }
+
+    @Test
+    void remove_ShouldDropDocumentFromPostings() {
+        // when
+        index.remove(2L);
+
+        // then
+        assertArrayEquals(new long[]{1L}, index.search(List.of("beatles"), false, 10));
+        assertEquals(0, index.search(List.of("help"), false, 10).length);
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void tokenize_ShouldStripAccentsAndPunctuation() {
+        assertEquals(List.of("beyonce", "halo"), TextNormalizer.tokenize("Beyoncé - Halo!"));
+    }
+}
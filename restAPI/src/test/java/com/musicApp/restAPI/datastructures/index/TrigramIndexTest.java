@@ -0,0 +1,52 @@
+package com.musicApp.restAPI.datastructures.index;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+class TrigramIndexTest {
+
+    @Test
+    void similar_ShouldFindMisspelledTermsWithinDistance() {
+        // given
+        TrigramIndex index = new TrigramIndex();
+        index.addTerm("beyonce");
+        index.addTerm("metallica");
+        index.addTerm("madonna");
+
+        // when
+        Map<String, Integer> matches = index.similar("metalica", 2);
+
+        // then
+        assertEquals(Map.of("metallica", 1), matches);
+        assertEquals(Map.of("beyonce", 1), index.similar("byeonce", 2));
+    }
+
+    @Test
+    void removeTerm_ShouldKeepTermUntilLastReferenceIsGone() {
+        // given
+        TrigramIndex index = new TrigramIndex();
+        index.addTerm("madonna");
+        index.addTerm("madonna");
+
+        // when
+        index.removeTerm("madonna");
+
+        // then
+        assertTrue(index.similar("madona", 1).containsKey("madonna"));
+        index.removeTerm("madonna");
+        assertTrue(index.similar("madona", 1).isEmpty());
+    }
+
+    @Test
+    void distance_ShouldCountTranspositionAsOneEditAndStopPastBound() {
+        BoundedEditDistance editDistance = new BoundedEditDistance();
+
+        assertEquals(1, editDistance.distance("abcd", "abdc", 2));
+        assertEquals(2, editDistance.distance("kitten", "sittin", 2));
+        assertEquals(3, editDistance.distance("kitten", "sitting", 2));
+        assertEquals(0, editDistance.distance("same", "same", 1));
+    }
+}
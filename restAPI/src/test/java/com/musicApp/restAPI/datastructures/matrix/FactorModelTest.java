@@ -0,0 +1,60 @@
+package com.musicApp.restAPI.datastructures.matrix;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FactorModelTest {
+
+    @TempDir
+    Path dir;
+
+    private FactorModel model() {
+        RatingMatrix ratings = new RatingMatrix.Builder(IdIndex.of(new long[]{10, 20}, 2), 0.5f, 0f, 5f)
+                .set(1, 10, 1f)
+                .set(2, 20, 1f)
+                .build();
+        return new FactorModel(3, 1234L, ratings, 2,
+                new float[]{0.1f, 0.2f, 0.3f, 0.4f}, new float[]{1f, 2f, 3f, 4f},
+                new float[]{0.01f, 0.02f}, new float[]{0.5f, -0.5f}, 1f);
+    }
+
+    @Test
+    void predict_ShouldAddBiasesToFactorDotProduct() {
+        // 1 + 0.02 - 0.5 + (0.3 * 3 + 0.4 * 4)
+        assertEquals(3.02f, model().predict(1, 1), 1e-6);
+    }
+
+    @Test
+    void writeTo_ShouldRoundTripThroughReadFrom() throws IOException {
+        // given
+        FactorModel original = model();
+        Path file = dir.resolve("mf.bin");
+
+        // when
+        original.writeTo(file);
+        FactorModel loaded = FactorModel.readFrom(file);
+
+        // then
+        assertEquals(3, loaded.version());
+        assertEquals(1234L, loaded.trainedAt());
+        assertEquals(1, loaded.users().indexOf(2));
+        assertEquals(20, loaded.songs().idAt(1));
+        assertEquals(original.ratings().nonZeros(), loaded.ratings().nonZeros());
+        assertArrayEquals(original.songFactors(), loaded.songFactors());
+        assertEquals(original.predict(0, 1), loaded.predict(0, 1));
+    }
+
+    @Test
+    void readFrom_ShouldRejectForeignFiles() throws IOException {
+        Path file = Files.write(dir.resolve("other.bin"), new byte[]{1, 2, 3, 4});
+        assertThrows(IOException.class, () -> FactorModel.readFrom(file));
+    }
+}
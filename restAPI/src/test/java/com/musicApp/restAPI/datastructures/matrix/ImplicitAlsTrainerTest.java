@@ -0,0 +1,60 @@
+package com.musicApp.restAPI.datastructures.matrix;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+class ImplicitAlsTrainerTest {
+
+    @Test
+    void choleskySolve_ShouldSolveSymmetricPositiveDefiniteSystem() {
+        // given: [[4, 2], [2, 3]] x = [8, 7]
+        double[] a = {4, 2, 2, 3};
+        double[] b = {8, 7};
+
+        // when
+        ImplicitAlsTrainer.choleskySolve(a, b, 2);
+
+        // then
+        assertArrayEquals(new double[]{1.25, 1.5}, b, 1e-9);
+    }
+
+    @Test
+    void train_ShouldRankSongsFromTheUsersOwnTasteGroupFirst() {
+        // given: users 0-19 play songs 0-9, users 20-39 play songs 10-19, each missing one song
+        long[] songIds = new long[20];
+        for (int s = 0; s < 20; s++) {
+            songIds[s] = s;
+        }
+        RatingMatrix.Builder builder = new RatingMatrix.Builder(IdIndex.of(songIds, 20), 0.5f, 0f, 5f);
+        for (int u = 0; u < 40; u++) {
+            int group = u < 20 ? 0 : 10;
+            for (int s = 0; s < 10; s++) {
+                if (s != u % 10) {
+                    builder.set(u, group + s, 1f);
+                }
+            }
+        }
+        RatingMatrix ratings = builder.build();
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        // when
+        ImplicitAlsTrainer.Result result = new ImplicitAlsTrainer(4, 0.1, 10, 10, pool)
+                .train(ratings, new Random(42));
+        pool.shutdown();
+
+        // then: user 3 scores its unplayed song 3 above every song of the other group
+        FactorModel model = new FactorModel(1, 0, ratings, 4, result.userFactors(), result.songFactors(),
+                new float[40], new float[20], 0f);
+        float missing = model.predict(3, 3);
+        for (int s = 10; s < 20; s++) {
+            assertTrue(missing > model.predict(3, s));
+        }
+        double[] rmse = result.rmsePerIteration();
+        assertTrue(rmse[rmse.length - 1] <= rmse[0]);
+    }
+}
@@ -0,0 +1,59 @@
+package com.musicApp.restAPI.datastructures.matrix;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+
+class RatingMatrixTest {
+
+    private final IdIndex songs = IdIndex.of(new long[]{30, 10, 20, 10}, 4);
+
+    @Test
+    void build_ShouldGroupRowsByUserWithColumnsInSongOrder() {
+        // given
+        RatingMatrix.Builder builder = new RatingMatrix.Builder(songs, 0.5f, 0f, 5f)
+                .set(7, 30, 1f)
+                .set(3, 20, 1f)
+                .set(7, 10, 2f);
+
+        // when
+        RatingMatrix matrix = builder.build();
+
+        // then
+        assertEquals(3, matrix.songs().size());
+        assertEquals(2, matrix.users().size());
+        int user = matrix.users().indexOf(7);
+        assertEquals(2, matrix.rowEnd(user) - matrix.rowStart(user));
+        assertEquals(10, matrix.songs().idAt(matrix.col(matrix.rowStart(user))));
+        assertEquals(2f, matrix.value(matrix.rowStart(user)));
+        assertEquals(30, matrix.songs().idAt(matrix.col(matrix.rowStart(user) + 1)));
+        assertEquals(4f / 3, matrix.mean(), 1e-6);
+    }
+
+    @Test
+    void build_ShouldFoldUpdatesOfACellInArrivalOrder() {
+        // given: a playlist entry, then an early skip and a completion
+        RatingMatrix.Builder builder = new RatingMatrix.Builder(songs, 0.5f, 0f, 5f)
+                .adjust(1, 20, -0.7f)
+                .set(1, 10, 1f)
+                .adjust(1, 10, -0.7f)
+                .adjust(1, 10, 0.5f);
+
+        // when
+        RatingMatrix matrix = builder.build();
+
+        // then: the untouched cell starts at the default and is clamped at zero
+        assertEquals(0f, matrix.value(1), 1e-6);
+        assertEquals(0.8f, matrix.value(0), 1e-6);
+    }
+
+    @Test
+    void build_ShouldKeepUsersWhoseSongsAreOutsideTheCatalog() {
+        // when
+        RatingMatrix matrix = new RatingMatrix.Builder(songs, 0.5f, 0f, 5f).set(9, 99, 1f).build();
+
+        // then
+        assertEquals(1, matrix.users().size());
+        assertEquals(0, matrix.nonZeros());
+        assertEquals(-1, matrix.songs().indexOf(99));
+    }
+}
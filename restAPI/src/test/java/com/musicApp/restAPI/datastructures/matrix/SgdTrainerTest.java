@@ -0,0 +1,73 @@
+package com.musicApp.restAPI.datastructures.matrix;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+class SgdTrainerTest {
+
+    private static final int USERS = 200;
+    private static final int SONGS = 100;
+
+    // Ratings generated from a hidden rank-2 model, so the factors can fit them
+    private RatingMatrix ratings() {
+        Random random = new Random(7);
+        long[] songIds = new long[SONGS];
+        for (int s = 0; s < SONGS; s++) {
+            songIds[s] = s;
+        }
+        RatingMatrix.Builder builder = new RatingMatrix.Builder(IdIndex.of(songIds, SONGS), 0.5f, 0f, 5f);
+        for (int u = 0; u < USERS; u++) {
+            for (int i = 0; i < 20; i++) {
+                int s = random.nextInt(SONGS);
+                builder.set(u, s, 2.5f + (u % 2 == s % 2 ? 1.5f : -1.5f));
+            }
+        }
+        return builder.build();
+    }
+
+    private double[] train(ForkJoinPool pool, double minImprovement, int iterations) {
+        RatingMatrix ratings = ratings();
+        Random random = new Random(42);
+        float[] userFactors = new float[USERS * 4];
+        float[] songFactors = new float[SONGS * 4];
+        for (int i = 0; i < userFactors.length; i++) {
+            userFactors[i] = 0.1f * random.nextFloat();
+        }
+        for (int i = 0; i < songFactors.length; i++) {
+            songFactors[i] = 0.1f * random.nextFloat();
+        }
+        return new SgdTrainer(4, 0.05f, 0.05f, 0.01f, iterations, minImprovement, pool)
+                .train(ratings, userFactors, songFactors, new float[USERS], new float[SONGS], ratings.mean(), random);
+    }
+
+    @Test
+    void train_ShouldReduceErrorSequentiallyAndInParallel() {
+        // given
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        // when
+        double[] sequential = train(null, 0, 30);
+        double[] parallel = train(pool, 0, 30);
+        pool.shutdown();
+
+        // then
+        assertEquals(30, sequential.length);
+        assertTrue(sequential[29] < sequential[0] * 0.8);
+        assertTrue(parallel[parallel.length - 1] < parallel[0] * 0.8);
+    }
+
+    @Test
+    void train_ShouldStopEarlyOnceRmseStopsImproving() {
+        // when
+        double[] rmse = train(null, 0.05, 100);
+
+        // then
+        assertTrue(rmse.length < 100);
+        assertTrue(rmse[rmse.length - 2] - rmse[rmse.length - 1] < 0.05);
+    }
+}
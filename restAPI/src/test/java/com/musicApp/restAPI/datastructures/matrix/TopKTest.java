@@ -0,0 +1,58 @@
+package com.musicApp.restAPI.datastructures.matrix;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class TopKTest {
+
+    @Test
+    void drainDescending_ShouldReturnBestIdsHighestFirst() {
+        // given
+        TopK top = new TopK(3);
+        float[] scores = {0.5f, 2f, -1f, 3f, 1f};
+
+        // when
+        for (int i = 0; i < scores.length; i++) {
+            top.offer(i, scores[i]);
+        }
+
+        // then
+        assertEquals(1f, top.threshold());
+        assertArrayEquals(new int[]{3, 1, 4}, top.drainDescending());
+        assertEquals(0, top.size());
+    }
+
+    @Test
+    void offer_ShouldMatchFullSortOnRandomScores() {
+        // given
+        Random random = new Random(3);
+        float[] scores = new float[1000];
+        TopK top = new TopK(25);
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] = random.nextFloat();
+            top.offer(i, scores[i]);
+        }
+
+        // when
+        int[] expected = IntStream.range(0, scores.length).boxed()
+                .sorted(Comparator.comparingDouble((Integer i) -> scores[i]).reversed())
+                .limit(25).mapToInt(Integer::intValue).toArray();
+
+        // then
+        assertArrayEquals(expected, top.drainDescending());
+    }
+
+    @Test
+    void offer_ShouldKeepFewerIdsThanCapacity() {
+        TopK top = new TopK(10);
+        top.offer(7, 1f);
+        assertArrayEquals(new int[]{7}, top.drainDescending());
+        assertEquals(0, new TopK(0).drainDescending().length);
+    }
+}
@@ -0,0 +1,156 @@
+package com.musicApp.restAPI.datastructures.sketch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class MinHashLshTest {
+
+    // 500 users in 50 taste groups: each takes 30 of its group's 40 songs plus 5 random ones
+    private final Map<Long, Set<Long>> sets = new HashMap<>();
+    private final MinHashLsh lsh = new MinHashLsh(40, 4, 7);
+
+    MinHashLshTest() {
+        Random random = new Random(9);
+        for (long user = 0; user < 500; user++) {
+            Set<Long> songs = new HashSet<>();
+            long group = user % 50;
+            while (songs.size() < 30) {
+                songs.add(group * 40 + random.nextInt(40));
+            }
+            while (songs.size() < 35) {
+                songs.add(2000L + random.nextInt(100_000));
+            }
+            sets.put(user, songs);
+            for (long song : songs) {
+                lsh.add(user, song);
+            }
+        }
+    }
+
+    private double jaccard(long a, long b) {
+        Set<Long> intersection = new HashSet<>(sets.get(a));
+        intersection.retainAll(sets.get(b));
+        Set<Long> union = new HashSet<>(sets.get(a));
+        union.addAll(sets.get(b));
+        return (double) intersection.size() / union.size();
+    }
+
+    @Test
+    void candidates_ShouldFindNearlyAllSimilarUsersAndFewOthers() {
+        // when: exact similar pairs (Jaccard >= 0.5) against the LSH candidates
+        int similarPairs = 0;
+        int found = 0;
+        int candidates = 0;
+        for (long user = 0; user < 500; user++) {
+            Set<Long> proposed = new HashSet<>();
+            for (long other : lsh.candidates(user, 1000)) {
+                proposed.add(other);
+            }
+            candidates += proposed.size();
+            for (long other = 0; other < 500; other++) {
+                if (other != user && jaccard(user, other) >= 0.5) {
+                    similarPairs++;
+                    if (proposed.contains(other)) {
+                        found++;
+                    }
+                }
+            }
+        }
+
+        // then
+        assertTrue(found >= 0.93 * similarPairs, "found " + found + " of " + similarPairs);
+        assertTrue(candidates < 500 * 12, "average candidates " + candidates / 500.0);
+    }
+
+    @Test
+    void candidates_ShouldStayFewAsLowSimilarityUsersGrow() {
+        // given: every user takes 35 of the same 300 songs, so any two overlap a little (Jaccard ~0.06)
+        double smallAverage = averageCandidates(lowSimilarityIndex(1000));
+        double largeAverage = averageCandidates(lowSimilarityIndex(8000));
+
+        // then: unrelated users almost never collide, even with eight times as many of them
+        assertTrue(smallAverage < 5, "average candidates among 1000 " + smallAverage);
+        assertTrue(largeAverage < 20, "average candidates among 8000 " + largeAverage);
+    }
+
+    @Test
+    void candidates_WithOneCrowdedBucket_ShouldReturnAtMostMax() {
+        // given: identical sets share every bucket
+        MinHashLsh index = new MinHashLsh(40, 4, 7);
+        for (long user = 0; user < 5000; user++) {
+            for (long song = 0; song < 10; song++) {
+                index.add(user, song);
+            }
+        }
+
+        // when
+        long[] candidates = index.candidates(0, 25);
+
+        // then
+        assertEquals(25, candidates.length);
+        for (long candidate : candidates) {
+            assertTrue(candidate != 0);
+        }
+    }
+
+    private static MinHashLsh lowSimilarityIndex(int users) {
+        MinHashLsh index = new MinHashLsh(40, 4, 7);
+        Random random = new Random(3);
+        for (long user = 0; user < users; user++) {
+            Set<Long> songs = new HashSet<>();
+            while (songs.size() < 35) {
+                songs.add((long) random.nextInt(300));
+            }
+            for (long song : songs) {
+                index.add(user, song);
+            }
+        }
+        return index;
+    }
+
+    private static double averageCandidates(MinHashLsh index) {
+        int total = 0;
+        for (long user = 0; user < 200; user++) {
+            total += index.candidates(user, 200).length;
+        }
+        return total / 200.0;
+    }
+
+    @Test
+    void estimateSimilarity_ShouldBeCloseToExactJaccard() {
+        double totalError = 0;
+        for (long user = 0; user < 100; user++) {
+            totalError += Math.abs(lsh.estimateSimilarity(user, user + 50) - jaccard(user, user + 50));
+        }
+        assertTrue(totalError / 100 < 0.08, "mean error " + totalError / 100);
+    }
+
+    @Test
+    void add_ShouldMoveUsersBetweenBucketsAsTheirSetsGrow() {
+        // given
+        MinHashLsh index = new MinHashLsh(40, 4, 7);
+        for (long song = 0; song < 20; song++) {
+            index.add(1, song);
+        }
+        index.add(2, 100);
+
+        // when: user 2 ends up with exactly user 1's songs
+        for (long song = 0; song < 20; song++) {
+            index.add(2, song);
+        }
+        index.add(1, 100);
+
+        // then
+        assertEquals(1.0, index.estimateSimilarity(1, 2));
+        assertEquals(2L, index.candidates(1, 10)[0]);
+        assertEquals(0, index.candidates(3, 10).length);
+    }
+}
@@ -0,0 +1,82 @@
+package com.musicApp.restAPI.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.musicApp.restAPI.datastructures.linkedlist.PlaylistNodeRepository;
+import com.musicApp.restAPI.event.InteractionRecordedEvent;
+import com.musicApp.restAPI.model.UserSongInteraction;
+import com.musicApp.restAPI.repository.UserSongInteractionRepository;
+import com.musicApp.restAPI.sql.persistance.PlaylistSong.PlaylistSongRepository;
+
+class CollaborativeFilteringServiceTest {
+
+    private PlaylistSongRepository playlistSongRepository;
+    private PlaylistNodeRepository playlistNodeRepository;
+    private UserSongInteractionRepository interactionRepository;
+    private CollaborativeFilteringService service;
+
+    @BeforeEach
+    void setUp() {
+        playlistSongRepository = mock(PlaylistSongRepository.class);
+        playlistNodeRepository = mock(PlaylistNodeRepository.class);
+        interactionRepository = mock(UserSongInteractionRepository.class);
+        service = new CollaborativeFilteringService(playlistSongRepository, playlistNodeRepository,
+                interactionRepository);
+        ReflectionTestUtils.setField(service, "maxCandidates", 200);
+    }
+
+    @Test
+    void rebuild_ShouldKeepEdgesRecordedWhileReadingTheDatabase() {
+        // given
+        when(playlistSongRepository.findUserSongPairs()).thenReturn(List.<Object[]>of(
+                new Object[] { 1L, 10L }, new Object[] { 2L, 10L }));
+        when(playlistNodeRepository.findUserSongPairs()).thenAnswer(invocation -> {
+            // committed after the playlist query ran, so the rebuild's own reads miss it
+            service.onInteractionRecorded(new InteractionRecordedEvent(played(2L, 20L)));
+            return List.of();
+        });
+        when(interactionRepository.findAll()).thenReturn(List.of());
+
+        // when
+        service.rebuild();
+        Map<Long, Double> scores = service.scoreSongs(1L, Set.of());
+
+        // then
+        assertTrue(service.hasHistory(2L));
+        assertEquals(Set.of(20L), scores.keySet());
+    }
+
+    @Test
+    void onInteractionRecorded_ShouldAddEdgeOutsideRebuild() {
+        // given
+        when(playlistSongRepository.findUserSongPairs()).thenReturn(List.of());
+        when(playlistNodeRepository.findUserSongPairs()).thenReturn(List.of());
+        when(interactionRepository.findAll()).thenReturn(List.of());
+        service.rebuild();
+
+        // when
+        service.onInteractionRecorded(new InteractionRecordedEvent(played(3L, 30L)));
+
+        // then
+        assertTrue(service.hasHistory(3L));
+    }
+
+    private static UserSongInteraction played(Long userId, Long songId) {
+        UserSongInteraction interaction = new UserSongInteraction();
+        interaction.setUserId(userId);
+        interaction.setSongId(songId);
+        interaction.setPlayed(true);
+        return interaction;
+    }
+}
@@ -0,0 +1,126 @@
+package com.musicApp.restAPI.service;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.musicApp.restAPI.sql.persistance.Playlist.PlaylistEntity;
+import com.musicApp.restAPI.sql.persistance.Playlist.PlaylistRepository;
+import com.musicApp.restAPI.sql.persistance.User.UserEntity;
+import com.musicApp.restAPI.sql.persistance.User.UserRepository;
+
+import jakarta.persistence.EntityManager;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+class NdjsonExportServiceTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Autowired
+    private PlaylistRepository playlistRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private NdjsonExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new NdjsonExportService(transactionManager, MAPPER);
+        ReflectionTestUtils.setField(exportService, "entityManager", entityManager);
+    }
+
+    @Test
+    void export_ShouldWriteOneJsonObjectPerLine() throws Exception {
+        // given
+        UserEntity owner = userRepository.save(user());
+        for (int i = 0; i < 3; i++) {
+            playlistRepository.save(playlist("Mix " + i, owner));
+        }
+
+        // when
+        ResponseEntity<StreamingResponseBody> response = exportService.export(() ->
+                playlistRepository.streamByUserId(owner.getId())
+                        .map(p -> Map.of("id", p.getId(), "name", p.getName())));
+        String body = write(response);
+
+        // then
+        assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+        assertTrue(body.endsWith("\n"));
+        String[] lines = body.split("\n");
+        assertEquals(3, lines.length);
+        for (String line : lines) {
+            JsonNode row = MAPPER.readTree(line);
+            assertTrue(row.isObject());
+            assertTrue(row.get("name").asText().startsWith("Mix "));
+        }
+    }
+
+    @Test
+    void export_ShouldClearPersistenceContextBetweenBatches() throws Exception {
+        // given: more rows than one batch, all managed by the current persistence context
+        UserEntity owner = userRepository.save(user());
+        List<PlaylistEntity> saved = new ArrayList<>();
+        for (int i = 0; i < 501; i++) {
+            saved.add(playlistRepository.save(playlist("Mix " + i, owner)));
+        }
+        entityManager.flush();
+
+        // when
+        String body = write(exportService.export(() ->
+                playlistRepository.streamAll().map(p -> Map.of("id", p.getId()))));
+
+        // then
+        assertEquals(501, body.split("\n").length);
+        assertFalse(entityManager.contains(saved.get(0)));
+    }
+
+    @Test
+    void export_ShouldWriteNothingForEmptyResult() throws Exception {
+        assertEquals("", write(exportService.export(() -> playlistRepository.streamByUserId(-1L))));
+    }
+
+    private static String write(ResponseEntity<StreamingResponseBody> response) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static UserEntity user() {
+        UserEntity user = new UserEntity();
+        user.setUsername("owner");
+        user.setEmail("owner@example.com");
+        user.setPassword_hash("hash");
+        return user;
+    }
+
+    private static PlaylistEntity playlist(String name, UserEntity owner) {
+        PlaylistEntity playlist = new PlaylistEntity();
+        playlist.setName(name);
+        playlist.setUser(owner);
+        return playlist;
+    }
+}
@@ -0,0 +1,110 @@
+package com.musicApp.restAPI.service;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.musicApp.restAPI.event.PlaylistChangedEvent;
+import com.musicApp.restAPI.sql.persistance.Song.SongEntity;
+import com.musicApp.restAPI.sql.service.PlaylistService;
+import com.musicApp.restAPI.stream.ContentFingerprintService;
+import com.musicApp.restAPI.stream.CoverArtIndex;
+import com.musicApp.restAPI.stream.CoverThumbnailService;
+
+class PlaylistCoverServiceTest {
+
+    private PlaylistService playlistService;
+    private PlaylistCoverService playlistCoverService;
+
+    @BeforeEach
+    void setUp() {
+        playlistService = mock(PlaylistService.class);
+        // Songs without covers render as flat tiles, so no artwork is needed
+        when(playlistService.getPlaylistSongs(1L)).thenReturn(List.of(song(1L), song(2L)));
+        playlistCoverService = new PlaylistCoverService(playlistService, mock(CoverArtIndex.class),
+                mock(CoverThumbnailService.class), new ContentFingerprintService());
+        ReflectionTestUtils.setField(playlistCoverService, "maxEntries", 16);
+    }
+
+    @Test
+    void getCover_ShouldRenderOnceUntilHeadChanges() throws Exception {
+        // given
+        PlaylistCoverService.PlaylistCover first = playlistCoverService.getCover(1L);
+
+        // when
+        PlaylistCoverService.PlaylistCover second = playlistCoverService.getCover(1L);
+
+        // then
+        assertNotNull(first);
+        assertSame(first, second);
+        verify(playlistService, times(1)).getPlaylistSongs(1L);
+    }
+
+    @Test
+    void onPlaylistChanged_WithHeadChange_ShouldRenderAgain() throws Exception {
+        // given
+        playlistCoverService.getCover(1L);
+
+        // when
+        playlistCoverService.onPlaylistChanged(new PlaylistChangedEvent(1L, PlaylistChangedEvent.Type.REORDERED, true));
+        playlistCoverService.getCover(1L);
+
+        // then
+        verify(playlistService, times(2)).getPlaylistSongs(1L);
+    }
+
+    @Test
+    void onPlaylistChanged_WithoutHeadChange_ShouldKeepCachedCover() throws Exception {
+        // given
+        PlaylistCoverService.PlaylistCover first = playlistCoverService.getCover(1L);
+
+        // when
+        playlistCoverService.onPlaylistChanged(new PlaylistChangedEvent(1L, PlaylistChangedEvent.Type.SONG_ADDED, false));
+
+        // then
+        assertSame(first, playlistCoverService.getCover(1L));
+        verify(playlistService, times(1)).getPlaylistSongs(1L);
+    }
+
+    @Test
+    void getCover_WhenHeadChangesDuringRender_ShouldNotCacheStaleMosaic() throws Exception {
+        // given
+        when(playlistService.getPlaylistSongs(1L)).thenAnswer(invocation -> {
+            playlistCoverService.onPlaylistChanged(
+                    new PlaylistChangedEvent(1L, PlaylistChangedEvent.Type.SONG_REMOVED, true));
+            return List.of(song(1L));
+        });
+
+        // when
+        playlistCoverService.getCover(1L);
+        playlistCoverService.getCover(1L);
+
+        // then
+        verify(playlistService, times(2)).getPlaylistSongs(1L);
+    }
+
+    @Test
+    void getCover_WithEmptyPlaylist_ShouldReturnNull() throws Exception {
+        // given
+        when(playlistService.getPlaylistSongs(2L)).thenReturn(List.of());
+
+        // when / then
+        assertNull(playlistCoverService.getCover(2L));
+    }
+
+    private static SongEntity song(Long id) {
+        SongEntity song = new SongEntity();
+        song.setId(id);
+        return song;
+    }
+}
@@ -0,0 +1,146 @@
+package com.musicApp.restAPI.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.musicApp.restAPI.event.InteractionRecordedEvent;
+import com.musicApp.restAPI.event.PlaylistChangedEvent;
+import com.musicApp.restAPI.model.UserSongInteraction;
+import com.musicApp.restAPI.service.RecommendationCacheService.Algorithm;
+import com.musicApp.restAPI.sql.persistance.Song.SongEntity;
+
+class RecommendationCacheServiceTest {
+
+    private RecommendationService recommendationService;
+    private RecommendationCacheService cache;
+
+    @BeforeEach
+    void setUp() {
+        recommendationService = mock(RecommendationService.class);
+        when(recommendationService.getRecommendedSongs(eq(1L), anyInt())).thenReturn(songs(16));
+        when(recommendationService.getRecommendedSongs(eq(2L), anyInt())).thenReturn(songs(16));
+        cache = new RecommendationCacheService(recommendationService, 1, 16);
+        ReflectionTestUtils.setField(cache, "maxEntries", 100);
+        ReflectionTestUtils.setField(cache, "ttlMs", 60_000L);
+        ReflectionTestUtils.setField(cache, "maxStaleMs", 60_000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cache.shutdown();
+    }
+
+    @Test
+    void getRecommendations_ShouldShareOneComputationPerLimitBucket() {
+        // when
+        List<SongEntity> first = cache.getRecommendations(1L, Algorithm.COLLABORATIVE, 10);
+        List<SongEntity> second = cache.getRecommendations(1L, Algorithm.COLLABORATIVE, 12);
+
+        // then
+        assertEquals(10, first.size());
+        assertEquals(12, second.size());
+        verify(recommendationService, times(1)).getRecommendedSongs(1L, 16);
+        Map<?, ?> stats = (Map<?, ?>) cache.getStats().get("collaborative");
+        assertEquals(1L, stats.get("hits"));
+        assertEquals(1L, stats.get("misses"));
+    }
+
+    @Test
+    void onInteractionRecorded_ShouldServeStaleAndRefreshOnlyThatUser() {
+        // given
+        cache.getRecommendations(1L, Algorithm.COLLABORATIVE, 10);
+        cache.getRecommendations(2L, Algorithm.COLLABORATIVE, 10);
+
+        // when
+        UserSongInteraction interaction = new UserSongInteraction();
+        interaction.setUserId(1L);
+        cache.onInteractionRecorded(new InteractionRecordedEvent(interaction));
+        List<SongEntity> stale = cache.getRecommendations(1L, Algorithm.COLLABORATIVE, 10);
+        cache.getRecommendations(2L, Algorithm.COLLABORATIVE, 10);
+
+        // then
+        assertEquals(10, stale.size());
+        verify(recommendationService, timeout(2000).times(2)).getRecommendedSongs(1L, 16);
+        verify(recommendationService, times(1)).getRecommendedSongs(2L, 16);
+        Map<?, ?> stats = (Map<?, ?>) cache.getStats().get("collaborative");
+        assertEquals(1L, stats.get("staleHits"));
+        assertEquals(1L, stats.get("hits"));
+    }
+
+    @Test
+    void onPlaylistChanged_ShouldInvalidateOwnerWhenPlaylistDeleted() {
+        // given
+        cache.getRecommendations(1L, Algorithm.COLLABORATIVE, 10);
+
+        // when
+        cache.onPlaylistChanged(new PlaylistChangedEvent(7L, PlaylistChangedEvent.Type.DELETED, true, 1L, null));
+        cache.getRecommendations(1L, Algorithm.COLLABORATIVE, 10);
+
+        // then
+        verify(recommendationService, timeout(2000).times(2)).getRecommendedSongs(1L, 16);
+        Map<?, ?> stats = (Map<?, ?>) cache.getStats().get("collaborative");
+        assertEquals(1L, stats.get("staleHits"));
+    }
+
+    @Test
+    void getRecommendations_ShouldCoalesceConcurrentMisses() throws Exception {
+        // given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(recommendationService.getRecommendedSongs(eq(3L), anyInt())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return songs(16);
+        });
+        AtomicReference<List<SongEntity>> firstResult = new AtomicReference<>();
+        AtomicReference<List<SongEntity>> secondResult = new AtomicReference<>();
+        Thread first = new Thread(() -> firstResult.set(cache.getRecommendations(3L, Algorithm.COLLABORATIVE, 10)));
+        Thread second = new Thread(() -> secondResult.set(cache.getRecommendations(3L, Algorithm.COLLABORATIVE, 10)));
+
+        // when
+        first.start();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        second.start();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (second.getState() != Thread.State.WAITING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+        first.join(5000);
+        second.join(5000);
+
+        // then
+        assertEquals(10, firstResult.get().size());
+        assertEquals(10, secondResult.get().size());
+        verify(recommendationService, times(1)).getRecommendedSongs(3L, 16);
+    }
+
+    private static List<SongEntity> songs(int count) {
+        List<SongEntity> songs = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            SongEntity song = new SongEntity();
+            song.setId(id);
+            songs.add(song);
+        }
+        return songs;
+    }
+}
@@ -0,0 +1,68 @@
+package com.musicApp.restAPI.sql.persistance.Playlist;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import com.musicApp.restAPI.sql.persistance.User.UserEntity;
+import com.musicApp.restAPI.sql.persistance.User.UserRepository;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+class PlaylistRepositoryTest {
+
+    @Autowired
+    private PlaylistRepository playlistRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private UserEntity alice;
+
+    @BeforeEach
+    void setUp() {
+        alice = userRepository.save(user("alice"));
+        UserEntity bob = userRepository.save(user("bob"));
+        playlistRepository.save(playlist("Road trip", alice));
+        playlistRepository.save(playlist("Focus", alice));
+        playlistRepository.save(playlist("Gym", bob));
+    }
+
+    @Test
+    void streamByUserId_ShouldReturnOnlyThatUsersPlaylists() {
+        // when
+        List<String> names;
+        try (Stream<PlaylistEntity> playlists = playlistRepository.streamByUserId(alice.getId())) {
+            names = playlists.map(PlaylistEntity::getName).sorted().toList();
+        }
+
+        // then
+        assertEquals(List.of("Focus", "Road trip"), names);
+    }
+
+    @Test
+    void streamAll_ShouldReturnEveryPlaylist() {
+        try (Stream<PlaylistEntity> playlists = playlistRepository.streamAll()) {
+            assertEquals(3, playlists.count());
+        }
+    }
+
+    static UserEntity user(String name) {
+        UserEntity user = new UserEntity();
+        user.setUsername(name);
+        user.setEmail(name + "@example.com");
+        user.setPassword_hash("hash");
+        return user;
+    }
+
+    static PlaylistEntity playlist(String name, UserEntity owner) {
+        PlaylistEntity playlist = new PlaylistEntity();
+        playlist.setName(name);
+        playlist.setUser(owner);
+        return playlist;
+    }
+}
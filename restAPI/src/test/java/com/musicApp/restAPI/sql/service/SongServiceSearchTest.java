@@ -0,0 +1,90 @@
+package com.musicApp.restAPI.sql.service;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import com.musicApp.restAPI.sql.persistance.Song.SongEntity;
+import com.musicApp.restAPI.sql.persistance.Song.SongProjection;
+import com.musicApp.restAPI.sql.persistance.Song.SongRepository;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+class SongServiceSearchTest {
+
+    @Autowired
+    private SongRepository songRepository;
+
+    private SongService songService;
+
+    @BeforeEach
+    void setUp() {
+        songService = new SongService(songRepository, event -> { });
+        songRepository.save(song("Yellow Submarine", "The Beatles", "Revolver", "Rock"));
+        songRepository.save(song("Help!", "The Beatles", null, "Rock"));
+        songRepository.save(song("Halo", "Beyonce", "I Am... Sasha Fierce", "Pop"));
+        songRepository.save(song("100% Pure", "Someone", null, "Pop"));
+    }
+
+    @Test
+    void searchSongs_ShouldMatchCaseInsensitivelyAndSkipNullColumns() {
+        // when
+        List<SongEntity> byArtist = songService.searchSongs(null, "beatles", null, null, null, 10);
+        List<SongEntity> byAlbum = songService.searchSongs(null, null, null, "REVOLVER", null, 10);
+
+        // then
+        assertEquals(2, byArtist.size());
+        assertEquals(List.of("Yellow Submarine"), byAlbum.stream().map(SongEntity::getTitle).toList());
+    }
+
+    @Test
+    void searchSongs_ShouldPageByKeyset() {
+        // given
+        List<SongEntity> first = songService.searchSongs(null, null, null, null, null, 2);
+
+        // when
+        List<SongEntity> second = songService.searchSongs(null, null, null, null, first.get(1).getId(), 2);
+
+        // then
+        assertEquals(2, first.size());
+        assertEquals(List.of("Halo", "100% Pure"), second.stream().map(SongEntity::getTitle).toList());
+    }
+
+    @Test
+    void searchSongs_ShouldTreatLikeWildcardsLiterally() {
+        // when
+        List<SongEntity> results = songService.searchSongs("%", null, null, null, null, 10);
+
+        // then
+        assertEquals(List.of("100% Pure"), results.stream().map(SongEntity::getTitle).toList());
+    }
+
+    @Test
+    void listSongFields_ShouldSelectOnlyRequestedColumns() {
+        // given
+        List<String> fields = SongProjection.parseFields("title,genre");
+
+        // when
+        List<Object[]> rows = songService.listSongFields(fields, null, 10);
+        List<Object[]> ids = songService.listSongFields(SongProjection.parseFields("id"), null, 1);
+
+        // then
+        assertEquals(List.of("id", "title", "genre"), fields);
+        assertEquals(4, rows.size());
+        assertEquals("Yellow Submarine", rows.get(0)[1]);
+        assertEquals("Rock", rows.get(0)[2]);
+        assertEquals(1, ids.get(0).length);
+    }
+
+    private static SongEntity song(String title, String artist, String album, String genre) {
+        SongEntity song = new SongEntity();
+        song.setTitle(title);
+        song.setArtist(artist);
+        song.setAlbum(album);
+        song.setGenre(genre);
+        return song;
+    }
+}
@@ -0,0 +1,182 @@
+package com.musicApp.restAPI.stream;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+class ByteRangeServiceTest {
+
+    private final ByteRangeService byteRangeService = new ByteRangeService();
+
+    private final ByteSource source =
+            new ResourceByteSource(new ByteArrayResource("0123456789".getBytes(StandardCharsets.US_ASCII)));
+
+    @Test
+    void buildResponse_WithoutRange_ShouldReturnWholeBody() throws Exception {
+        // when
+        ResponseEntity<StreamingResponseBody> response = byteRangeService.buildResponse(source, audioHeaders(), new HttpHeaders());
+
+        // then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("bytes", response.getHeaders().getFirst(HttpHeaders.ACCEPT_RANGES));
+        assertEquals(10, response.getHeaders().getContentLength());
+        assertEquals("0123456789", write(response));
+    }
+
+    @Test
+    void buildResponse_WithSingleRange_ShouldReturnPartialContent() throws Exception {
+        // given
+        HttpHeaders requestHeaders = new HttpHeaders();
+        requestHeaders.set(HttpHeaders.RANGE, "bytes=2-5");
+
+        // when
+        ResponseEntity<StreamingResponseBody> response = byteRangeService.buildResponse(source, audioHeaders(), requestHeaders);
+
+        // then
+        assertEquals(HttpStatus.PARTIAL_CONTENT, response.getStatusCode());
+        assertEquals("bytes 2-5/10", response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+        assertEquals(4, response.getHeaders().getContentLength());
+        assertEquals("2345", write(response));
+    }
+
+    @Test
+    void buildResponse_WithSuffixRange_ShouldReturnTail() throws Exception {
+        // given
+        HttpHeaders requestHeaders = new HttpHeaders();
+        requestHeaders.set(HttpHeaders.RANGE, "bytes=-3");
+
+        // when
+        ResponseEntity<StreamingResponseBody> response = byteRangeService.buildResponse(source, audioHeaders(), requestHeaders);
+
+        // then
+        assertEquals(HttpStatus.PARTIAL_CONTENT, response.getStatusCode());
+        assertEquals("bytes 7-9/10", response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+        assertEquals("789", write(response));
+    }
+
+    @Test
+    void buildResponse_WithMultipleRanges_ShouldReturnMultipartByteranges() throws Exception {
+        // given
+        HttpHeaders requestHeaders = new HttpHeaders();
+        requestHeaders.set(HttpHeaders.RANGE, "bytes=0-1,8-9");
+
+        // when
+        ResponseEntity<StreamingResponseBody> response = byteRangeService.buildResponse(source, audioHeaders(), requestHeaders);
+
+        // then
+        assertEquals(HttpStatus.PARTIAL_CONTENT, response.getStatusCode());
+        assertEquals("multipart", response.getHeaders().getContentType().getType());
+        assertEquals("byteranges", response.getHeaders().getContentType().getSubtype());
+        String body = write(response);
+        assertTrue(body.contains("Content-Range: bytes 0-1/10\r\n\r\n01"));
+        assertTrue(body.contains("Content-Range: bytes 8-9/10\r\n\r\n89"));
+    }
+
+    @Test
+    void buildResponse_WithUnsatisfiableRange_ShouldReturn416() throws Exception {
+        // given
+        HttpHeaders requestHeaders = new HttpHeaders();
+        requestHeaders.set(HttpHeaders.RANGE, "bytes=20-30");
+
+        // when
+        ResponseEntity<StreamingResponseBody> response = byteRangeService.buildResponse(source, audioHeaders(), requestHeaders);
+
+        // then
+        assertEquals(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE, response.getStatusCode());
+        assertEquals("bytes */10", response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+        assertNull(response.getBody());
+    }
+
+    @Test
+    void buildResponse_WithMalformedRange_ShouldReturn416() throws Exception {
+        // given
+        HttpHeaders requestHeaders = new HttpHeaders();
+        requestHeaders.set(HttpHeaders.RANGE, "bytes=5-2");
+
+        // when
+        ResponseEntity<StreamingResponseBody> response = byteRangeService.buildResponse(source, audioHeaders(), requestHeaders);
+
+        // then
+        assertEquals(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE, response.getStatusCode());
+    }
+
+    @Test
+    void buildResponse_WithStaleIfRange_ShouldReturnWholeBody() throws Exception {
+        // given
+        HttpHeaders headers = audioHeaders();
+        headers.setETag("\"current\"");
+        HttpHeaders requestHeaders = new HttpHeaders();
+        requestHeaders.set(HttpHeaders.RANGE, "bytes=2-5");
+        requestHeaders.set(HttpHeaders.IF_RANGE, "\"previous\"");
+
+        // when
+        ResponseEntity<StreamingResponseBody> response = byteRangeService.buildResponse(source, headers, requestHeaders);
+
+        // then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("0123456789", write(response));
+    }
+
+    @Test
+    void buildResponse_WithFileSourceAndSendfileSupport_ShouldOffloadRangeToContainer(@TempDir Path dir) throws Exception {
+        // given
+        Path file = Files.write(dir.resolve("song.mp3"), "0123456789".getBytes(StandardCharsets.US_ASCII));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute(FileChannelByteSource.SENDFILE_SUPPORTED_ATTR, Boolean.TRUE);
+        HttpHeaders requestHeaders = new HttpHeaders();
+        requestHeaders.set(HttpHeaders.RANGE, "bytes=4-");
+
+        // when
+        ResponseEntity<StreamingResponseBody> response = byteRangeService.buildResponse(
+                new FileChannelByteSource(file, request), audioHeaders(), requestHeaders);
+
+        // then
+        assertEquals(HttpStatus.PARTIAL_CONTENT, response.getStatusCode());
+        assertNull(response.getBody());
+        assertEquals(file.toAbsolutePath().toString(), request.getAttribute(FileChannelByteSource.SENDFILE_FILENAME_ATTR));
+        assertEquals(4L, request.getAttribute(FileChannelByteSource.SENDFILE_START_ATTR));
+        assertEquals(10L, request.getAttribute(FileChannelByteSource.SENDFILE_END_ATTR));
+    }
+
+    @Test
+    void buildResponse_WithFileSourceWithoutSendfile_ShouldTransferRange(@TempDir Path dir) throws Exception {
+        // given
+        Path file = Files.write(dir.resolve("song.mp3"), "0123456789".getBytes(StandardCharsets.US_ASCII));
+        HttpHeaders requestHeaders = new HttpHeaders();
+        requestHeaders.set(HttpHeaders.RANGE, "bytes=3-6");
+
+        // when
+        ResponseEntity<StreamingResponseBody> response = byteRangeService.buildResponse(
+                new FileChannelByteSource(file, new MockHttpServletRequest()), audioHeaders(), requestHeaders);
+
+        // then
+        assertEquals(HttpStatus.PARTIAL_CONTENT, response.getStatusCode());
+        assertEquals("3456", write(response));
+    }
+
+    private HttpHeaders audioHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType("audio/mpeg"));
+        return headers;
+    }
+
+    private String write(ResponseEntity<StreamingResponseBody> response) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        return out.toString(StandardCharsets.US_ASCII);
+    }
+}
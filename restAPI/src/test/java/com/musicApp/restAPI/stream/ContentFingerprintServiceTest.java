@@ -0,0 +1,98 @@
+package com.musicApp.restAPI.stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpHeaders;
+
+class ContentFingerprintServiceTest {
+
+    private static final long LAST_MODIFIED = 1_700_000_000_000L;
+
+    private final ContentFingerprintService fingerprintService = new ContentFingerprintService();
+
+    private final ContentFingerprintService.Fingerprint fingerprint =
+            new ContentFingerprintService.Fingerprint("abc", LAST_MODIFIED);
+
+    @Test
+    void fingerprint_ShouldReuseHashUntilModificationTimeChanges() throws Exception {
+        // given
+        ByteSource source = source("0123456789");
+
+        // when
+        ContentFingerprintService.Fingerprint first = fingerprintService.fingerprint("song", LAST_MODIFIED, source);
+        ContentFingerprintService.Fingerprint second = fingerprintService.fingerprint("song", LAST_MODIFIED, source("other"));
+        ContentFingerprintService.Fingerprint changed = fingerprintService.fingerprint("song", LAST_MODIFIED + 1000, source("other"));
+
+        // then
+        assertSame(first, second);
+        assertNotEquals(first.getETag(), changed.getETag());
+        assertEquals(22, first.getVersion().length());
+    }
+
+    @Test
+    void isNotModified_WithMatchingETag_ShouldReturnTrue() {
+        // given
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch("\"abc\"");
+
+        // when / then
+        assertTrue(fingerprintService.isNotModified(fingerprint, headers));
+    }
+
+    @Test
+    void isNotModified_WithWeakETag_ShouldUseWeakComparison() {
+        // given
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch("W/\"abc\"");
+
+        // when / then
+        assertTrue(fingerprintService.isNotModified(fingerprint, headers));
+    }
+
+    @Test
+    void isNotModified_WithStaleETag_ShouldIgnoreIfModifiedSince() {
+        // given
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch("\"old\"");
+        headers.setIfModifiedSince(LAST_MODIFIED + 60_000);
+
+        // when / then
+        assertFalse(fingerprintService.isNotModified(fingerprint, headers));
+    }
+
+    @Test
+    void isNotModified_WithIfModifiedSince_ShouldCompareWholeSeconds() {
+        // given
+        HttpHeaders current = new HttpHeaders();
+        current.setIfModifiedSince(LAST_MODIFIED);
+        HttpHeaders older = new HttpHeaders();
+        older.setIfModifiedSince(LAST_MODIFIED - 60_000);
+
+        // when / then
+        assertTrue(fingerprintService.isNotModified(fingerprint, current));
+        assertFalse(fingerprintService.isNotModified(fingerprint, older));
+    }
+
+    @Test
+    void isNotModified_WithUnknownModificationTime_ShouldSkipDateCheck() {
+        // given
+        ContentFingerprintService.Fingerprint undated = new ContentFingerprintService.Fingerprint("abc", 0);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfModifiedSince(LAST_MODIFIED);
+
+        // when / then
+        assertFalse(fingerprintService.isNotModified(undated, headers));
+    }
+
+    private static ByteSource source(String content) {
+        return new ResourceByteSource(new ByteArrayResource(content.getBytes(StandardCharsets.US_ASCII)));
+    }
+}
@@ -0,0 +1,87 @@
+package com.musicApp.restAPI.stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class CoverArtIndexTest {
+
+    @TempDir
+    Path coverDir;
+
+    private CoverArtIndex coverArtIndex;
+
+    @BeforeEach
+    void setUp() {
+        coverArtIndex = new CoverArtIndex();
+        ReflectionTestUtils.setField(coverArtIndex, "coverDir", coverDir.toString());
+    }
+
+    @Test
+    void lookup_ShouldResolveSongFileBaseNameAndCoverName() throws Exception {
+        // given
+        Files.writeString(coverDir.resolve("Test Artist - Test Song.jpg"), "jpg");
+        coverArtIndex.rebuild();
+
+        // when
+        CoverArtIndex.CoverEntry bySong = coverArtIndex.lookup("Test Artist - Test Song.mp3");
+        CoverArtIndex.CoverEntry byBase = coverArtIndex.lookup("Test Artist - Test Song");
+        CoverArtIndex.CoverEntry byCover = coverArtIndex.lookup("Test Artist - Test Song.jpg");
+
+        // then
+        assertNotNull(bySong);
+        assertEquals(MediaType.IMAGE_JPEG, bySong.getMediaType());
+        assertEquals(bySong.getResource(), byBase.getResource());
+        assertEquals(bySong.getResource(), byCover.getResource());
+    }
+
+    @Test
+    void lookup_WithSeveralFormats_ShouldPreferPng() throws Exception {
+        // given
+        Files.writeString(coverDir.resolve("Test Artist - Both.jpg"), "jpg");
+        Files.writeString(coverDir.resolve("Test Artist - Both.png"), "png");
+        coverArtIndex.rebuild();
+
+        // when
+        CoverArtIndex.CoverEntry entry = coverArtIndex.lookup("Test Artist - Both.mp3");
+
+        // then
+        assertEquals(MediaType.IMAGE_PNG, entry.getMediaType());
+        assertNotNull(coverArtIndex.lookup("Test Artist - Both.jpg"));
+    }
+
+    @Test
+    void lookup_ShouldIgnoreNonImagesAndUnknownNames() throws Exception {
+        // given
+        Files.writeString(coverDir.resolve("Test Artist - Notes.txt"), "text");
+        coverArtIndex.rebuild();
+
+        // when / then
+        assertNull(coverArtIndex.lookup("Test Artist - Notes.mp3"));
+        assertNull(coverArtIndex.lookup("Nobody - Nothing.mp3"));
+        assertNull(coverArtIndex.lookup(null));
+    }
+
+    @Test
+    void rebuild_ShouldPickUpNewCovers() throws Exception {
+        // given
+        coverArtIndex.rebuild();
+        assertNull(coverArtIndex.lookup("Test Artist - Later.mp3"));
+
+        // when
+        Files.writeString(coverDir.resolve("Test Artist - Later.png"), "png");
+        coverArtIndex.rebuild();
+
+        // then
+        assertNotNull(coverArtIndex.lookup("Test Artist - Later.mp3"));
+    }
+}
@@ -0,0 +1,70 @@
+package com.musicApp.restAPI.stream;
+
+import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import javax.imageio.ImageIO;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class CoverThumbnailServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path coverDir;
+    private FileSystemResource cover;
+    private CoverThumbnailService thumbnailService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        coverDir = Files.createDirectory(tempDir.resolve("covers"));
+        Path coverFile = coverDir.resolve("song.png");
+        ImageIO.write(new BufferedImage(400, 400, BufferedImage.TYPE_INT_RGB), "png", coverFile.toFile());
+        cover = new FileSystemResource(coverFile);
+
+        thumbnailService = new CoverThumbnailService(1, 4);
+        ReflectionTestUtils.setField(thumbnailService, "coverDir", coverDir.toString());
+        ReflectionTestUtils.setField(thumbnailService, "waitMs", 5000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        thumbnailService.shutdown();
+    }
+
+    @Test
+    void getThumbnail_ShouldRenderInsideThumbnailDirectory() throws Exception {
+        // when
+        Path thumbnail = thumbnailService.getThumbnail(cover, "song", 64);
+
+        // then
+        assertNotNull(thumbnail);
+        assertTrue(thumbnail.startsWith(coverDir.resolve(".thumbnails").resolve("64")));
+        assertEquals(64, ImageIO.read(thumbnail.toFile()).getWidth());
+    }
+
+    @Test
+    void getThumbnail_ShouldRejectNamesEscapingThumbnailDirectory() throws Exception {
+        // when / then
+        assertThrows(IllegalArgumentException.class,
+                () -> thumbnailService.getThumbnail(cover, "../../../escaped", 64));
+        assertThrows(IllegalArgumentException.class,
+                () -> thumbnailService.getThumbnail(cover, "../128/other", 64));
+        try (Stream<Path> files = Files.walk(tempDir)) {
+            assertFalse(files.anyMatch(path -> path.getFileName().toString().endsWith(".jpg")));
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.musicApp.restAPI.stream;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class HotSongCacheTest {
+
+    private HotSongCache hotSongCache;
+
+    @BeforeEach
+    void setUp() {
+        // Fills run on the calling thread here, so each get that triggers one completes it
+        hotSongCache = configure(new HotSongCache(Runnable::run));
+    }
+
+    @Test
+    void get_ShouldServeRangesFromCacheOnceFileIsHot() throws Exception {
+        // given: the first request only counts, the second fills
+        ByteSource origin = source("0123456789");
+        assertNull(hotSongCache.get("a", 1, origin));
+        assertNull(hotSongCache.get("a", 1, origin));
+
+        // when
+        ByteSource cached = hotSongCache.get("a", 1, origin);
+
+        // then
+        assertNotNull(cached);
+        assertEquals("3456", write(cached, 3, 4));
+        assertEquals("0123456789", write(cached, 0, 10));
+        assertEquals(1L, hotSongCache.getStats().get("hits"));
+        assertEquals(10L, hotSongCache.getStats().get("bytesCached"));
+    }
+
+    @Test
+    void get_WhenFull_ShouldRejectColdFileAndKeepHotOnes() {
+        // given: two hot files fill the budget
+        for (int i = 0; i < 3; i++) {
+            hotSongCache.get("hot1", 1, source("0123456789"));
+            hotSongCache.get("hot2", 1, source("0123456789"));
+        }
+
+        // when: a file seen less often competes for space
+        hotSongCache.get("cold", 1, source("abcdefghij"));
+        hotSongCache.get("cold", 1, source("abcdefghij"));
+
+        // then
+        assertEquals(1L, hotSongCache.getStats().get("rejections"));
+        assertEquals(0L, hotSongCache.getStats().get("evictions"));
+    }
+
+    @Test
+    void get_WhenFull_ShouldEvictLessPopularFileForPopularOne() {
+        // given
+        for (int i = 0; i < 2; i++) {
+            hotSongCache.get("a", 1, source("0123456789"));
+            hotSongCache.get("b", 1, source("0123456789"));
+        }
+
+        // when
+        for (int i = 0; i < 4; i++) {
+            hotSongCache.get("c", 1, source("abcdefghij"));
+        }
+
+        // then
+        assertEquals(1L, hotSongCache.getStats().get("evictions"));
+        assertEquals(20L, hotSongCache.getStats().get("bytesCached"));
+        assertEquals(20L, hotSongCache.getStats().get("directBytes"));
+    }
+
+    @Test
+    void get_WithNewVersion_ShouldReloadEntry() throws Exception {
+        // given
+        hotSongCache.get("a", 1, source("0123456789"));
+        hotSongCache.get("a", 1, source("0123456789"));
+
+        // when
+        assertNull(hotSongCache.get("a", 2, source("abcdefghij")));
+        ByteSource reloaded = hotSongCache.get("a", 2, source("abcdefghij"));
+
+        // then
+        assertEquals("abc", write(reloaded, 0, 3));
+        assertEquals(10L, hotSongCache.getStats().get("bytesCached"));
+    }
+
+    @Test
+    void writeTo_AfterEviction_ShouldFallBackToOriginAndReuseChunks() throws Exception {
+        // given: a reader obtained a view of "a" before it was evicted
+        hotSongCache.get("a", 1, source("0123456789"));
+        hotSongCache.get("a", 1, source("0123456789"));
+        ByteSource view = hotSongCache.get("a", 1, source("0123456789"));
+        hotSongCache.invalidate("a");
+
+        // when: another file takes over the recycled chunks
+        hotSongCache.get("b", 1, source("abcdefghij"));
+        hotSongCache.get("b", 1, source("abcdefghij"));
+
+        // then
+        assertEquals("0123456789", write(view, 0, 10));
+        assertEquals(10L, hotSongCache.getStats().get("directBytes"));
+    }
+
+    @Test
+    void get_ShouldNeverCacheFilesTheContainerCanSendfile() {
+        // given
+        ByteSource sendfileOrigin = new ResourceByteSource(new ByteArrayResource(new byte[10])) {
+            @Override
+            public boolean canOffloadToContainer() {
+                return true;
+            }
+        };
+
+        // when
+        for (int i = 0; i < 3; i++) {
+            assertNull(hotSongCache.get("a", 1, sendfileOrigin));
+        }
+
+        // then
+        assertEquals(0, hotSongCache.getStats().get("entries"));
+    }
+
+    @Test
+    void get_OnMiss_ShouldNotWaitForTheFillAndFillOnlyOnce() throws Exception {
+        // given: an origin whose full read blocks until released
+        HotSongCache asyncCache = configure(new HotSongCache());
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger reads = new AtomicInteger();
+        ByteSource slowOrigin = new ByteSource() {
+            @Override
+            public long length() {
+                return 10;
+            }
+
+            @Override
+            public void writeTo(OutputStream out, long position, long count) throws IOException {
+                reads.incrementAndGet();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+                out.write("0123456789".getBytes(StandardCharsets.US_ASCII), (int) position, (int) count);
+            }
+        };
+
+        try {
+            // when: repeated misses while the fill is stuck
+            assertTimeoutPreemptively(Duration.ofSeconds(1), () -> {
+                for (int i = 0; i < 5; i++) {
+                    assertNull(asyncCache.get("slow", 1, slowOrigin));
+                }
+            });
+            release.countDown();
+
+            // then
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while ((Integer) asyncCache.getStats().get("entries") == 0 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(1, asyncCache.getStats().get("entries"));
+            assertEquals(1, reads.get());
+            assertTrue(asyncCache.get("slow", 1, slowOrigin) != null);
+        } finally {
+            release.countDown();
+            asyncCache.shutdown();
+        }
+    }
+
+    private static HotSongCache configure(HotSongCache cache) {
+        ReflectionTestUtils.setField(cache, "maxBytes", 20L);
+        ReflectionTestUtils.setField(cache, "maxEntryBytes", 10L);
+        ReflectionTestUtils.setField(cache, "chunkBytes", 5);
+        return cache;
+    }
+
+    private static String write(ByteSource source, long position, long count) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        source.writeTo(out, position, count);
+        return out.toString(StandardCharsets.US_ASCII);
+    }
+
+    private static ByteSource source(String content) {
+        return new ResourceByteSource(new ByteArrayResource(content.getBytes(StandardCharsets.US_ASCII)));
+    }
+}
@@ -0,0 +1,51 @@
+package com.musicApp.restAPI.stream;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+
+class Mp3FrameIndexTest {
+
+    // MPEG-1 Layer III, 128 kbps, 44.1 kHz, no padding: 417-byte frames of 1152 samples (~26.12 ms)
+    private static final int HEADER = 0xFFFB9000;
+    private static final int FRAME_LENGTH = 417;
+    private static final int TAG_LENGTH = 30;
+
+    @Test
+    void frameLength_ShouldDecodeHeader() {
+        assertEquals(FRAME_LENGTH, Mp3FrameIndex.frameLength(HEADER));
+        assertEquals(-1, Mp3FrameIndex.frameLength(0x12345678));
+    }
+
+    @Test
+    void offsetAt_ShouldLandOnFrameBoundaryAfterId3Tag() {
+        // given
+        Mp3FrameIndex index = Mp3FrameIndex.build(mp3(100), 100);
+
+        // then: 100 ms falls inside the fourth frame (78.4 ms - 104.5 ms)
+        assertEquals(TAG_LENGTH, index.offsetAt(0));
+        assertEquals(TAG_LENGTH + 3L * FRAME_LENGTH, index.offsetAt(100));
+        assertEquals(TAG_LENGTH + 3L * FRAME_LENGTH, index.offsetAt(150));
+        assertEquals(2612, index.getDurationMs());
+    }
+
+    @Test
+    void offsetAt_BeyondEnd_ShouldClampToLastSeekPoint() {
+        // given
+        Mp3FrameIndex index = Mp3FrameIndex.build(mp3(100), 100);
+
+        // then
+        assertEquals(index.offsetAt(2600), index.offsetAt(60_000));
+    }
+
+    private ByteBuffer mp3(int frames) {
+        ByteBuffer buffer = ByteBuffer.allocate(TAG_LENGTH + frames * FRAME_LENGTH);
+        buffer.put(new byte[]{'I', 'D', '3', 3, 0, 0, 0, 0, 0, TAG_LENGTH - 10});
+        for (int i = 0; i < frames; i++) {
+            buffer.putInt(TAG_LENGTH + i * FRAME_LENGTH, HEADER);
+        }
+        buffer.clear();
+        return buffer;
+    }
+}
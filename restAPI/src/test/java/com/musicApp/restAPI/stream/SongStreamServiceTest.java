@@ -0,0 +1,61 @@
+package com.musicApp.restAPI.stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class SongStreamServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path songDir;
+    private SongStreamService songStreamService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        songDir = Files.createDirectories(tempDir.resolve("songs"));
+        songStreamService = new SongStreamService();
+        ReflectionTestUtils.setField(songStreamService, "songDir", songDir.toString());
+    }
+
+    @Test
+    void resolveSongPath_WithFileInSongDirectory_ShouldReturnPath() throws Exception {
+        // given
+        Path song = Files.writeString(songDir.resolve("Artist - Title.mp3"), "audio");
+
+        // when / then
+        assertEquals(song.toAbsolutePath().normalize(), songStreamService.resolveSongPath("Artist - Title.mp3"));
+    }
+
+    @Test
+    void resolveSongPath_WithMissingFile_ShouldReturnNull() {
+        // when / then
+        assertNull(songStreamService.resolveSongPath("missing.mp3"));
+    }
+
+    @Test
+    void resolveSongPath_WithParentTraversal_ShouldReject() throws Exception {
+        // given
+        Files.writeString(tempDir.resolve("secret.mp3"), "not a song");
+
+        // when / then
+        assertThrows(IllegalArgumentException.class, () -> songStreamService.resolveSongPath("../secret.mp3"));
+        assertThrows(IllegalArgumentException.class,
+                () -> songStreamService.resolveSongPath(tempDir.resolve("secret.mp3").toString()));
+    }
+
+    @Test
+    void resolveSongPath_WithEmptyName_ShouldReject() {
+        // when / then
+        assertThrows(IllegalArgumentException.class, () -> songStreamService.resolveSongPath(""));
+    }
+}